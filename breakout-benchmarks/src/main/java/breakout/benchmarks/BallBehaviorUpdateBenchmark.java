@@ -0,0 +1,70 @@
+package breakout.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import breakout.BreakoutState;
+import breakout.balls.Ball;
+import breakout.math.Circle;
+import breakout.math.Vector;
+
+/**
+ * Measures {@link breakout.balls.BallBehavior#update} for one step of {@link BreakoutState#MAXIMUM_TIME_DELTA} milliseconds.
+ * The ball is put back at its initial position before every invocation, so each invocation
+ * simulates the same stretch of flight. Bricks that get destroyed stay destroyed until the next iteration.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BallBehaviorUpdateBenchmark
+{
+    @Param({ "descr1", "descr2", "descr3", "descr4", "descr5", "descr6", "descr7", "OGP_MAP", "OOP_MAP", "synthetic50x50", "synthetic200x200" })
+    public String map;
+
+    private BreakoutState state;
+
+    private Ball ball;
+
+    private Circle initialGeometry;
+
+    private Vector initialVelocity;
+
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        state = BenchmarkMaps.parse(map);
+        ball = state.getBalls().get(0);
+        initialGeometry = ball.getGeometry();
+        initialVelocity = ball.getVelocity();
+    }
+
+    @Benchmark
+    public Ball update()
+    {
+        if ( !state.getBalls().contains(ball) )
+        {
+            state.getBalls().add(ball);
+        }
+
+        ball.setGeometry(initialGeometry);
+        ball.setVelocity(initialVelocity);
+        ball.getBehavior().update(state, ball, BreakoutState.MAXIMUM_TIME_DELTA);
+
+        return ball;
+    }
+}
@@ -0,0 +1,87 @@
+package breakout.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import breakout.BreakoutState;
+import breakout.simulation.BatchSimulator;
+import breakout.simulation.GameResult;
+import breakout.simulation.TrackingPaddleController;
+
+/**
+ * Measures how many games per second {@link BatchSimulator} plays out, for a given pool size and step length.
+ * Comparing the scores for different values of {@code parallelism} shows how well it scales with cores;
+ * steps longer than {@link BreakoutState#MAXIMUM_TIME_DELTA} show what the long steps of {@link BreakoutState#tick(long)} save.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchSimulatorBenchmark
+{
+    private static final int GAME_COUNT = 64;
+
+    private static final long MAXIMUM_GAME_MILLISECONDS = 60 * 1000;
+
+    @Param({ "descr2", "OGP_MAP", "synthetic50x50" })
+    public String map;
+
+    @Param({ "1", "2", "4" })
+    public int parallelism;
+
+    @Param({ "20", "100" })
+    public long stepMilliseconds;
+
+    private ForkJoinPool pool;
+
+    private BatchSimulator simulator;
+
+    private String[] lines;
+
+    private long[] seeds;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        pool = new ForkJoinPool(parallelism);
+        simulator = new BatchSimulator(pool, stepMilliseconds, MAXIMUM_GAME_MILLISECONDS, TrackingPaddleController::new);
+        lines = BenchmarkMaps.get(map);
+        seeds = new long[GAME_COUNT];
+
+        for ( int i = 0; i != GAME_COUNT; ++i )
+        {
+            seeds[i] = i;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAME_COUNT)
+    public List<GameResult> simulate()
+    {
+        return simulator.simulate(lines, BenchmarkMaps.BRICK_WIDTH, BenchmarkMaps.BRICK_HEIGHT, seeds);
+    }
+}
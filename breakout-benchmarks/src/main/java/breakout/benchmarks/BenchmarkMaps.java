@@ -0,0 +1,108 @@
+package breakout.benchmarks;
+
+import breakout.BreakoutState;
+import breakout.GameMapParser;
+
+/**
+ * Names and constructs the maps the benchmarks are parameterized over.
+ *
+ * Besides the maps defined in {@link GameMapParser}, synthetic maps of the form
+ * {@code synthetic<columns>x<rows>} are supported. Their top 60% is filled
+ * with a deterministic mix of brick types; the remainder is left empty so that
+ * the ball has room to travel.
+ */
+public class BenchmarkMaps
+{
+    /**
+     * Brick dimensions used by the application, see {@link breakout.ui.BreakoutApplication}.
+     */
+    public static final int BRICK_WIDTH = 100 * 100;
+
+    public static final int BRICK_HEIGHT = 30 * 100;
+
+    private static final String SYNTHETIC_BRICKS = "##S#>#<#+#-#WF";
+
+    private BenchmarkMaps()
+    {
+        // NOP
+    }
+
+    public static String[] get(String name)
+    {
+        switch ( name )
+        {
+        case "descr1":
+            return GameMapParser.descr1;
+
+        case "descr2":
+            return GameMapParser.descr2;
+
+        case "descr3":
+            return GameMapParser.descr3;
+
+        case "descr4":
+            return GameMapParser.descr4;
+
+        case "descr5":
+            return GameMapParser.descr5;
+
+        case "descr6":
+            return GameMapParser.descr6;
+
+        case "descr7":
+            return GameMapParser.descr7;
+
+        case "OGP_MAP":
+            return GameMapParser.OGP_MAP;
+
+        case "OOP_MAP":
+            return GameMapParser.OOP_MAP;
+
+        default:
+            if ( name.startsWith("synthetic") )
+            {
+                var dimensions = name.substring("synthetic".length()).split("x");
+
+                return createSyntheticMap(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]));
+            }
+
+            throw new IllegalArgumentException("Unknown map " + name);
+        }
+    }
+
+    public static BreakoutState parse(String name)
+    {
+        return GameMapParser.parse(get(name), BRICK_WIDTH, BRICK_HEIGHT);
+    }
+
+    /**
+     * @pre | columnCount > 0
+     * @pre | rowCount > 0
+     */
+    public static String[] createSyntheticMap(int columnCount, int rowCount)
+    {
+        var lines = new String[rowCount];
+        var filledRowCount = rowCount * 6 / 10;
+
+        for ( int y = 0; y != rowCount; ++y )
+        {
+            var line = new StringBuilder(columnCount);
+
+            for ( int x = 0; x != columnCount; ++x )
+            {
+                if ( y < filledRowCount )
+                {
+                    line.append(SYNTHETIC_BRICKS.charAt((x * 7 + y * 3) % SYNTHETIC_BRICKS.length()));
+                }
+                else
+                {
+                    line.append(' ');
+                }
+            }
+
+            lines[y] = line.toString();
+        }
+
+        return lines;
+    }
+}
@@ -0,0 +1,55 @@
+package breakout.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import breakout.BreakoutState;
+
+/**
+ * Measures a single {@link BreakoutState#tick(long)} of {@link BreakoutState#MAXIMUM_TIME_DELTA} milliseconds.
+ * The game is restarted whenever it is over, so that the benchmark keeps measuring a live game.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BreakoutStateTickBenchmark
+{
+    @Param({ "descr1", "descr2", "descr3", "descr4", "descr5", "descr6", "descr7", "OGP_MAP", "OOP_MAP", "synthetic50x50", "synthetic200x200" })
+    public String map;
+
+    private BreakoutState state;
+
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        state = BenchmarkMaps.parse(map);
+    }
+
+    @Benchmark
+    public BreakoutState tick()
+    {
+        if ( state.isGameOver() )
+        {
+            state = BenchmarkMaps.parse(map);
+        }
+
+        state.tick(BreakoutState.MAXIMUM_TIME_DELTA);
+
+        return state;
+    }
+}
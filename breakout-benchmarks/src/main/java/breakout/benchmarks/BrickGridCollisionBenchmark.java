@@ -0,0 +1,95 @@
+package breakout.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import breakout.BrickGrid;
+import breakout.MutableCollision;
+import breakout.balls.Ball;
+import breakout.balls.StandardBehavior;
+import breakout.math.Circle;
+import breakout.math.Point;
+import breakout.math.Vector;
+
+/**
+ * Measures {@link BrickGrid#findEarliestCollision(Ball)} for a fan of balls
+ * starting at the bottom of the field and moving up in different directions.
+ * The grid is never modified, so every invocation does the same amount of work.
+ *
+ * {@link #findEarliestCollisionPrimitive} exercises the allocation-free query;
+ * run with {@code -prof gc} to check that it reports 0 B/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BrickGridCollisionBenchmark
+{
+    @Param({ "descr1", "descr2", "descr3", "descr4", "descr5", "descr6", "descr7", "OGP_MAP", "OOP_MAP", "synthetic50x50", "synthetic200x200" })
+    public String map;
+
+    private BrickGrid brickGrid;
+
+    private Ball[] balls;
+
+    private final MutableCollision collision = new MutableCollision();
+
+    @Setup
+    public void setUp()
+    {
+        var state = BenchmarkMaps.parse(map);
+        brickGrid = state.getBrickGrid();
+        balls = createProbeBalls(state.getBoundingRectangle().getBottomCenter());
+    }
+
+    static Ball[] createProbeBalls(Point bottomCenter)
+    {
+        var velocities = new Vector[] { new Vector(25, -25), new Vector(-25, -25), new Vector(5, -40), new Vector(-40, -5), new Vector(0, -30), new Vector(30, 0) };
+        var center = bottomCenter.add(new Vector(0, -2000));
+        var result = new Ball[velocities.length];
+
+        for ( int i = 0; i != velocities.length; ++i )
+        {
+            result[i] = new Ball(null, new Circle(center, 500), velocities[i], new StandardBehavior());
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public void findEarliestCollision(Blackhole blackhole)
+    {
+        for ( var ball : balls )
+        {
+            blackhole.consume(brickGrid.findEarliestCollision(ball));
+        }
+    }
+
+    @Benchmark
+    public void findEarliestCollisionPrimitive(Blackhole blackhole)
+    {
+        for ( var ball : balls )
+        {
+            var geometry = ball.getGeometry();
+            var velocity = ball.getVelocity();
+
+            collision.clear();
+            brickGrid.findEarliestCollision(geometry.getCenter().x(), geometry.getCenter().y(), geometry.getRadius(), velocity.x(), velocity.y(), Long.MAX_VALUE, collision);
+            blackhole.consume(collision.getMillisecondsUntilCollision());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package breakout.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import breakout.BreakoutState;
+import breakout.simulation.EventDrivenBreakoutState;
+
+/**
+ * Measures fast-forwarding a game by a number of seconds of game time with a stationary paddle,
+ * by ticking the state in steps of {@link BreakoutState#MAXIMUM_TIME_DELTA} milliseconds
+ * and with {@link EventDrivenBreakoutState#advance(long)}. Every invocation starts from a fresh copy of the map.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FastForwardBenchmark
+{
+    @Param({ "descr2", "OGP_MAP", "synthetic50x50" })
+    public String map;
+
+    @Param({ "60" })
+    public int seconds;
+
+    private BreakoutState initialState;
+
+    private BreakoutState state;
+
+    private EventDrivenBreakoutState eventDrivenState;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        initialState = BenchmarkMaps.parse(map);
+        state = initialState.snapshot();
+        eventDrivenState = new EventDrivenBreakoutState(state);
+    }
+
+    @Benchmark
+    public BreakoutState tick()
+    {
+        state.restore(initialState);
+
+        for ( var time = 0L; time < seconds * 1000L; time += BreakoutState.MAXIMUM_TIME_DELTA )
+        {
+            state.tick(BreakoutState.MAXIMUM_TIME_DELTA);
+        }
+
+        return state;
+    }
+
+    @Benchmark
+    public BreakoutState eventDriven()
+    {
+        state.restore(initialState);
+        eventDrivenState.advance(seconds * 1000L);
+
+        return state;
+    }
+}
@@ -0,0 +1,79 @@
+package breakout.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import breakout.BreakoutState;
+import breakout.balls.StandardBehavior;
+import breakout.math.Circle;
+import breakout.math.Point;
+import breakout.math.Vector;
+
+/**
+ * Measures a single {@link BreakoutState#tick(long)} of {@link BreakoutState#MAXIMUM_TIME_DELTA} milliseconds
+ * with many balls in play. Besides the map's own ball, {@code ballCount - 1} balls are spread over the
+ * bottom row of the field, moving upwards at different angles.
+ * The game is restored to its initial state whenever it is over.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiBallTickBenchmark
+{
+    @Param({ "synthetic50x50", "synthetic200x200" })
+    public String map;
+
+    @Param({ "1", "16", "256" })
+    public int ballCount;
+
+    private BreakoutState initialState;
+
+    private BreakoutState state;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        initialState = BenchmarkMaps.parse(map);
+
+        var field = initialState.getBrickGrid().getBoundingRectangle();
+        var radius = 500;
+        var y = field.getBottom() - 2 * radius;
+
+        for ( var i = 1; i < ballCount; i++ )
+        {
+            var x = radius + (field.getWidth() - 2 * radius) * i / ballCount;
+            var velocity = new Vector(5 + i % 30, -20 - i % 7);
+            initialState.addBall(new Circle(new Point(x, y), radius), velocity, new StandardBehavior());
+        }
+
+        state = initialState.snapshot();
+    }
+
+    @Benchmark
+    public BreakoutState tick()
+    {
+        if ( state.isGameOver() )
+        {
+            state.restore(initialState);
+        }
+
+        state.tick(BreakoutState.MAXIMUM_TIME_DELTA);
+
+        return state;
+    }
+}
@@ -0,0 +1,78 @@
+package breakout.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import breakout.Collision;
+import breakout.balls.Ball;
+import breakout.balls.StandardBehavior;
+import breakout.math.Circle;
+import breakout.math.Vector;
+import breakout.paddles.Paddle;
+
+/**
+ * Measures {@link Paddle#findCollision(Ball)} for a ball that will hit the paddle,
+ * a ball that will miss it and a ball that moves away from it.
+ * Neither the paddle nor the balls change between invocations, so apart from the first one,
+ * every invocation reuses the ball's {@link breakout.paddles.PaddleContact}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaddleCollisionBenchmark
+{
+    @Param({ "descr2", "OGP_MAP", "synthetic200x200" })
+    public String map;
+
+    private Paddle paddle;
+
+    private Ball hittingBall;
+
+    private Ball missingBall;
+
+    private Ball risingBall;
+
+    @Setup
+    public void setUp()
+    {
+        var state = BenchmarkMaps.parse(map);
+        paddle = state.getPaddle();
+
+        var above = paddle.getTopCenter().add(new Vector(0, -20000));
+        hittingBall = new Ball(null, new Circle(above, 500), new Vector(5, 30), new StandardBehavior());
+        missingBall = new Ball(null, new Circle(above, 500), new Vector(60, 20), new StandardBehavior());
+        risingBall = new Ball(null, new Circle(above, 500), new Vector(25, -25), new StandardBehavior());
+    }
+
+    @Benchmark
+    public Collision hit()
+    {
+        return paddle.findCollision(hittingBall);
+    }
+
+    @Benchmark
+    public Collision miss()
+    {
+        return paddle.findCollision(missingBall);
+    }
+
+    @Benchmark
+    public Collision rising()
+    {
+        return paddle.findCollision(risingBall);
+    }
+}
@@ -0,0 +1,75 @@
+package breakout.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import breakout.BreakoutState;
+import breakout.simulation.InputLog;
+import breakout.simulation.TrackingPaddleController;
+
+/**
+ * Measures replaying a recorded session with {@link InputLog#replay(BreakoutState)}.
+ * The session is recorded once per trial by a {@link TrackingPaddleController} ticking at a steady 16ms,
+ * i.e., the way the user interface would record it; every invocation replays it on a fresh copy of the initial state.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReplayBenchmark
+{
+    private static final int FRAME_MILLISECONDS = 16;
+
+    @Param({ "descr2", "OGP_MAP", "synthetic50x50" })
+    public String map;
+
+    @Param({ "2000" })
+    public int tickCount;
+
+    private BreakoutState initialState;
+
+    private BreakoutState state;
+
+    private InputLog inputLog;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        initialState = BenchmarkMaps.parse(map);
+        state = initialState.snapshot();
+        inputLog = new InputLog();
+
+        var recordedState = initialState.snapshot();
+        var controller = new TrackingPaddleController(0);
+
+        for ( var i = 0; i < tickCount && !recordedState.isGameOver(); i++ )
+        {
+            var direction = controller.decide(recordedState);
+            inputLog.record(FRAME_MILLISECONDS, direction);
+            recordedState.getPaddle().setMotionDirection(direction);
+            recordedState.tick(FRAME_MILLISECONDS);
+        }
+    }
+
+    @Benchmark
+    public long replay()
+    {
+        state.restore(initialState);
+
+        return inputLog.replay(state);
+    }
+}
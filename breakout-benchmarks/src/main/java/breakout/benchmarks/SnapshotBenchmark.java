@@ -0,0 +1,65 @@
+package breakout.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import breakout.BreakoutState;
+
+/**
+ * Measures {@link BreakoutState#snapshot()} and {@link BreakoutState#restore(BreakoutState)},
+ * compared to re-parsing the map, which is what rolling back a game took before snapshots existed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark
+{
+    @Param({ "descr2", "OGP_MAP", "synthetic50x50", "synthetic200x200" })
+    public String map;
+
+    private BreakoutState state;
+
+    private BreakoutState snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        state = BenchmarkMaps.parse(map);
+        snapshot = state.snapshot();
+    }
+
+    @Benchmark
+    public BreakoutState snapshot()
+    {
+        return state.snapshot();
+    }
+
+    @Benchmark
+    public BreakoutState restore()
+    {
+        state.restore(snapshot);
+
+        return state;
+    }
+
+    @Benchmark
+    public BreakoutState parse()
+    {
+        return BenchmarkMaps.parse(map);
+    }
+}
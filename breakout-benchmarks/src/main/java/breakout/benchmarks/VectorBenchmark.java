@@ -0,0 +1,73 @@
+package breakout.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import breakout.math.MutableVector;
+import breakout.math.Vector;
+
+/**
+ * Measures {@link Vector#kiloBounce(Vector)}, its allocation-free static counterparts and {@link MutableVector#kiloBounce(Vector)}
+ * against every kilo normal the game uses for walls and bricks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorBenchmark
+{
+    private final Vector[] velocities = { new Vector(25, -25), new Vector(-7, 60), new Vector(80, 3), new Vector(-33, -41) };
+
+    private final MutableVector scratch = new MutableVector();
+
+    private final Vector[] kiloNormals = { Vector.KILO_UP, Vector.KILO_DOWN, Vector.KILO_LEFT, Vector.KILO_RIGHT, Vector.KILO_UP_LEFT, Vector.KILO_DOWN_RIGHT };
+
+    @Benchmark
+    public void kiloBounce(Blackhole blackhole)
+    {
+        for ( var velocity : velocities )
+        {
+            for ( var kiloNormal : kiloNormals )
+            {
+                blackhole.consume(velocity.kiloBounce(kiloNormal));
+            }
+        }
+    }
+
+    @Benchmark
+    public void kiloBounceStatic(Blackhole blackhole)
+    {
+        for ( var velocity : velocities )
+        {
+            for ( var kiloNormal : kiloNormals )
+            {
+                blackhole.consume(Vector.kiloBounceX(velocity.x(), velocity.y(), kiloNormal.x(), kiloNormal.y()));
+                blackhole.consume(Vector.kiloBounceY(velocity.x(), velocity.y(), kiloNormal.x(), kiloNormal.y()));
+            }
+        }
+    }
+
+    @Benchmark
+    public void kiloBounceMutable(Blackhole blackhole)
+    {
+        for ( var velocity : velocities )
+        {
+            for ( var kiloNormal : kiloNormals )
+            {
+                blackhole.consume(scratch.set(velocity).kiloBounce(kiloNormal).x());
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package breakout.benchmarks;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import breakout.balls.Ball;
+import breakout.math.IntegerMath;
+import breakout.math.Vector;
+
+/**
+ * Compares ways of computing {@link Vector#getLength()} over every velocity a ball can have
+ * (squared length up to {@link Ball#MAXIMUM_SPEEDUP_SQUARED_SPEED}) and every vector the paddle rescales into a normal.
+ *
+ * {@code mathSqrt} is the former implementation, {@code (long) Math.sqrt(n)}; {@code isqrt} is {@link IntegerMath#isqrt(long)};
+ * {@code isqrtBitByBit} is a purely integer digit-by-digit root, for reference; {@code getLength} calls
+ * {@link Vector#getLength()} itself.
+ * The setup checks that all of them agree on every vector.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorLengthBenchmark
+{
+    private Vector[] vectors;
+
+    private long[] squaredLengths;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        var maximumSpeed = (long) Math.sqrt(Ball.MAXIMUM_SPEEDUP_SQUARED_SPEED);
+        var list = new ArrayList<Vector>();
+
+        for ( var x = -maximumSpeed; x <= maximumSpeed; x++ )
+        {
+            for ( var y = -maximumSpeed; y <= maximumSpeed; y++ )
+            {
+                if ( x * x + y * y <= Ball.MAXIMUM_SPEEDUP_SQUARED_SPEED )
+                {
+                    list.add(new Vector(x, y));
+                }
+            }
+        }
+
+        // See Paddle.getKiloNormal
+        for ( var x = -333; x <= 333; x++ )
+        {
+            list.add(new Vector(x, -1000));
+        }
+
+        vectors = list.toArray(new Vector[0]);
+        squaredLengths = new long[vectors.length];
+
+        for ( var i = 0; i < vectors.length; i++ )
+        {
+            var squaredLength = vectors[i].getSquaredLength();
+            var expected = (long) Math.sqrt(squaredLength);
+            squaredLengths[i] = squaredLength;
+
+            if ( vectors[i].getLength() != expected || IntegerMath.isqrt(squaredLength) != expected || isqrtBitByBit(squaredLength) != expected )
+            {
+                throw new IllegalStateException("Length mismatch for " + vectors[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    public long mathSqrt()
+    {
+        var sum = 0L;
+
+        for ( var squaredLength : squaredLengths )
+        {
+            sum += (long) Math.sqrt(squaredLength);
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public long formerGetLength()
+    {
+        var sum = 0L;
+
+        for ( var vector : vectors )
+        {
+            sum += (long) Math.sqrt(vector.getSquaredLength());
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public long isqrt()
+    {
+        var sum = 0L;
+
+        for ( var squaredLength : squaredLengths )
+        {
+            sum += IntegerMath.isqrt(squaredLength);
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public long isqrtBitByBit()
+    {
+        var sum = 0L;
+
+        for ( var squaredLength : squaredLengths )
+        {
+            sum += isqrtBitByBit(squaredLength);
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public long getLength()
+    {
+        var sum = 0L;
+
+        for ( var vector : vectors )
+        {
+            sum += vector.getLength();
+        }
+
+        return sum;
+    }
+
+    private static long isqrtBitByBit(long n)
+    {
+        var root = 0L;
+        var bit = 1L << 62;
+
+        while ( bit > n )
+        {
+            bit >>= 2;
+        }
+
+        while ( bit != 0 )
+        {
+            if ( n >= root + bit )
+            {
+                n -= root + bit;
+                root = (root >> 1) + bit;
+            }
+            else
+            {
+                root >>= 1;
+            }
+
+            bit >>= 2;
+        }
+
+        return root;
+    }
+}
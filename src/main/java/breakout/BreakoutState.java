@@ -1,21 +1,21 @@
 package breakout;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.List;
 
 import breakout.balls.Ball;
 import breakout.balls.BallBehavior;
+import breakout.balls.BallPool;
 import breakout.bricks.Brick;
 import breakout.math.Circle;
+import breakout.math.IntegerMath;
 import breakout.math.Interval;
 import breakout.math.Rectangle;
 import breakout.math.Vector;
 import breakout.paddles.Paddle;
 import breakout.util.SpecUtil;
-import breakout.walls.EastWall;
-import breakout.walls.NorthWall;
+import breakout.walls.FieldBounds;
 import breakout.walls.Wall;
-import breakout.walls.WestWall;
 
 /**
  * Represents the current state of a breakout game.
@@ -32,6 +32,25 @@ public class BreakoutState
      */
     private ArrayList<Ball> balls;
 
+    /**
+     * Stores the state of the balls added through {@link #addBall}, see {@link BallPool}.
+     * Balls leave the pool when they are removed through {@link #removeBall(Ball)}.
+     *
+     * @representationObject
+     */
+    private final BallPool ballPool;
+
+    /**
+     * True while {@link #atomicTick(long)} iterates over the balls. Balls added or removed in the meantime
+     * are queued in pendingAdditions and pendingRemovals, and only added to or removed from the list
+     * once every ball has been ticked, so the list never changes while it is being iterated.
+     */
+    private boolean tickingBalls;
+
+    private final ArrayList<Ball> pendingAdditions;
+
+    private final ArrayList<Ball> pendingRemovals;
+
 
     private final BrickGrid bricks;
 
@@ -43,6 +62,14 @@ public class BreakoutState
      */
     private final ArrayList<Wall> walls;
 
+    /**
+     * The walls created by the constructor. As long as {@link #getWalls()} holds exactly these,
+     * wall collisions are found by the bounds rather than by asking each wall, see {@link #findEarliestWallCollision(Ball, long, MutableCollision)}.
+     */
+    private FieldBounds fieldBounds;
+
+    private final MutableCollision scratchWallCollision;
+
     /**
      * Construct a new BreakoutState.
      *
@@ -68,9 +95,92 @@ public class BreakoutState
         }
 
         this.balls = new ArrayList<>();
+        this.ballPool = new BallPool();
+        this.pendingAdditions = new ArrayList<>();
+        this.pendingRemovals = new ArrayList<>();
         this.bricks = brickGrid;
         this.paddle = createPaddle(brickGrid, initialPaddleHalfWidth, paddleSpeed);
-        this.walls = createWalls(brickGrid);
+        this.fieldBounds = createFieldBounds(brickGrid);
+        this.walls = this.fieldBounds.createWallList();
+        this.scratchWallCollision = new MutableCollision();
+    }
+
+    /**
+     * Copy constructor, see {@link #snapshot()}.
+     */
+    private BreakoutState(BreakoutState original, CopyContext context)
+    {
+        this.bricks = original.bricks.createCopy(context);
+        this.balls = new ArrayList<>(original.balls.size());
+        this.ballPool = new BallPool(Math.max(1, original.balls.size()));
+        this.pendingAdditions = new ArrayList<>();
+        this.pendingRemovals = new ArrayList<>();
+
+        for ( var ball : original.balls )
+        {
+            var copy = context.copyOf(ball);
+            this.ballPool.adopt(copy);
+            this.balls.add(copy);
+        }
+
+        this.paddle = original.paddle.copy();
+        this.walls = new ArrayList<>(original.walls);
+        this.fieldBounds = original.fieldBounds;
+        this.scratchWallCollision = new MutableCollision();
+    }
+
+    /**
+     * Returns an independent deep copy of this game state: ticking either one does not affect the other.
+     * Links between bricks and behaviors (e.g., between master bricks, locked bricks and key balls)
+     * are preserved among the copies. Immutable objects, such as points, circles and walls, are shared, and so are
+     * stateless bricks and behaviors, see {@link CopyContext}. Rectangles are mutable and are copied, except for
+     * the geometry of a shared brick.
+     * The snapshot can be played on, or passed to {@link #restore(BreakoutState)} (any number of times) to roll back.
+     *
+     * @creates | result
+     * @post | result.getBalls().size() == getBalls().size()
+     * @post | result.getBrickGrid().getBrickCount() == getBrickGrid().getBrickCount()
+     */
+    public BreakoutState snapshot()
+    {
+        return new BreakoutState(this, new CopyContext());
+    }
+
+    /**
+     * Makes this game state equal to a fresh copy of the given snapshot.
+     * The snapshot itself is not modified and remains usable.
+     * The brick grid and paddle objects of this state are updated in place, so references to them stay valid.
+     *
+     * @throws IllegalArgumentException | snapshot == null
+     * @throws IllegalArgumentException | snapshot.getBrickGrid().getColumnCount() != getBrickGrid().getColumnCount() || snapshot.getBrickGrid().getRowCount() != getBrickGrid().getRowCount()
+     * @mutates | this
+     * @post | getBalls().size() == snapshot.getBalls().size()
+     * @post | getBrickGrid().getBrickCount() == snapshot.getBrickGrid().getBrickCount()
+     */
+    public void restore(BreakoutState snapshot)
+    {
+        if ( snapshot == null )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        var context = new CopyContext();
+
+        this.bricks.restore(snapshot.bricks, context);
+        this.balls.clear();
+        this.ballPool.releaseAll();
+
+        for ( var ball : snapshot.balls )
+        {
+            var copy = context.copyOf(ball);
+            this.ballPool.adopt(copy);
+            this.balls.add(copy);
+        }
+
+        this.paddle.copyFrom(snapshot.paddle);
+        this.walls.clear();
+        this.walls.addAll(snapshot.walls);
+        this.fieldBounds = snapshot.fieldBounds;
     }
 
     /**
@@ -85,16 +195,13 @@ public class BreakoutState
     }
 
     /**
-     * LEGIT
+     * Returns the bounds of a field as wide as the brick grid, walled in at the top, left and right.
      */
-    private static ArrayList<Wall> createWalls(BrickGrid brickGrid)
+    private static FieldBounds createFieldBounds(BrickGrid brickGrid)
     {
         var right = brickGrid.getWidth();
-        var topWall = new NorthWall(0);
-        var rightWall = new EastWall(right);
-        var leftWall = new WestWall(0);
 
-        return new ArrayList<>(Arrays.asList(topWall, rightWall, leftWall));
+        return new FieldBounds(0, 0, right);
     }
 
     /**
@@ -143,7 +250,7 @@ public class BreakoutState
 
     /**
      * Move all moving objects one step forward.
-     * Cuts large elapsedMilliseconds in multiple smaller values.
+     * Cuts large elapsedMilliseconds in multiple smaller values, see {@link #computeStepLength(long)}.
      * 
      * LEGIT
      *
@@ -156,22 +263,108 @@ public class BreakoutState
     {
         while ( elapsedMilliseconds > 0 )
         {
-            var dt = Math.min(MAXIMUM_TIME_DELTA, elapsedMilliseconds);
+            var dt = computeStepLength(elapsedMilliseconds);
             atomicTick(dt);
             elapsedMilliseconds -= dt;
         }
     }
 
     /**
-     * LEGIT
+     * Returns the length of the next step of {@link #tick(long)}.
+     *
+     * Collisions with walls and bricks are found exactly however long a step is, but the paddle moves
+     * from one step to the next: a ball only sees the paddle where it is at the start of its step.
+     * Steps are therefore at most {@link #MAXIMUM_TIME_DELTA} milliseconds long while a ball could reach the paddle,
+     * and as long as the remaining time otherwise, see {@link #computePaddleFreeTime(Ball)}.
+     * Longer steps are a whole number of {@link #MAXIMUM_TIME_DELTA} milliseconds long, so that the paddle
+     * still moves at the same moments as it does when the state is ticked {@link #MAXIMUM_TIME_DELTA} milliseconds at a time.
+     *
+     * All balls share the step, but within a step every ball is ticked for the whole step before the next one is,
+     * see {@link #atomicTick(long)}. The longer the step, the more this can reorder what balls do: a ball can still hit
+     * a brick that an earlier ball destroyed later in game time during the same step.
+     * With a single ball and a paddle that does not move, ticking a long time at once gives the same game as ticking it
+     * {@link #MAXIMUM_TIME_DELTA} milliseconds at a time. So it does with a moving paddle, unless the paddle changes size
+     * during a long step (see {@link breakout.bricks.PaddleModifierBrick}): it has then already moved for the whole step.
+     */
+    private long computeStepLength(long elapsedMilliseconds)
+    {
+        var freeTime = elapsedMilliseconds;
+
+        for ( int i = 0, count = this.balls.size(); i < count && freeTime > MAXIMUM_TIME_DELTA; i++ )
+        {
+            freeTime = Math.min(freeTime, computePaddleFreeTime(this.balls.get(i)));
+        }
+
+        return Math.min(elapsedMilliseconds, Math.max(MAXIMUM_TIME_DELTA, freeTime - freeTime % MAXIMUM_TIME_DELTA));
+    }
+
+    /**
+     * Returns a number of milliseconds during which the given ball certainly does not reach the paddle's top,
+     * whatever it bounces off in the meantime. Bounces do not make a ball faster, and speedups stop
+     * at {@link Ball#MAXIMUM_SPEEDUP_SQUARED_SPEED}, so the ball travels no faster than the larger of the two.
+     */
+    private long computePaddleFreeTime(Ball ball)
+    {
+        var gap = this.paddle.getTopCenter().y() - ball.getCenterY() - ball.getRadius();
+
+        if ( gap <= 0 )
+        {
+            return 0;
+        }
+
+        var vx = ball.getVelocityX();
+        var vy = ball.getVelocityY();
+        var squaredSpeed = Math.max(vx * vx + vy * vy, Ball.MAXIMUM_SPEEDUP_SQUARED_SPEED);
+
+        // Rounding the speed up also covers the rounding of kiloBounce
+        return gap / (IntegerMath.isqrt(squaredSpeed) + 1);
+    }
+
+    /**
+     * Ticks the paddle and then every ball that was in play at the start of the step.
+     * Balls added or removed by other balls (e.g., a lost ball removing itself) are only
+     * added to or removed from the list at the end of the step, see {@link #applyPendingBallChanges()}.
      */
     private void atomicTick(long elapsedTime)
     {
         paddle.tick(this, elapsedTime);
 
-        for ( var ball : new ArrayList<>(this.balls) )
+        tickingBalls = true;
+
+        try
         {
-            ball.tick(this, elapsedTime);
+            for ( int i = 0, count = this.balls.size(); i < count; i++ )
+            {
+                this.balls.get(i).tick(this, elapsedTime);
+            }
+        }
+        finally
+        {
+            tickingBalls = false;
+            applyPendingBallChanges();
+        }
+    }
+
+    /**
+     * Applies the additions and removals queued while the balls were being ticked,
+     * in an order that leaves the list as if they had been applied immediately.
+     */
+    private void applyPendingBallChanges()
+    {
+        if ( !pendingAdditions.isEmpty() )
+        {
+            this.balls.addAll(pendingAdditions);
+            pendingAdditions.clear();
+        }
+
+        if ( !pendingRemovals.isEmpty() )
+        {
+            for ( var ball : pendingRemovals )
+            {
+                removeBall(ball);
+            }
+
+            pendingRemovals.clear();
         }
     }
 
@@ -181,7 +374,7 @@ public class BreakoutState
      */
     public boolean isGameOver()
     {
-        return false;
+        return isGameWon() || isGameLost();
     }
 
     /**
@@ -191,7 +384,7 @@ public class BreakoutState
      */
     public boolean isGameWon()
     {
-        return false;
+        return this.bricks.isEmpty();
     }
 
     /**
@@ -201,11 +394,12 @@ public class BreakoutState
      */
     public boolean isGameLost()
     {
-        return false;
+        return this.balls.isEmpty();
     }
 
     /**
      * Returns a list of walls.
+     * The list can be changed, e.g., to use a custom set of walls; see {@link #findEarliestWallCollision(Ball, long)}.
      * 
      */
     public ArrayList<Wall> getWalls()
@@ -213,6 +407,62 @@ public class BreakoutState
         return walls;
     }
 
+    /**
+     * Returns the earliest collision of the given ball with one of the walls, provided it happens
+     * within maximumTime milliseconds, or null if there is none.
+     * Only allocates the collision that is returned.
+     *
+     * @pre | ball != null
+     * @pre | maximumTime >= 0
+     * @inspects | ball
+     * @post | result == null || result.getMillisecondsUntilCollision() <= maximumTime
+     */
+    public Collision findEarliestWallCollision(Ball ball, long maximumTime)
+    {
+        var collision = this.scratchWallCollision;
+        collision.clear();
+        findEarliestWallCollision(ball, maximumTime, collision);
+
+        return collision.toCollision();
+    }
+
+    /**
+     * Offers the earliest collision of the given ball with one of the walls, provided it happens
+     * within maximumTime milliseconds, to the given result (see {@link MutableCollision#offer}).
+     * Returns whether the result was updated.
+     *
+     * As long as {@link #getWalls()} holds the walls created by the constructor, the collision is computed
+     * from the field's bounds in a few branches and nothing is allocated (see {@link FieldBounds}).
+     * Otherwise, every wall in the list is asked for its collision, in the list's order.
+     *
+     * @pre | ball != null
+     * @pre | maximumTime >= 0
+     * @pre | result != null
+     * @inspects | ball
+     * @mutates | result
+     */
+    public boolean findEarliestWallCollision(Ball ball, long maximumTime, MutableCollision result)
+    {
+        if ( this.fieldBounds.isBoundaryOf(this.walls) )
+        {
+            return this.fieldBounds.findEarliestCollision(ball.getCenterX(), ball.getCenterY(), ball.getRadius(), ball.getVelocityX(), ball.getVelocityY(), maximumTime, result);
+        }
+
+        var kept = false;
+
+        for ( var wall : this.walls )
+        {
+            var collision = wall.findCollision(ball, maximumTime);
+
+            if ( collision != null )
+            {
+                kept |= result.offer(collision.getMillisecondsUntilCollision(), collision.getKiloNormal(), null);
+            }
+        }
+
+        return kept;
+    }
+
     /**
      * Returns a list of bricks.
      * 
@@ -227,13 +477,41 @@ public class BreakoutState
         return this.bricks.getBricks();
     }
 
+    /**
+     * Returns a read-only, live view on the bricks, see {@link BrickGrid#getBricksView()}.
+     * Meant for callers such as the renderer that only iterate over the bricks and should not pay for a copy.
+     *
+     * @post | result != null
+     */
+    public List<Brick> getBricksView()
+    {
+        return this.bricks.getBricksView();
+    }
+
     /**
      * Removes the given ball from the game.
+     * When called while the balls are being ticked, the ball is only removed once the current step is over.
      * 
      */
     public void removeBall(Ball ball)
     {
-        this.balls.remove(ball);
+        if ( tickingBalls )
+        {
+            pendingRemovals.add(ball);
+        }
+        else if ( this.balls.remove(ball) && this.ballPool.contains(ball) )
+        {
+            this.ballPool.release(ball);
+        }
+    }
+
+    /**
+     * Returns whether the given ball is in this game: added to it, or copied into it by {@link #snapshot()} or {@link #restore(BreakoutState)}, and not removed since.
+     * A ball removed while the balls are being ticked is only removed once the current step is over.
+     */
+    public boolean containsBall(Ball ball)
+    {
+        return this.ballPool.contains(ball);
     }
 
     /**
@@ -245,11 +523,17 @@ public class BreakoutState
      */
     public boolean isBallLost(Ball ball)
     {
-        return !getBoundingRectangle().contains(ball.getCenter());
+        // Same as !getBoundingRectangle().contains(ball.getCenter()), without allocating the rectangle and point
+        var x = ball.getCenterX();
+        var y = ball.getCenterY();
+
+        return x < 0 || x > this.bricks.getWidth() || y < 0 || y > this.bricks.getHeight() + this.paddle.getHeight();
     }
 
     /**
      * Adds new ball to the game and returns the reference to this new ball.
+     * When called while the balls are being ticked, the ball only shows up in {@link #getBalls()}
+     * once the current step is over; it is not ticked during that step.
      * 
      * @pre | geometry != null
      * @pre | velocity != null
@@ -264,12 +548,24 @@ public class BreakoutState
      */
     public Ball addBall(Circle geometry, Vector velocity, BallBehavior behavior)
     {
-        return null;
+        var allowedArea = getBoundingRectangle().growHeight(this.bricks.getBrickHeight());
+        var ball = this.ballPool.add(allowedArea, geometry, velocity, behavior);
+
+        if ( tickingBalls )
+        {
+            pendingAdditions.add(ball);
+        }
+        else
+        {
+            this.balls.add(ball);
+        }
+
+        return ball;
     }
 
 
     public BrickGrid getBrickGrid()
     {
-        return null;
+        return this.bricks;
     }
 }
@@ -13,8 +13,8 @@ public class BrickCollision extends Collision
 
     public BrickCollision(long time, Vector kiloNormal, Brick brick)
     {
-        super(0, null);
-        this.brick = null;
+        super(time, kiloNormal);
+        this.brick = brick;
     }
 
     public Brick getBrick()
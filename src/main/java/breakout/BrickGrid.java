@@ -1,6 +1,9 @@
 package breakout;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.stream.Stream;
 
 import breakout.balls.Ball;
@@ -15,45 +18,168 @@ import breakout.bricks.SturdyBrick;
 import breakout.bricks.WeakeningBrick;
 import breakout.bricks.lock.LockedBrick;
 import breakout.bricks.lock.MasterBrick;
+import breakout.math.CircleSweep;
 import breakout.math.Point;
 import breakout.math.Rectangle;
-import breakout.math.Vector;
 import breakout.util.Grid;
+import breakout.util.OccupancyGrid;
 import breakout.util.SpecUtil;
 
 public class BrickGrid
 {
     private final Grid<Brick> grid;
 
+    /**
+     * Mirrors which cells of {@link #grid} hold a brick.
+     * Only {@link #placeBrick(Point, Brick)} may modify {@link #grid}, so that it stays in sync with this
+     * and with {@link #liveBricks}.
+     */
+    private final OccupancyGrid occupancy;
+
+    /**
+     * All bricks currently in the grid, in no particular order.
+     * Kept up to date by {@link #placeBrick(Point, Brick)} so that it never needs to be rebuilt from the grid.
+     */
+    private final ArrayList<Brick> liveBricks;
+
+    /**
+     * Read-only view on {@link #liveBricks}, see {@link #getBricksView()}.
+     */
+    private final List<Brick> liveBricksView;
+
+    /**
+     * For each cell (in row-major order), the index of its brick in {@link #liveBricks}, or -1 if it is empty.
+     */
+    private final int[] liveBrickIndices;
+
+    /**
+     * Number of times a brick has been added, removed or changed, see {@link #getModificationCount()}.
+     */
+    private int modificationCount;
+
     private final int brickWidth;
 
     private final int brickHeight;
 
+    /**
+     * Reused by {@link #findEarliestCollision(Ball)} so that collision queries do not allocate.
+     */
+    private final MutableCollision scratchCollision;
+
+    /**
+     * Reused by {@link #findEarliestCollision(long, long, long, long, long, long, MutableCollision)}.
+     */
+    private final CircleSweep scratchSweep;
+
     public BrickGrid(int columnCount, int rowCount, int brickWidth, int brickHeight)
     {
         this.brickWidth = brickWidth;
         this.brickHeight = brickHeight;
         this.grid = new Grid<Brick>(columnCount, rowCount);
+        this.occupancy = new OccupancyGrid(columnCount, rowCount);
+        this.liveBricks = new ArrayList<Brick>();
+        this.liveBricksView = Collections.unmodifiableList(this.liveBricks);
+        this.liveBrickIndices = new int[columnCount * rowCount];
+        Arrays.fill(this.liveBrickIndices, -1);
+        this.scratchCollision = new MutableCollision();
+        this.scratchSweep = new CircleSweep();
+    }
+
+    /**
+     * Copy constructor, see {@link #createCopy(CopyContext)}.
+     */
+    private BrickGrid(BrickGrid original, CopyContext context)
+    {
+        this.brickWidth = original.brickWidth;
+        this.brickHeight = original.brickHeight;
+        this.grid = original.grid.giveCopy();
+        this.occupancy = original.occupancy.copy();
+        this.liveBricks = new ArrayList<Brick>(original.liveBricks);
+        this.liveBricksView = Collections.unmodifiableList(this.liveBricks);
+        this.liveBrickIndices = original.liveBrickIndices.clone();
+        this.scratchCollision = new MutableCollision();
+        this.scratchSweep = new CircleSweep();
+        this.modificationCount = original.modificationCount;
+        replaceBricksByCopies(context);
+    }
+
+    /**
+     * Returns a copy of this grid holding copies of its bricks (see {@link CopyContext#copyOf(Brick)}).
+     * The cost is that of copying a few arrays plus one lookup per brick.
+     *
+     * @pre | context != null
+     * @creates | result
+     */
+    public BrickGrid createCopy(CopyContext context)
+    {
+        return new BrickGrid(this, context);
+    }
+
+    /**
+     * Makes this grid hold copies of the bricks of the given grid, at the same positions.
+     *
+     * @throws IllegalArgumentException | source.getColumnCount() != getColumnCount() || source.getRowCount() != getRowCount()
+     * @throws IllegalArgumentException | source.getBrickWidth() != getBrickWidth() || source.getBrickHeight() != getBrickHeight()
+     * @pre | context != null
+     * @mutates | this
+     */
+    public void restore(BrickGrid source, CopyContext context)
+    {
+        if ( source.getColumnCount() != getColumnCount() || source.getRowCount() != getRowCount() )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        if ( source.brickWidth != brickWidth || source.brickHeight != brickHeight )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        this.grid.copyFrom(source.grid);
+        this.occupancy.copyFrom(source.occupancy);
+        this.liveBricks.clear();
+        this.liveBricks.addAll(source.liveBricks);
+        System.arraycopy(source.liveBrickIndices, 0, this.liveBrickIndices, 0, this.liveBrickIndices.length);
+        this.modificationCount++;
+        replaceBricksByCopies(context);
+    }
+
+    /**
+     * Replaces every brick in this grid by its copy. Stateless bricks are their own copy and stay put.
+     */
+    private void replaceBricksByCopies(CopyContext context)
+    {
+        for ( int i = 0; i != this.liveBricks.size(); ++i )
+        {
+            var brick = this.liveBricks.get(i);
+            var copy = context.copyOf(brick);
+
+            if ( copy != brick )
+            {
+                this.liveBricks.set(i, copy);
+                this.grid.setAt(copy.getGridPosition(), copy);
+            }
+        }
     }
 
     public int getBrickWidth()
     {
-        return 0;
+        return this.brickWidth;
     }
 
     public int getBrickHeight()
     {
-        return 0;
+        return this.brickHeight;
     }
 
     public int getColumnCount()
     {
-        return 0;
+        return this.grid.getWidth();
     }
 
     public int getRowCount()
     {
-        return 0;
+        return this.grid.getHeight();
     }
 
     public int getWidth()
@@ -68,7 +194,7 @@ public class BrickGrid
 
     public Brick getBrickAt(Point gridPosition)
     {
-        return null;
+        return this.grid.at(gridPosition);
     }
 
     public boolean isValidGridPosition(Point gridPosition)
@@ -93,28 +219,14 @@ public class BrickGrid
     }
 
     /**
-     * LEGIT
-     */
-    public BrickCollision findEarliestCollision(Ball ball)
-    {
-        var earliestHorizontalCollision = findEarliestHorizontalCollision(ball);
-        var earliestVerticalCollision = findEarliestVerticalCollision(ball);
-
-        return Collision.getEarliestCollision(earliestHorizontalCollision, earliestVerticalCollision);
-    }
-
-    /**
-     * LEGIT
+     * Returns the brick at the given grid coordinates, or null if there is none
+     * or if the coordinates fall outside the grid.
      */
-    private BrickCollision findEarliestVerticalCollision(Ball ball)
+    private Brick getBrickAtOrNull(long column, long row)
     {
-        if ( ball.getVelocity().y() < 0 )
+        if ( this.grid.isValidPosition(column, row) )
         {
-            return findEarliestUpwardsCollision(ball);
-        }
-        else if ( ball.getVelocity().y() > 0 )
-        {
-            return findEarliestDownwardsCollision(ball);
+            return this.grid.at((int) column, (int) row);
         }
         else
         {
@@ -125,130 +237,159 @@ public class BrickGrid
     /**
      * LEGIT
      */
-    private BrickCollision findEarliestHorizontalCollision(Ball ball)
+    public BrickCollision findEarliestCollision(Ball ball)
     {
-        if ( ball.getVelocity().x() < 0 )
-        {
-            return findEarliestLeftwardsCollision(ball);
-        }
-        else if ( ball.getVelocity().x() > 0 )
-        {
-            return findEarliestRightwardsCollision(ball);
-        }
-        else
-        {
-            return null;
-        }
+        return findEarliestCollision(ball, Long.MAX_VALUE);
     }
 
     /**
-     * LEGIT
+     * Finds the earliest collision between the given ball and the bricks of this grid
+     * that happens within {@code maximumTime} milliseconds.
+     * Returns null if there is no such collision.
+     *
+     * @pre | ball != null
+     * @pre | maximumTime >= 0
+     * @inspects | ball
+     * @post | result == null || result.getMillisecondsUntilCollision() <= maximumTime
      */
-    private BrickCollision findEarliestUpwardsCollision(Ball ball)
+    public BrickCollision findEarliestCollision(Ball ball, long maximumTime)
     {
-        var v = ball.getVelocity();
-        var p = ball.getGeometry().getPointInDirection(v);
-        var y = p.y() / this.brickHeight * this.brickHeight;
-
-        while ( y > 0 )
-        {
-            var preciseT = (y - p.y()) * 1000 / v.y();
-            var x = p.x() + v.x() * preciseT / 1000;
-            var brickGridPosition = new Point(Math.floorDiv(x, brickWidth), Math.floorDiv(y, brickHeight) - 1);
-            var brick = getBrickAtGridPositionOrNull(brickGridPosition);
-
-            if ( brick != null )
-            {
-                return new BrickCollision(preciseT / 1000, Vector.KILO_DOWN, brick);
-            }
+        var collision = this.scratchCollision;
 
-            y -= this.brickHeight;
-        }
+        collision.clear();
+        findEarliestCollision(ball.getCenterX(), ball.getCenterY(), ball.getRadius(), ball.getVelocityX(), ball.getVelocityY(), maximumTime, collision);
 
-        return null;
+        return collision.toBrickCollision();
     }
 
     /**
-     * LEGIT
+     * Finds the earliest collision within {@code maximumTime} milliseconds between the bricks of this grid
+     * and a ball with the given center, radius and velocity, and offers it to {@code result}
+     * (see {@link MutableCollision#offer}). Returns whether {@code result} was updated.
+     *
+     * The ball is swept against the bricks as a circle (see {@link CircleSweep}), so it hits the corners of bricks
+     * as well as their faces, however far it moves in one step.
+     * Candidate bricks are found by moving the ball's bounding box through the grid in windows of time
+     * in which it crosses at most about one cell, earliest window first. The search stops at the first window
+     * at whose end the earliest hit found so far has happened, since no brick first touched later can be hit before it.
+     * Windows in which the box only covers empty rows or columns are skipped in one go, see {@link OccupancyGrid}.
+     * The cost is therefore proportional to the number of cells near the path actually travelled
+     * rather than to the size of the grid.
+     *
+     * This method only allocates the normal of a hit on a corner, so it can be called for every ball on every step.
+     *
+     * @pre | radius >= 0
+     * @pre | maximumTime >= 0
+     * @pre | result != null
+     * @mutates | result
      */
-    private BrickCollision findEarliestDownwardsCollision(Ball ball)
+    public boolean findEarliestCollision(long centerX, long centerY, long radius, long velocityX, long velocityY, long maximumTime, MutableCollision result)
     {
-        var v = ball.getVelocity();
-        var p = ball.getGeometry().getPointInDirection(v);
-        var y = (p.y() + this.brickHeight - 1) / this.brickHeight * this.brickHeight;
-        var yMax = this.getHeight();
-
-        while ( y < yMax )
+        if ( velocityX == 0 && velocityY == 0 )
         {
-            var preciseT = (y - p.y()) * 1000 / v.y();
-            var x = p.x() + v.x() * preciseT / 1000;
-            var brickGridPosition = new Point(Math.floorDiv(x, brickWidth), Math.floorDiv(y, brickHeight));
-            var brick = getBrickAtGridPositionOrNull(brickGridPosition);
-
-            if ( brick != null )
-            {
-                return new BrickCollision(preciseT / 1000, Vector.KILO_UP, brick);
-            }
-
-            y += this.brickHeight;
+            return false;
         }
 
-        return null;
-    }
+        var sweep = this.scratchSweep;
+        var columnCount = getColumnCount();
+        var rowCount = getRowCount();
+        var window = Math.max(1, Math.min(crossingTime(brickWidth, velocityX), crossingTime(brickHeight, velocityY)));
+        Brick hitBrick = null;
 
-    /**
-     * LEGIT
-     */
-    private BrickCollision findEarliestLeftwardsCollision(Ball ball)
-    {
-        var v = ball.getVelocity();
-        var p = ball.getGeometry().getPointInDirection(v);
-        var x = p.x() / this.brickWidth * this.brickWidth;
+        sweep.clear();
 
-        while ( x > 0 )
+        for ( var start = 0L; start <= maximumTime; )
         {
-            var preciseT = (x - p.x()) * 1000 / v.x();
-            var y = p.y() + v.y() * preciseT / 1000;
-            var brickGridPosition = new Point(Math.floorDiv(x, brickWidth) - 1, Math.floorDiv(y, brickHeight));
-            var brick = getBrickAtGridPositionOrNull(brickGridPosition);
-
-            if ( brick != null )
+            // The window holds the hits rounded down to [start, stop]; its box covers the ball until stop + 1
+            var stop = Math.min(start + window - 1, maximumTime);
+            var startX = centerX + velocityX * start;
+            var stopX = centerX + velocityX * (stop + 1);
+            var startY = centerY + velocityY * start;
+            var stopY = centerY + velocityY * (stop + 1);
+            var firstColumn = Math.floorDiv(Math.min(startX, stopX) - radius, brickWidth);
+            var lastColumn = Math.floorDiv(Math.max(startX, stopX) + radius, brickWidth);
+            var firstRow = Math.floorDiv(Math.min(startY, stopY) - radius, brickHeight);
+            var lastRow = Math.floorDiv(Math.max(startY, stopY) + radius, brickHeight);
+            var row = (long) occupancy.nextNonEmptyRow(firstRow, 1);
+            var column = (long) occupancy.nextNonEmptyColumn(firstColumn, 1);
+
+            if ( row >= rowCount || row > lastRow )
             {
-                return new BrickCollision(preciseT / 1000, Vector.KILO_RIGHT, brick);
+                // Nothing can be hit until the box reaches the next row holding a brick, if there is one ahead at all
+                var next = velocityY > 0 ? occupancy.nextNonEmptyRow(lastRow + 1, 1) : occupancy.nextNonEmptyRow(firstRow - 1, -1);
+
+                if ( velocityY == 0 || next < 0 || next >= rowCount )
+                {
+                    break;
+                }
+
+                start = Math.max(stop + 1, reachingTime(next, brickHeight, centerY, radius, velocityY));
             }
+            else if ( column >= columnCount || column > lastColumn )
+            {
+                // Same for columns
+                var next = velocityX > 0 ? occupancy.nextNonEmptyColumn(lastColumn + 1, 1) : occupancy.nextNonEmptyColumn(firstColumn - 1, -1);
+
+                if ( velocityX == 0 || next < 0 || next >= columnCount )
+                {
+                    break;
+                }
 
-            x -= this.brickWidth;
+                start = Math.max(stop + 1, reachingTime(next, brickWidth, centerX, radius, velocityX));
+            }
+            else
+            {
+                var columnEnd = Math.min(lastColumn, columnCount - 1);
+
+                for ( ; row <= lastRow && row < rowCount; row = occupancy.nextNonEmptyRow(row + 1, 1) )
+                {
+                    for ( var c = column; c <= columnEnd; c++ )
+                    {
+                        var brick = this.grid.at((int) c, (int) row);
+
+                        if ( brick != null && sweep.sweep(centerX, centerY, radius, velocityX, velocityY,
+                                c * brickWidth, row * brickHeight, (c + 1) * brickWidth, (row + 1) * brickHeight, maximumTime) )
+                        {
+                            hitBrick = brick;
+                        }
+                    }
+                }
+
+                if ( sweep.isHit() && sweep.getMillisecondsUntilCollision() <= stop )
+                {
+                    break;
+                }
+
+                start = stop + 1;
+            }
         }
 
-        return null;
+        // A hit that is still held is the earliest one: no brick is left that could be hit before it
+        return sweep.isHit() && result.offer(sweep.getMillisecondsUntilCollision(), sweep.getKiloNormal(), hitBrick);
     }
 
     /**
-     * LEGIT
+     * Returns the time it takes to move {@code cellSize} at the given velocity, or Long.MAX_VALUE if it never does.
      */
-    private BrickCollision findEarliestRightwardsCollision(Ball ball)
+    private static long crossingTime(long cellSize, long velocity)
     {
-        var v = ball.getVelocity();
-        var p = ball.getGeometry().getPointInDirection(v);
-        var x = (p.x() + this.brickWidth - 1) / this.brickWidth * this.brickWidth;
-        var xMax = this.getWidth();
+        return velocity == 0 ? Long.MAX_VALUE : cellSize / Math.abs(velocity);
+    }
 
-        while ( x < xMax )
+    /**
+     * Returns the time, rounded down, at which a ball with the given radius, whose center moves from
+     * {@code position} at {@code velocity}, touches the row (or column) with the given index it is moving towards.
+     */
+    private static long reachingTime(long index, long cellSize, long position, long radius, long velocity)
+    {
+        if ( velocity > 0 )
         {
-            var preciseT = (x - p.x()) * 1000 / v.x();
-            var y = p.y() + v.y() * preciseT / 1000;
-            var brickGridPosition = new Point(Math.floorDiv(x, brickWidth), Math.floorDiv(y, brickHeight));
-            var brick = getBrickAtGridPositionOrNull(brickGridPosition);
-
-            if ( brick != null )
-            {
-                return new BrickCollision(preciseT / 1000, Vector.KILO_LEFT, brick);
-            }
-
-            x += this.brickWidth;
+            return (index * cellSize - position - radius) / velocity;
+        }
+        else
+        {
+            return (position - radius - (index + 1) * cellSize) / -velocity;
         }
-
-        return null;
     }
 
     /**
@@ -264,43 +405,64 @@ public class BrickGrid
     {
         var rectangle = getBrickRectangle(gridPosition);
         var brick = new StandardBrick(rectangle, gridPosition);
-        this.grid.setAt(gridPosition, brick);
+        placeBrick(gridPosition, brick);
         return brick;
     }
 
     public SturdyBrick addSturdyBrick(Point gridPosition, int lives)
     {
-        return null;
+        var rectangle = getBrickRectangle(gridPosition);
+        var brick = new SturdyBrick(rectangle, gridPosition, lives);
+        placeBrick(gridPosition, brick);
+        return brick;
     }
 
     public GrowPaddleBrick addGrowPaddleBrick(Point gridPosition)
     {
-        return null;
+        var rectangle = getBrickRectangle(gridPosition);
+        var brick = new GrowPaddleBrick(rectangle, gridPosition);
+        placeBrick(gridPosition, brick);
+        return brick;
     }
 
     public ShrinkPaddleBrick addShrinkPaddleBrick(Point gridPosition)
     {
-        return null;
+        var rectangle = getBrickRectangle(gridPosition);
+        var brick = new ShrinkPaddleBrick(rectangle, gridPosition);
+        placeBrick(gridPosition, brick);
+        return brick;
     }
 
     public WeakeningBrick addWeakeningBrick(Point gridPosition)
     {
-        return null;
+        var rectangle = getBrickRectangle(gridPosition);
+        var brick = new WeakeningBrick(rectangle, gridPosition);
+        placeBrick(gridPosition, brick);
+        return brick;
     }
 
     public StrengtheningBrick addStrengtheningBrick(Point gridPosition)
     {
-        return null;
+        var rectangle = getBrickRectangle(gridPosition);
+        var brick = new StrengtheningBrick(rectangle, gridPosition);
+        placeBrick(gridPosition, brick);
+        return brick;
     }
 
     public SpeedUpBrick addSpeedUpBrick(Point gridPosition)
     {
-        return null;
+        var rectangle = getBrickRectangle(gridPosition);
+        var brick = new SpeedUpBrick(rectangle, gridPosition);
+        placeBrick(gridPosition, brick);
+        return brick;
     }
 
     public SlowDownBrick addSlowDownBrick(Point gridPosition)
     {
-        return null;
+        var rectangle = getBrickRectangle(gridPosition);
+        var brick = new SlowDownBrick(rectangle, gridPosition);
+        placeBrick(gridPosition, brick);
+        return brick;
     }
 
     /**
@@ -308,7 +470,10 @@ public class BrickGrid
      */
     public MasterBrick addMasterBrick(Point gridPosition, ArrayList<LockedBrick> lockedBricks)
     {
-        return null;
+        var rectangle = getBrickRectangle(gridPosition);
+        var brick = new MasterBrick(rectangle, gridPosition, lockedBricks);
+        placeBrick(gridPosition, brick);
+        return brick;
     }
 
     /**
@@ -316,7 +481,10 @@ public class BrickGrid
      */
     public LockedBrick addLockedBrick(Point gridPosition)
     {
-        return null;
+        var rectangle = getBrickRectangle(gridPosition);
+        var brick = new LockedBrick(rectangle, gridPosition);
+        placeBrick(gridPosition, brick);
+        return brick;
     }
 
     public Rectangle getBrickRectangle(Point gridCoordinates)
@@ -332,7 +500,15 @@ public class BrickGrid
      */
     public boolean isEmpty()
     {
-        return !grid.getPositionStream().anyMatch(this::containsBrickAt);
+        return this.occupancy.isEmpty();
+    }
+
+    /**
+     * Returns the number of bricks left.
+     */
+    public int getBrickCount()
+    {
+        return this.occupancy.getCount();
     }
 
     /**
@@ -340,7 +516,30 @@ public class BrickGrid
      */
     public ArrayList<Brick> getBricks()
     {
-        return null;
+        return new ArrayList<Brick>(this.liveBricks);
+    }
+
+    /**
+     * Returns a read-only view on the bricks in the grid, in no particular order.
+     * Unlike {@link #getBricks()}, this does not copy anything: the view reflects later additions and removals.
+     * It must therefore not be iterated over while bricks are being added or removed.
+     *
+     * @post | result != null
+     */
+    public List<Brick> getBricksView()
+    {
+        return this.liveBricksView;
+    }
+
+    /**
+     * Returns the number of times a brick has been added to or removed from this grid,
+     * or has changed what it looks like (see {@link #brickChanged(Brick)}).
+     * Callers that cache information derived from the bricks can compare this value
+     * to the one they saw last to find out whether their cache is still up to date.
+     */
+    public int getModificationCount()
+    {
+        return this.modificationCount;
     }
 
     /**
@@ -356,6 +555,21 @@ public class BrickGrid
      */
     public void removeBrickAt(Point gridPosition)
     {
+        placeBrick(gridPosition, null);
+    }
+
+    /**
+     * Tells this grid that the given brick, if it is in the grid, changed in a way that callers
+     * of {@link #getModificationCount()} may have to know about, such as its color or label.
+     */
+    public void brickChanged(Brick brick)
+    {
+        var gridPosition = brick.getGridPosition();
+
+        if ( this.grid.isValidPosition(gridPosition) && this.grid.at(gridPosition) == brick )
+        {
+            this.modificationCount++;
+        }
     }
 
     /**
@@ -363,7 +577,54 @@ public class BrickGrid
      */
     public void removeBrick(Brick brick)
     {
-        // Hint: brick.getGridPosition()
+        var gridPosition = brick.getGridPosition();
+
+        if ( this.grid.isValidPosition(gridPosition) && this.grid.at(gridPosition) == brick )
+        {
+            removeBrickAt(gridPosition);
+        }
+    }
+
+    /**
+     * Stores {@code brick} (possibly null) at the given position and updates the occupancy bits
+     * and the list of live bricks accordingly.
+     */
+    private void placeBrick(Point gridPosition, Brick brick)
+    {
+        var cell = (int) (gridPosition.y() * getColumnCount() + gridPosition.x());
+        var previous = this.grid.at(gridPosition);
+
+        if ( previous == brick )
+        {
+            return;
+        }
+
+        if ( previous != null )
+        {
+            // Move the last brick of the list into the hole, so that removal takes constant time
+            var index = this.liveBrickIndices[cell];
+            var last = this.liveBricks.remove(this.liveBricks.size() - 1);
+
+            if ( last != previous )
+            {
+                var lastPosition = last.getGridPosition();
+
+                this.liveBricks.set(index, last);
+                this.liveBrickIndices[(int) (lastPosition.y() * getColumnCount() + lastPosition.x())] = index;
+            }
+
+            this.liveBrickIndices[cell] = -1;
+        }
+
+        if ( brick != null )
+        {
+            this.liveBrickIndices[cell] = this.liveBricks.size();
+            this.liveBricks.add(brick);
+        }
+
+        this.grid.setAt(gridPosition, brick);
+        this.occupancy.setOccupied((int) gridPosition.x(), (int) gridPosition.y(), brick != null);
+        this.modificationCount++;
     }
 
     /**
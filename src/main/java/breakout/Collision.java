@@ -24,18 +24,18 @@ public class Collision
 
     public Collision(long millisecondsUntilCollision, Vector kiloNormal)
     {
-        this.millisecondsUntilCollision = 0;
-        this.kiloNormal = null;
+        this.millisecondsUntilCollision = millisecondsUntilCollision;
+        this.kiloNormal = kiloNormal;
     }
 
     public long getMillisecondsUntilCollision()
     {
-        return 0;
+        return this.millisecondsUntilCollision;
     }
 
     public Vector getKiloNormal()
     {
-        return null;
+        return this.kiloNormal;
     }
 
     /**
@@ -44,7 +44,17 @@ public class Collision
      */
     public static <T extends Collision> T getEarliestCollision(T c1, T c2)
     {
-        return null;
+        if ( c1 == null )
+        {
+            return c2;
+        }
+
+        if ( c2 == null )
+        {
+            return c1;
+        }
+
+        return c1.getMillisecondsUntilCollision() <= c2.getMillisecondsUntilCollision() ? c1 : c2;
     }
 
     /**
@@ -0,0 +1,139 @@
+package breakout;
+
+import java.util.IdentityHashMap;
+
+import breakout.balls.Ball;
+import breakout.balls.BallBehavior;
+import breakout.bricks.Brick;
+import breakout.math.Rectangle;
+
+/**
+ * Keeps track of the objects copied while deep-copying a game state, see {@link BreakoutState#snapshot()}.
+ *
+ * Every original is copied at most once: asking for the copy of an object that has already been copied
+ * returns that same copy. This preserves sharing and cycles in the object graph, such as the links between
+ * master bricks, locked bricks and key balls. Objects that link back to themselves must
+ * {@link #register(Object, Object)} their copy before copying their peers.
+ *
+ * Rectangles have setters, so they are copied as well (see {@link #copyOf(Rectangle)}). Objects without mutable state
+ * (points, circles, vectors, intervals, walls) are shared between the original and the copy instead of being copied.
+ * So are shareable bricks and behaviors as a whole, including the rectangle such a brick returns from
+ * {@link Brick#getGeometry()}: the game never changes it, but a caller that does changes it in both states.
+ */
+public class CopyContext
+{
+    private final IdentityHashMap<Object, Object> copies;
+
+    public CopyContext()
+    {
+        this.copies = new IdentityHashMap<Object, Object>();
+    }
+
+    /**
+     * Records {@code copy} as the copy of {@code original}.
+     *
+     * @pre | original != null
+     * @pre | copy != null
+     * @mutates | this
+     */
+    public void register(Object original, Object copy)
+    {
+        this.copies.put(original, copy);
+    }
+
+    /**
+     * Returns the copy of the given brick, creating it if necessary.
+     * Shareable bricks (see {@link Brick#isShareable()}) and null are returned as they are.
+     *
+     * @mutates | this
+     */
+    public Brick copyOf(Brick brick)
+    {
+        if ( brick == null || brick.isShareable() )
+        {
+            return brick;
+        }
+
+        var copy = (Brick) this.copies.get(brick);
+
+        if ( copy == null )
+        {
+            copy = brick.createCopy(this);
+            register(brick, copy);
+        }
+
+        return copy;
+    }
+
+    /**
+     * Returns the copy of the given ball behavior, creating it if necessary.
+     * Shareable behaviors (see {@link BallBehavior#isShareable()}) and null are returned as they are.
+     *
+     * @mutates | this
+     */
+    public BallBehavior copyOf(BallBehavior behavior)
+    {
+        if ( behavior == null || behavior.isShareable() )
+        {
+            return behavior;
+        }
+
+        var copy = (BallBehavior) this.copies.get(behavior);
+
+        if ( copy == null )
+        {
+            copy = behavior.createCopy(this);
+            register(behavior, copy);
+        }
+
+        return copy;
+    }
+
+    /**
+     * Returns the copy of the given rectangle, creating it if necessary, so that objects that share a rectangle
+     * in the original share its copy. Returns null if {@code rectangle} is null.
+     *
+     * @mutates | this
+     */
+    public Rectangle copyOf(Rectangle rectangle)
+    {
+        if ( rectangle == null )
+        {
+            return null;
+        }
+
+        var copy = (Rectangle) this.copies.get(rectangle);
+
+        if ( copy == null )
+        {
+            copy = new Rectangle(rectangle.getLeft(), rectangle.getTop(), rectangle.getWidth(), rectangle.getHeight());
+            register(rectangle, copy);
+        }
+
+        return copy;
+    }
+
+    /**
+     * Returns the copy of the given ball, creating it if necessary.
+     * Returns null if {@code ball} is null.
+     *
+     * @mutates | this
+     */
+    public Ball copyOf(Ball ball)
+    {
+        if ( ball == null )
+        {
+            return null;
+        }
+
+        var copy = (Ball) this.copies.get(ball);
+
+        if ( copy == null )
+        {
+            copy = ball.createCopy(this);
+            register(ball, copy);
+        }
+
+        return copy;
+    }
+}
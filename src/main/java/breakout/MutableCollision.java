@@ -0,0 +1,122 @@
+package breakout;
+
+import breakout.bricks.Brick;
+import breakout.math.Vector;
+
+/**
+ * Reusable holder for the result of a collision query.
+ *
+ * Collision and BrickCollision are immutable, which means every query that finds a collision
+ * allocates. Queries that run for every ball on every step write their result into a
+ * MutableCollision instead, and only convert it into a Collision or BrickCollision
+ * (see {@link #toCollision()} and {@link #toBrickCollision()}) when the result is actually used.
+ */
+public class MutableCollision
+{
+    private boolean present;
+
+    private long millisecondsUntilCollision;
+
+    /**
+     * Normal vector on the surface that was hit.
+     * The vector must have size approximately 1000, see {@link Vector#isKiloUnitVector()}.
+     */
+    private Vector kiloNormal;
+
+    /**
+     * The brick that was hit, or null if the collision did not involve a brick.
+     */
+    private Brick brick;
+
+    /**
+     * @post | !isPresent()
+     */
+    public MutableCollision()
+    {
+        clear();
+    }
+
+    /**
+     * Forgets the collision currently held.
+     *
+     * @post | !isPresent()
+     */
+    public void clear()
+    {
+        this.present = false;
+        this.millisecondsUntilCollision = Long.MAX_VALUE;
+        this.kiloNormal = null;
+        this.brick = null;
+    }
+
+    public boolean isPresent()
+    {
+        return this.present;
+    }
+
+    public long getMillisecondsUntilCollision()
+    {
+        return this.millisecondsUntilCollision;
+    }
+
+    public Vector getKiloNormal()
+    {
+        return this.kiloNormal;
+    }
+
+    public Brick getBrick()
+    {
+        return this.brick;
+    }
+
+    /**
+     * Overwrites the collision currently held.
+     *
+     * @post | isPresent()
+     * @post | getMillisecondsUntilCollision() == millisecondsUntilCollision
+     * @post | getKiloNormal() == kiloNormal
+     * @post | getBrick() == brick
+     */
+    public void set(long millisecondsUntilCollision, Vector kiloNormal, Brick brick)
+    {
+        this.present = true;
+        this.millisecondsUntilCollision = millisecondsUntilCollision;
+        this.kiloNormal = kiloNormal;
+        this.brick = brick;
+    }
+
+    /**
+     * Replaces the collision currently held by the given one if the given one happens strictly earlier,
+     * or if no collision is held. Returns whether the given collision was kept.
+     * Ties are resolved in favor of the collision that was offered first, like {@link Collision#getEarliestCollision}.
+     */
+    public boolean offer(long millisecondsUntilCollision, Vector kiloNormal, Brick brick)
+    {
+        if ( this.present && this.millisecondsUntilCollision <= millisecondsUntilCollision )
+        {
+            return false;
+        }
+
+        set(millisecondsUntilCollision, kiloNormal, brick);
+
+        return true;
+    }
+
+    /**
+     * Returns the held collision as an immutable Collision, or null if no collision is held.
+     */
+    public Collision toCollision()
+    {
+        return this.present ? new Collision(this.millisecondsUntilCollision, this.kiloNormal) : null;
+    }
+
+    /**
+     * Returns the held collision as an immutable BrickCollision, or null if no collision is held.
+     *
+     * @pre | !isPresent() || getBrick() != null
+     */
+    public BrickCollision toBrickCollision()
+    {
+        return this.present ? new BrickCollision(this.millisecondsUntilCollision, this.kiloNormal, this.brick) : null;
+    }
+}
@@ -3,10 +3,13 @@ package breakout.balls;
 import java.awt.Color;
 
 import breakout.BreakoutState;
+import breakout.CopyContext;
 import breakout.math.Circle;
+import breakout.math.MutableVector;
 import breakout.math.Point;
 import breakout.math.Rectangle;
 import breakout.math.Vector;
+import breakout.paddles.PaddleContact;
 import breakout.ui.Canvas;
 
 /**
@@ -16,6 +19,10 @@ import breakout.ui.Canvas;
  * 
  * The behavior of a ball defines how it interacts with the game field.
  * See for example StandardBehavior, WeakBallBehavior and StrongBallBehavior. 
+ *
+ * A ball's state is stored in a {@link BallPool}; the ball itself only knows its pool and slot.
+ * The primitive getters (e.g., {@link #getCenterX()}) and {@link #move(long)} work directly on the pool
+ * and do not allocate, which is what the collision code relies on.
  */
 public class Ball
 {
@@ -44,38 +51,34 @@ public class Ball
     public static final int MAXIMUM_SPEEDUP_SQUARED_SPEED = 80 * 80;
 
     /**
-     * Determines shape and position of the ball.
+     * Holds this ball's geometry, velocity (expressed in distance per milliseconds), behavior
+     * and allowed area (the ball must at all times fit inside it).
+     * Updated by the pool when the ball moves to another slot or pool.
      */
-    private Circle geometry;
+    BallPool pool;
 
-    /**
-     * Expressed in distance per milliseconds.
-     */
-    private Vector velocity;
-
-    /**
-     * Determines how the ball behaves.
-     * See subtypes of BallBehavior.
-     */
-    private BallBehavior behavior;
-
-    /**
-     * The ball must at all times fit inside this rectangle.
-     * @representationObject
-     */
-    private final Rectangle allowedArea;
+    int slot;
 
     /**
-     * Constructor.
+     * Constructor. The ball is stored in a pool of its own, see {@link BallPool#adopt(Ball)}.
      * Note that the constructor does not enforce any limitations on the speed of the ball:
      * {@link #MINIMUM_SLOWDOWN_SQUARED_SPEED} and {@link #MAXIMUM_SPEEDUP_SQUARED_SPEED} are not taken into account. 
+     *
+     * @pre | geometry != null
+     * @pre | velocity != null
      */
     public Ball(Rectangle allowedArea, Circle geometry, Vector velocity, BallBehavior behavior)
     {
-        this.allowedArea = allowedArea;
-        this.geometry = geometry;
-        this.velocity = velocity;
-        this.behavior = behavior;
+        var center = geometry.getCenter();
+        BallPool.createDetached().append(this, center.x(), center.y(), geometry.getRadius(), velocity.x(), velocity.y(), behavior, allowedArea);
+    }
+
+    /**
+     * Creates a view whose pool and slot are filled in by {@link BallPool#add}.
+     */
+    Ball()
+    {
+        // NOP
     }
 
     /**
@@ -83,7 +86,7 @@ public class Ball
      */
     public Circle getGeometry()
     {
-        return this.geometry;
+        return new Circle(getCenter(), getRadius());
     }
 
     /**
@@ -91,7 +94,32 @@ public class Ball
      */
     public Vector getVelocity()
     {
-        return this.velocity;
+        return new Vector(getVelocityX(), getVelocityY());
+    }
+
+    public long getCenterX()
+    {
+        return this.pool.getCenterX(this.slot);
+    }
+
+    public long getCenterY()
+    {
+        return this.pool.getCenterY(this.slot);
+    }
+
+    public long getRadius()
+    {
+        return this.pool.getRadius(this.slot);
+    }
+
+    public long getVelocityX()
+    {
+        return this.pool.getVelocityX(this.slot);
+    }
+
+    public long getVelocityY()
+    {
+        return this.pool.getVelocityY(this.slot);
     }
 
     /**
@@ -99,7 +127,16 @@ public class Ball
      */
     public Rectangle getAllowedArea()
     {
-        return this.allowedArea;
+        return this.pool.getAllowedArea(this.slot);
+    }
+
+    /**
+     * Returns this ball's cached prediction of when it hits the paddle.
+     * It is only used by {@link breakout.paddles.Paddle#findCollision(Ball, long)}, and checks by itself whether it still holds.
+     */
+    public PaddleContact getPaddleContact()
+    {
+        return this.pool.getPaddleContact(this.slot);
     }
 
     /**
@@ -107,7 +144,7 @@ public class Ball
      */
     public BallBehavior getBehavior()
     {
-        return this.behavior;
+        return this.pool.getBehavior(this.slot);
     }
 
     /**
@@ -124,7 +161,7 @@ public class Ball
      */
     public Point getCenter()
     {
-        return getGeometry().getCenter();
+        return new Point(getCenterX(), getCenterY());
     }
 
     /**
@@ -139,7 +176,7 @@ public class Ball
      */
     public void tick(BreakoutState state, long elapsedMilliseconds)
     {
-        this.behavior.update(state, this, elapsedMilliseconds);
+        getBehavior().update(state, this, elapsedMilliseconds);
     }
 
     /**
@@ -149,7 +186,7 @@ public class Ball
      */
     public void move(long elapsedMilliseconds)
     {
-        setGeometry(computeDestination(elapsedMilliseconds));
+        this.pool.move(this.slot, elapsedMilliseconds);
     }
 
     /**
@@ -158,7 +195,10 @@ public class Ball
      */
     public Circle computeDestination(long elapsedMilliseconds)
     {
-        return getGeometry().move(this.velocity.multiply(elapsedMilliseconds));
+        var x = getCenterX() + getVelocityX() * elapsedMilliseconds;
+        var y = getCenterY() + getVelocityY() * elapsedMilliseconds;
+
+        return new Circle(new Point(x, y), getRadius());
     }
 
     /**
@@ -166,7 +206,8 @@ public class Ball
      */
     public void setGeometry(Circle geometry)
     {
-        this.geometry = geometry;
+        var center = geometry.getCenter();
+        this.pool.setGeometry(this.slot, center.x(), center.y(), geometry.getRadius());
     }
 
     /**
@@ -176,7 +217,22 @@ public class Ball
      */
     public void setVelocity(Vector velocity)
     {
-        this.velocity = velocity;
+        this.pool.setVelocity(this.slot, velocity.x(), velocity.y());
+    }
+
+    /**
+     * Reflects the ball's velocity off a surface with the given normal.
+     * Equivalent to {@code setVelocity(getVelocity().kiloBounce(kiloNormal))}, but does not allocate.
+     *
+     * @pre | kiloNormal != null
+     * @pre | kiloNormal.isKiloUnitVector()
+     * @post | getVelocity().equals(old(getVelocity()).kiloBounce(kiloNormal))
+     */
+    public void kiloBounce(Vector kiloNormal)
+    {
+        var vx = getVelocityX();
+        var vy = getVelocityY();
+        this.pool.setVelocity(this.slot, Vector.kiloBounceX(vx, vy, kiloNormal.x(), kiloNormal.y()), Vector.kiloBounceY(vx, vy, kiloNormal.x(), kiloNormal.y()));
     }
 
     /**
@@ -184,8 +240,11 @@ public class Ball
      */
     public boolean isValidScaledVelocity(Vector velocity)
     {
-        var squaredLength = velocity.getSquaredLength();
+        return isValidSquaredSpeed(velocity.getSquaredLength());
+    }
 
+    private static boolean isValidSquaredSpeed(long squaredLength)
+    {
         return MINIMUM_SLOWDOWN_SQUARED_SPEED <= squaredLength && squaredLength <= MAXIMUM_SPEEDUP_SQUARED_SPEED;
     }
 
@@ -199,7 +258,7 @@ public class Ball
      */
     public void paint(Canvas canvas)
     {
-        this.behavior.paint(canvas, this);
+        getBehavior().paint(canvas, this);
     }
 
     /**
@@ -207,7 +266,7 @@ public class Ball
      */
     public void setBehavior(BallBehavior behavior)
     {
-        this.behavior = behavior;
+        this.pool.setBehavior(this.slot, behavior);
     }
 
     /**
@@ -219,11 +278,11 @@ public class Ball
      */
     private void scaleVelocity(int kilofactor)
     {
-        var scaledVelocity = this.velocity.multiply(kilofactor).divide(1000);
+        var scaledVelocity = new MutableVector(getVelocityX(), getVelocityY()).multiply(kilofactor).divide(1000);
 
-        if ( isValidScaledVelocity(scaledVelocity) )
+        if ( isValidSquaredSpeed(scaledVelocity.getSquaredLength()) )
         {
-            setVelocity(this.velocity.multiply(kilofactor).divide(1000));
+            this.pool.setVelocity(this.slot, scaledVelocity.x(), scaledVelocity.y());
         }
     }
 
@@ -252,4 +311,16 @@ public class Ball
     {
         scaleVelocity(SLOW_DOWN_FACTOR);
     }
+
+    /**
+     * Returns a ball with the same position and velocity and a copy of this ball's behavior,
+     * for use in a copy of the game state. The copy is stored in a pool of its own and has a copy of the allowed area.
+     * Should only be called by {@link CopyContext#copyOf(Ball)}.
+     *
+     * @pre | context != null
+     */
+    public Ball createCopy(CopyContext context)
+    {
+        return new Ball(context.copyOf(getAllowedArea()), getGeometry(), getVelocity(), context.copyOf(getBehavior()));
+    }
 }
@@ -5,6 +5,7 @@ import java.awt.Color;
 import breakout.BreakoutState;
 import breakout.BrickCollision;
 import breakout.Collision;
+import breakout.CopyContext;
 import breakout.ui.Canvas;
 
 /**
@@ -14,6 +15,8 @@ public abstract class BallBehavior
 {
     /**
      * This method computes what happens to the ball in the next elapsedMilliseconds.
+     * Only collisions that can happen within the remaining time are looked up,
+     * so a step in which the ball hits nothing costs little more than moving it.
      */
     public void update(BreakoutState state, Ball ball, long elapsedMilliseconds)
     {
@@ -21,9 +24,9 @@ public abstract class BallBehavior
 
         while ( elapsedMilliseconds > 0 )
         {
-            var closestWallCollision = findClosestWallCollision(state, ball);
-            var paddleCollision = findPaddleCollision(state, ball);
-            var closestBrickCollision = findClosestBrickCollision(state, ball);
+            var closestWallCollision = findClosestWallCollision(state, ball, elapsedMilliseconds);
+            var paddleCollision = findPaddleCollision(state, ball, elapsedMilliseconds);
+            var closestBrickCollision = findClosestBrickCollision(state, ball, elapsedMilliseconds);
 
             if ( isClosestCollision(closestWallCollision, paddleCollision, closestBrickCollision) && closestWallCollision.getMillisecondsUntilCollision() <= elapsedMilliseconds )
             {
@@ -68,37 +71,29 @@ public abstract class BallBehavior
     /**
      * LEGIT
      */
-    private Collision findClosestWallCollision(BreakoutState state, Ball ball)
+    private Collision findClosestWallCollision(BreakoutState state, Ball ball, long maximumTime)
     {
-        Collision closestCollision = null;
-
-        for ( var wall : state.getWalls() )
-        {
-            var collision = wall.findCollision(ball);
-            closestCollision = Collision.getEarliestCollision(closestCollision, collision);
-        }
-
-        return closestCollision;
+        return state.findEarliestWallCollision(ball, maximumTime);
     }
 
     /**
      * LEGIT
      */
-    private Collision findPaddleCollision(BreakoutState state, Ball ball)
+    private Collision findPaddleCollision(BreakoutState state, Ball ball, long maximumTime)
     {
         var paddle = state.getPaddle();
 
-        return paddle.findCollision(ball);
+        return paddle.findCollision(ball, maximumTime);
     }
 
     /**
      * LEGIT
      */
-    private BrickCollision findClosestBrickCollision(BreakoutState state, Ball ball)
+    private BrickCollision findClosestBrickCollision(BreakoutState state, Ball ball, long maximumTime)
     {
         var brickGrid = state.getBrickGrid();
 
-        return brickGrid.findEarliestCollision(ball);
+        return brickGrid.findEarliestCollision(ball, maximumTime);
     }
 
     /**
@@ -113,8 +108,7 @@ public abstract class BallBehavior
     {
         // This implementation is LEGIT
         ball.move(collision.getMillisecondsUntilCollision());
-        var newVelocity = ball.getVelocity().kiloBounce(collision.getKiloNormal());
-        ball.setVelocity(newVelocity);
+        ball.kiloBounce(collision.getKiloNormal());
     }
 
     /**
@@ -125,8 +119,7 @@ public abstract class BallBehavior
     public void bounceOffPaddle(BreakoutState state, Ball ball, Collision collision)
     {
         ball.move(collision.getMillisecondsUntilCollision());
-        var newVelocity = ball.getVelocity().kiloBounce(collision.getKiloNormal());
-        ball.setVelocity(ball.getVelocity());
+        ball.kiloBounce(collision.getKiloNormal());
     }
 
     /**
@@ -143,8 +136,7 @@ public abstract class BallBehavior
         // This implementation is LEGIT
         ball.move(collision.getMillisecondsUntilCollision());
         collision.getBrick().hit(state, ball);
-        var newVelocity = ball.getVelocity().kiloBounce(collision.getKiloNormal());
-        ball.setVelocity(newVelocity);
+        ball.kiloBounce(collision.getKiloNormal());
     }
 
     /**
@@ -183,4 +175,27 @@ public abstract class BallBehavior
     {
         return Color.YELLOW;
     }
+
+    /**
+     * Returns whether this behavior can be shared between a game state and its copies instead of being copied,
+     * i.e., whether it has no mutable state and no links to objects that are copied.
+     * Behaviors for which this returns false must override {@link #createCopy(CopyContext)}.
+     */
+    public boolean isShareable()
+    {
+        return true;
+    }
+
+    /**
+     * Returns a behavior that behaves like this one, for use in a copy of the game state.
+     * Should only be called by {@link CopyContext#copyOf(BallBehavior)}, which makes sure every behavior is copied once.
+     *
+     * This default implementation returns this behavior itself, which is only correct for shareable behaviors.
+     *
+     * @pre | context != null
+     */
+    public BallBehavior createCopy(CopyContext context)
+    {
+        return this;
+    }
 }
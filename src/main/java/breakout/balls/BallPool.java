@@ -0,0 +1,430 @@
+package breakout.balls;
+
+import java.util.Arrays;
+
+import breakout.math.Circle;
+import breakout.math.Rectangle;
+import breakout.math.Vector;
+import breakout.paddles.PaddleContact;
+
+/**
+ * Stores the state of a number of balls in parallel arrays, one slot per ball ("struct of arrays").
+ *
+ * Positions and velocities are kept as primitive longs, so moving a ball or bouncing it off something
+ * overwrites array elements instead of allocating new Circle, Point and Vector objects.
+ * {@link Ball} objects are flyweight views on a slot: they hold no state of their own besides their pool and slot,
+ * and the immutable geometry and velocity they return are created on demand.
+ *
+ * Slots are kept contiguous: releasing a ball moves the last ball into its slot.
+ * A released ball is moved into a pool of its own, so that references to it remain valid.
+ * Every ball belongs to exactly one pool; a ball created with {@link Ball}'s public constructor starts out alone in its own pool.
+ * Only such a ball, on its own, can be adopted by another pool: a ball cannot be taken away from the pool that holds it,
+ * so the owner of a pool, e.g. a {@link breakout.BreakoutState}, decides which balls are in it.
+ *
+ * The pools of single balls that are emptied by adopting their ball are kept, a few at most,
+ * and reused for the balls released later, so that a game that keeps adopting and releasing balls,
+ * e.g. by restoring snapshots, does not allocate a pool per released ball.
+ *
+ * @invar | 0 <= size()
+ */
+public class BallPool
+{
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private static final int MAXIMUM_SPARE_POOL_COUNT = 16;
+
+    private long[] centerX;
+
+    private long[] centerY;
+
+    private long[] radius;
+
+    private long[] velocityX;
+
+    private long[] velocityY;
+
+    /**
+     * Behaviors can hold state of their own (e.g., the time left of a {@link TemporaryBehavior}),
+     * so the pool refers to them rather than storing a behavior type.
+     */
+    private BallBehavior[] behaviors;
+
+    private Rectangle[] allowedAreas;
+
+    /**
+     * Created on demand, see {@link Ball#getPaddleContact()}. A ball that moves to another pool starts without one.
+     */
+    private PaddleContact[] paddleContacts;
+
+    /**
+     * The view of every slot: balls[i].slot == i.
+     */
+    private Ball[] balls;
+
+    private int size;
+
+    /**
+     * Whether this pool was created to hold a single ball on its own, see {@link #createDetached()}.
+     */
+    private final boolean detached;
+
+    /**
+     * Empty detached pools, for releasing balls into; null until one is needed.
+     */
+    private BallPool[] sparePools;
+
+    private int sparePoolCount;
+
+    /**
+     * Creates an empty pool.
+     *
+     * @post | size() == 0
+     */
+    public BallPool()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty pool with room for the given number of balls before it needs to grow.
+     *
+     * @throws IllegalArgumentException | capacity <= 0
+     * @post | size() == 0
+     */
+    public BallPool(int capacity)
+    {
+        this(capacity, false);
+    }
+
+    private BallPool(int capacity, boolean detached)
+    {
+        if ( capacity <= 0 )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        this.centerX = new long[capacity];
+        this.centerY = new long[capacity];
+        this.radius = new long[capacity];
+        this.velocityX = new long[capacity];
+        this.velocityY = new long[capacity];
+        this.behaviors = new BallBehavior[capacity];
+        this.allowedAreas = new Rectangle[capacity];
+        this.paddleContacts = new PaddleContact[capacity];
+        this.balls = new Ball[capacity];
+        this.size = 0;
+        this.detached = detached;
+    }
+
+    /**
+     * Returns a new pool to hold a single ball on its own.
+     */
+    static BallPool createDetached()
+    {
+        return new BallPool(1, true);
+    }
+
+    /**
+     * Returns the number of balls in this pool.
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of emptied pools of single balls that this pool keeps for the balls it releases.
+     *
+     * @post | 0 <= result
+     */
+    public int getSparePoolCount()
+    {
+        return this.sparePoolCount;
+    }
+
+    /**
+     * Returns the ball in the given slot.
+     *
+     * @pre | 0 <= slot && slot < size()
+     * @post | contains(result)
+     */
+    public Ball get(int slot)
+    {
+        return this.balls[slot];
+    }
+
+    /**
+     * Checks whether the given ball is stored in this pool.
+     */
+    public boolean contains(Ball ball)
+    {
+        return ball != null && ball.pool == this;
+    }
+
+    /**
+     * Creates a new ball in this pool.
+     *
+     * @throws IllegalArgumentException | geometry == null || velocity == null
+     * @mutates | this
+     * @creates | result
+     * @post | size() == old(size()) + 1
+     * @post | contains(result)
+     * @post | result.getGeometry().equals(geometry)
+     * @post | result.getVelocity().equals(velocity)
+     * @post | result.getBehavior() == behavior
+     * @post | result.getAllowedArea() == allowedArea
+     */
+    public Ball add(Rectangle allowedArea, Circle geometry, Vector velocity, BallBehavior behavior)
+    {
+        if ( geometry == null || velocity == null )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        var ball = new Ball();
+        var center = geometry.getCenter();
+        append(ball, center.x(), center.y(), geometry.getRadius(), velocity.x(), velocity.y(), behavior, allowedArea);
+
+        return ball;
+    }
+
+    /**
+     * Moves the given ball, which must be on its own (created with {@link Ball}'s public constructor
+     * or released from a pool), into this pool. The ball keeps its state; only where that state is stored changes.
+     * Does nothing if the ball is already in this pool.
+     * Throws an IllegalArgumentException if the ball is in another pool that holds it, rather than on its own.
+     *
+     * @throws IllegalArgumentException | ball == null
+     * @mutates | this
+     * @post | contains(ball)
+     */
+    public void adopt(Ball ball)
+    {
+        if ( ball == null )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        var source = ball.pool;
+
+        if ( source == this )
+        {
+            return;
+        }
+
+        if ( !source.detached )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        take(ball);
+        keepSparePool(source);
+    }
+
+    /**
+     * Moves the given ball from the pool it is in, which is not this one, into this pool.
+     */
+    private void take(Ball ball)
+    {
+        var source = ball.pool;
+        var slot = ball.slot;
+        append(ball, source.centerX[slot], source.centerY[slot], source.radius[slot], source.velocityX[slot], source.velocityY[slot],
+                source.behaviors[slot], source.allowedAreas[slot]);
+        source.removeSlot(slot);
+    }
+
+    private void keepSparePool(BallPool pool)
+    {
+        if ( sparePools == null )
+        {
+            sparePools = new BallPool[MAXIMUM_SPARE_POOL_COUNT];
+        }
+
+        if ( sparePoolCount < sparePools.length )
+        {
+            sparePools[sparePoolCount++] = pool;
+        }
+    }
+
+    /**
+     * Removes the given ball from this pool. The ball keeps its state, which is moved into a pool of its own.
+     *
+     * @throws IllegalArgumentException | !contains(ball)
+     * @mutates | this
+     * @post | size() == old(size()) - 1
+     * @post | !contains(ball)
+     */
+    public void release(Ball ball)
+    {
+        if ( !contains(ball) )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        BallPool pool;
+
+        if ( sparePoolCount > 0 )
+        {
+            pool = sparePools[--sparePoolCount];
+            sparePools[sparePoolCount] = null;
+        }
+        else
+        {
+            pool = createDetached();
+        }
+
+        pool.take(ball);
+    }
+
+    /**
+     * Removes all balls from this pool, see {@link #release(Ball)}.
+     *
+     * @mutates | this
+     * @post | size() == 0
+     */
+    public void releaseAll()
+    {
+        while ( size > 0 )
+        {
+            release(balls[size - 1]);
+        }
+    }
+
+    /**
+     * Stores the given state in a new slot and points the given ball at it.
+     */
+    void append(Ball ball, long x, long y, long r, long vx, long vy, BallBehavior behavior, Rectangle allowedArea)
+    {
+        if ( size == balls.length )
+        {
+            grow();
+        }
+
+        centerX[size] = x;
+        centerY[size] = y;
+        radius[size] = r;
+        velocityX[size] = vx;
+        velocityY[size] = vy;
+        behaviors[size] = behavior;
+        allowedAreas[size] = allowedArea;
+        paddleContacts[size] = null;
+        balls[size] = ball;
+        ball.pool = this;
+        ball.slot = size;
+        size++;
+    }
+
+    private void grow()
+    {
+        var capacity = balls.length * 2;
+        centerX = Arrays.copyOf(centerX, capacity);
+        centerY = Arrays.copyOf(centerY, capacity);
+        radius = Arrays.copyOf(radius, capacity);
+        velocityX = Arrays.copyOf(velocityX, capacity);
+        velocityY = Arrays.copyOf(velocityY, capacity);
+        behaviors = Arrays.copyOf(behaviors, capacity);
+        allowedAreas = Arrays.copyOf(allowedAreas, capacity);
+        paddleContacts = Arrays.copyOf(paddleContacts, capacity);
+        balls = Arrays.copyOf(balls, capacity);
+    }
+
+    /**
+     * Fills the given slot with the last one. The ball in the given slot must already have been moved elsewhere.
+     */
+    private void removeSlot(int slot)
+    {
+        var last = size - 1;
+
+        if ( slot != last )
+        {
+            centerX[slot] = centerX[last];
+            centerY[slot] = centerY[last];
+            radius[slot] = radius[last];
+            velocityX[slot] = velocityX[last];
+            velocityY[slot] = velocityY[last];
+            behaviors[slot] = behaviors[last];
+            allowedAreas[slot] = allowedAreas[last];
+            paddleContacts[slot] = paddleContacts[last];
+            balls[slot] = balls[last];
+            balls[slot].slot = slot;
+        }
+
+        behaviors[last] = null;
+        allowedAreas[last] = null;
+        paddleContacts[last] = null;
+        balls[last] = null;
+        size = last;
+    }
+
+    long getCenterX(int slot)
+    {
+        return centerX[slot];
+    }
+
+    long getCenterY(int slot)
+    {
+        return centerY[slot];
+    }
+
+    long getRadius(int slot)
+    {
+        return radius[slot];
+    }
+
+    long getVelocityX(int slot)
+    {
+        return velocityX[slot];
+    }
+
+    long getVelocityY(int slot)
+    {
+        return velocityY[slot];
+    }
+
+    BallBehavior getBehavior(int slot)
+    {
+        return behaviors[slot];
+    }
+
+    Rectangle getAllowedArea(int slot)
+    {
+        return allowedAreas[slot];
+    }
+
+    PaddleContact getPaddleContact(int slot)
+    {
+        var contact = paddleContacts[slot];
+
+        if ( contact == null )
+        {
+            contact = new PaddleContact();
+            paddleContacts[slot] = contact;
+        }
+
+        return contact;
+    }
+
+    void setGeometry(int slot, long x, long y, long r)
+    {
+        centerX[slot] = x;
+        centerY[slot] = y;
+        radius[slot] = r;
+    }
+
+    void setVelocity(int slot, long vx, long vy)
+    {
+        velocityX[slot] = vx;
+        velocityY[slot] = vy;
+    }
+
+    void setBehavior(int slot, BallBehavior behavior)
+    {
+        behaviors[slot] = behavior;
+    }
+
+    void move(int slot, long elapsedMilliseconds)
+    {
+        centerX[slot] += velocityX[slot] * elapsedMilliseconds;
+        centerY[slot] += velocityY[slot] * elapsedMilliseconds;
+    }
+}
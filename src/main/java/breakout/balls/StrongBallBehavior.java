@@ -4,6 +4,7 @@ import java.awt.Color;
 
 import breakout.BreakoutState;
 import breakout.BrickCollision;
+import breakout.CopyContext;
 
 /**
  * A strong ball will use the Brick's strongHit method instead of just hit.
@@ -32,6 +33,23 @@ public class StrongBallBehavior extends TemporaryBehavior
         super(DURATION);
     }
 
+    /**
+     * Used by {@link #createCopy(CopyContext)}.
+     */
+    private StrongBallBehavior(int timeLeft)
+    {
+        super(timeLeft);
+    }
+
+    /**
+     * Returns a strong ball behavior with the same time left.
+     */
+    @Override
+    public StrongBallBehavior createCopy(CopyContext context)
+    {
+        return new StrongBallBehavior(getTimeLeft());
+    }
+
     /**
      * Moves this ball to the point of impact.
      * Calls {@link breakout.bricks.Brick#strongHit}, and only if the brick survives, updates the velocity. 
@@ -17,6 +17,7 @@ public abstract class TemporaryBehavior extends BallBehavior
 
     public TemporaryBehavior(int duration)
     {
+        this.timeLeft = duration;
     }
 
     public int getTimeLeft()
@@ -24,6 +25,15 @@ public abstract class TemporaryBehavior extends BallBehavior
         return this.timeLeft;
     }
 
+    /**
+     * A temporary behavior's time left decreases as the game is played.
+     */
+    @Override
+    public boolean isShareable()
+    {
+        return false;
+    }
+
     /**
      * LEGIT
      * 
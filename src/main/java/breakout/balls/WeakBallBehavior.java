@@ -4,6 +4,7 @@ import java.awt.Color;
 
 import breakout.BreakoutState;
 import breakout.BrickCollision;
+import breakout.CopyContext;
 
 /**
  * A weak ball does not call a Brick's hit method.
@@ -29,6 +30,23 @@ public class WeakBallBehavior extends TemporaryBehavior
         super(DURATION);
     }
 
+    /**
+     * Used by {@link #createCopy(CopyContext)}.
+     */
+    private WeakBallBehavior(int timeLeft)
+    {
+        super(timeLeft);
+    }
+
+    /**
+     * Returns a weak ball behavior with the same time left.
+     */
+    @Override
+    public WeakBallBehavior createCopy(CopyContext context)
+    {
+        return new WeakBallBehavior(getTimeLeft());
+    }
+
     /**
      * Moves ball to point of impact.
      * Does not call brick's hit method.
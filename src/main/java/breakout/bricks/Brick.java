@@ -3,6 +3,7 @@ package breakout.bricks;
 import java.awt.Color;
 
 import breakout.BreakoutState;
+import breakout.CopyContext;
 import breakout.balls.Ball;
 import breakout.math.Point;
 import breakout.math.Rectangle;
@@ -92,4 +93,28 @@ public abstract class Brick
 
         return false;
     }
+
+    /**
+     * Returns whether this brick can be shared between a game state and its copies instead of being copied,
+     * i.e., whether it has no mutable state and no links to objects that are copied.
+     * The rectangle returned by {@link #getGeometry()} is then shared as well; the game never changes it.
+     * Bricks for which this returns false must override {@link #createCopy(CopyContext)}.
+     */
+    public boolean isShareable()
+    {
+        return true;
+    }
+
+    /**
+     * Returns a brick that behaves like this one, for use in a copy of the game state.
+     * Should only be called by {@link CopyContext#copyOf(Brick)}, which makes sure every brick is copied once.
+     *
+     * This default implementation returns this brick itself, which is only correct for shareable bricks.
+     *
+     * @pre | context != null
+     */
+    public Brick createCopy(CopyContext context)
+    {
+        return this;
+    }
 }
@@ -34,6 +34,7 @@ public class GrowPaddleBrick extends PaddleModifierBrick
     @Override
     public void modifyPaddle(Paddle paddle)
     {
+        paddle.grow();
     }
 
     @Override
@@ -34,6 +34,7 @@ public class ShrinkPaddleBrick extends PaddleModifierBrick
     @Override
     public void modifyPaddle(Paddle paddle)
     {
+        paddle.shrink();
     }
 
     /**
@@ -34,6 +34,7 @@ public class SlowDownBrick extends BallModifierBrick
     @Override
     public void modifyBall(Ball ball)
     {
+        ball.slowDown();
     }
 
     @Override
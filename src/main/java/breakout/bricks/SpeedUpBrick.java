@@ -34,6 +34,7 @@ public class SpeedUpBrick extends BallModifierBrick
     @Override
     public void modifyBall(Ball ball)
     {
+        ball.speedUp();
     }
 
     @Override
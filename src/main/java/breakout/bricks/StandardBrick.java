@@ -33,5 +33,6 @@ public class StandardBrick extends Brick
     @Override
     public void hit(BreakoutState state, Ball ball)
     {
+        state.getBrickGrid().removeBrick(this);
     }
 }
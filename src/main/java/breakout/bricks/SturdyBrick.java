@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.List;
 
 import breakout.BreakoutState;
+import breakout.CopyContext;
 import breakout.balls.Ball;
 import breakout.math.Point;
 import breakout.math.Rectangle;
@@ -25,6 +26,7 @@ public class SturdyBrick extends LabeledBrick
     public SturdyBrick(Rectangle geometry, Point gridPosition, int lives)
     {
         super(geometry, gridPosition);
+        this.livesLeft = lives;
     }
 
     public int getLivesLeft()
@@ -32,6 +34,24 @@ public class SturdyBrick extends LabeledBrick
         return livesLeft;
     }
 
+    /**
+     * A sturdy brick's number of lives changes when it is hit.
+     */
+    @Override
+    public boolean isShareable()
+    {
+        return false;
+    }
+
+    /**
+     * Returns a sturdy brick with the same geometry and the same number of lives left.
+     */
+    @Override
+    public SturdyBrick createCopy(CopyContext context)
+    {
+        return new SturdyBrick(context.copyOf(getGeometry()), getGridPosition(), livesLeft);
+    }
+
     @Override
     public Color getColor()
     {
@@ -52,6 +72,11 @@ public class SturdyBrick extends LabeledBrick
         {
             state.getBrickGrid().removeBrick(this);
         }
+        else
+        {
+            // Its color and label depend on its lives
+            state.getBrickGrid().brickChanged(this);
+        }
     }
 
     /**
@@ -3,6 +3,7 @@ package breakout.bricks.lock;
 import java.awt.Color;
 
 import breakout.BreakoutState;
+import breakout.CopyContext;
 import breakout.BrickCollision;
 import breakout.Collision;
 import breakout.balls.Ball;
@@ -28,6 +29,37 @@ public class KeyBallBehavior extends BallBehavior
         this.speedModifier = 0;
     }
 
+    /**
+     * Used by {@link #createCopy(CopyContext)}; the locked brick is filled in afterwards.
+     */
+    private KeyBallBehavior(int speedModifier)
+    {
+        this.speedModifier = speedModifier;
+    }
+
+    /**
+     * A key ball behavior is linked to a locked brick, which is copied.
+     */
+    @Override
+    public boolean isShareable()
+    {
+        return false;
+    }
+
+    /**
+     * Returns a key ball behavior with the same speed modifier, linked to the copy of this behavior's locked brick.
+     * The copy is registered before the locked brick is copied, so that its link back to it is preserved.
+     */
+    @Override
+    public KeyBallBehavior createCopy(CopyContext context)
+    {
+        var copy = new KeyBallBehavior(speedModifier);
+        context.register(this, copy);
+        copy.lockedBrick = (LockedBrick) context.copyOf(lockedBrick);
+
+        return copy;
+    }
+
    
     @Override
     public void bounceOffBrick(BreakoutState state, Ball ball, BrickCollision collision)
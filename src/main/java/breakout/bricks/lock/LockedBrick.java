@@ -4,6 +4,7 @@ import java.awt.Color;
 import java.util.ArrayList;
 
 import breakout.BreakoutState;
+import breakout.CopyContext;
 import breakout.balls.Ball;
 import breakout.balls.StandardBehavior;
 import breakout.bricks.Brick;
@@ -35,7 +36,7 @@ public class LockedBrick extends Brick
     public LockedBrick(Rectangle geometry, Point gridPosition)
     {
         super(geometry, gridPosition);
-        this.masterBricks = null;
+        this.masterBricks = new ArrayList<MasterBrick>();
     }
 
     @Override
@@ -77,6 +78,35 @@ public class LockedBrick extends Brick
     public KeyBallBehavior getKeyBallBehavior() {
     	return keyBallBehavior;
     }
+
+    /**
+     * A locked brick is linked to master bricks and a key ball behavior, which are copied.
+     */
+    @Override
+    public boolean isShareable()
+    {
+        return false;
+    }
+
+    /**
+     * Returns a locked brick linked to the copies of this brick's master bricks and key ball behavior.
+     * The copy is registered before its peers are copied, so that their links back to it are preserved.
+     */
+    @Override
+    public LockedBrick createCopy(CopyContext context)
+    {
+        var copy = new LockedBrick(context.copyOf(getGeometry()), getGridPosition());
+        context.register(this, copy);
+
+        for ( var masterBrick : masterBricks )
+        {
+            copy.masterBricks.add((MasterBrick) context.copyOf(masterBrick));
+        }
+
+        copy.keyBallBehavior = (KeyBallBehavior) context.copyOf(keyBallBehavior);
+
+        return copy;
+    }
     
     /**
      * LEGIT
@@ -4,6 +4,7 @@ import java.awt.Color;
 import java.util.ArrayList;
 
 import breakout.BreakoutState;
+import breakout.CopyContext;
 import breakout.balls.Ball;
 import breakout.bricks.Brick;
 import breakout.math.Point;
@@ -31,7 +32,12 @@ public class MasterBrick extends Brick
     public MasterBrick(Rectangle geometry, Point gridPosition, ArrayList<LockedBrick> lockedBricks)
     {
         super(geometry, gridPosition);
-        this.lockedBricks = null;
+        this.lockedBricks = new ArrayList<LockedBrick>(lockedBricks);
+
+        for ( var lockedBrick : lockedBricks )
+        {
+            lockedBrick.masterBricks.add(this);
+        }
     }
 
     /**
@@ -82,6 +88,33 @@ public class MasterBrick extends Brick
     public ArrayList<LockedBrick> getLockedBricks() {
     	return lockedBricks;
     }
+
+    /**
+     * A master brick is linked to locked bricks, which are copied.
+     */
+    @Override
+    public boolean isShareable()
+    {
+        return false;
+    }
+
+    /**
+     * Returns a master brick linked to the copies of this brick's locked bricks.
+     * The copy is registered before the locked bricks are copied, so that their links back to it are preserved.
+     */
+    @Override
+    public MasterBrick createCopy(CopyContext context)
+    {
+        var copy = new MasterBrick(context.copyOf(getGeometry()), getGridPosition(), new ArrayList<LockedBrick>());
+        context.register(this, copy);
+
+        for ( var lockedBrick : lockedBricks )
+        {
+            copy.lockedBricks.add((LockedBrick) context.copyOf(lockedBrick));
+        }
+
+        return copy;
+    }
     
     
     public void linkLock(LockedBrick lbrick) {
@@ -0,0 +1,243 @@
+package breakout.math;
+
+/**
+ * Continuous ("swept") collision detection between a moving circle and axis-aligned rectangles.
+ *
+ * A circle moving in a straight line first touches a rectangle either on one of its faces or on one of its corners.
+ * Equivalently, the circle's center first enters the rectangle grown by the radius, whose sides are the faces
+ * moved outwards and whose corners are rounded off by circles around the rectangle's corners.
+ * Both kinds of contact are computed exactly in integer arithmetic, so unlike tracing a single point of the circle,
+ * no corner is missed however fast the circle moves.
+ *
+ * Times of impact are kept "precise", i.e., multiplied by 1000 and rounded down, so that several candidates
+ * can be compared more accurately than to the millisecond. They are never later than the actual time of impact.
+ *
+ * A CircleSweep holds the earliest hit among the rectangles it was offered since it was last cleared,
+ * so that a single object can be reused for every query, just like a {@code MutableCollision}.
+ * Queries do not allocate; only {@link #getKiloNormal()} does, for hits on a corner.
+ */
+public class CircleSweep
+{
+    private boolean hit;
+
+    private long preciseTime;
+
+    /**
+     * The normal of the face that was hit, or null if a corner was hit.
+     */
+    private Vector faceNormal;
+
+    /**
+     * For a corner hit, the vector from the corner to the circle's center at the time of impact, multiplied by 1000.
+     */
+    private long cornerOffsetX;
+
+    private long cornerOffsetY;
+
+    /**
+     * @post | !isHit()
+     */
+    public CircleSweep()
+    {
+        clear();
+    }
+
+    /**
+     * Forgets the hit currently held.
+     *
+     * @post | !isHit()
+     */
+    public void clear()
+    {
+        this.hit = false;
+        this.preciseTime = Long.MAX_VALUE;
+        this.faceNormal = null;
+        this.cornerOffsetX = 0;
+        this.cornerOffsetY = 0;
+    }
+
+    public boolean isHit()
+    {
+        return this.hit;
+    }
+
+    /**
+     * Returns the time of impact in milliseconds multiplied by 1000, rounded down.
+     */
+    public long getPreciseTime()
+    {
+        return this.preciseTime;
+    }
+
+    /**
+     * Returns the time of impact in milliseconds, rounded down.
+     */
+    public long getMillisecondsUntilCollision()
+    {
+        return this.preciseTime / 1000;
+    }
+
+    /**
+     * Returns whether the hit held is on a corner rather than on a face.
+     *
+     * @pre | isHit()
+     */
+    public boolean isCornerHit()
+    {
+        return this.faceNormal == null;
+    }
+
+    /**
+     * Returns the normal on the rectangle at the point of impact, pointing towards the circle.
+     * For a face, this is one of {@link Vector#KILO_LEFT}, {@link Vector#KILO_RIGHT}, {@link Vector#KILO_UP} and {@link Vector#KILO_DOWN}.
+     * For a corner, this is the direction from the corner to the circle's center.
+     *
+     * @pre | isHit()
+     * @post | result.isKiloUnitVector()
+     */
+    public Vector getKiloNormal()
+    {
+        if ( this.faceNormal != null )
+        {
+            return this.faceNormal;
+        }
+
+        return new MutableVector(cornerOffsetX, cornerOffsetY).rescale(1000).toVector();
+    }
+
+    /**
+     * Computes when a circle with the given center and radius, moving at the given velocity, first touches
+     * the rectangle [left, right] x [top, bottom], and keeps that hit if it happens within {@code maximumTime}
+     * milliseconds and strictly earlier than the hit currently held. Returns whether the hit was kept.
+     * A circle that already overlaps the rectangle, that moves away from it or that merely grazes one of its corners does not hit it.
+     *
+     * @pre | radius >= 0
+     * @pre | left <= right && top <= bottom
+     * @pre | maximumTime >= 0
+     * @mutates | this
+     * @post | !result || getMillisecondsUntilCollision() <= maximumTime
+     */
+    public boolean sweep(long centerX, long centerY, long radius, long velocityX, long velocityY, long left, long top, long right, long bottom, long maximumTime)
+    {
+        var kept = false;
+
+        // Faces come first, so that they win ties with the corners at their ends
+        if ( velocityX > 0 && centerX + radius <= left )
+        {
+            kept |= offerFace(left - radius - centerX, velocityX, centerY, velocityY, top, bottom, Vector.KILO_LEFT, maximumTime);
+        }
+        else if ( velocityX < 0 && centerX - radius >= right )
+        {
+            kept |= offerFace(centerX - radius - right, -velocityX, centerY, velocityY, top, bottom, Vector.KILO_RIGHT, maximumTime);
+        }
+
+        if ( velocityY > 0 && centerY + radius <= top )
+        {
+            kept |= offerFace(top - radius - centerY, velocityY, centerX, velocityX, left, right, Vector.KILO_UP, maximumTime);
+        }
+        else if ( velocityY < 0 && centerY - radius >= bottom )
+        {
+            kept |= offerFace(centerY - radius - bottom, -velocityY, centerX, velocityX, left, right, Vector.KILO_DOWN, maximumTime);
+        }
+
+        // Corners the circle moves away from are rejected before any root is computed
+        kept |= offerCorner(centerX - left, centerY - top, radius, velocityX, velocityY, maximumTime);
+        kept |= offerCorner(centerX - right, centerY - top, radius, velocityX, velocityY, maximumTime);
+        kept |= offerCorner(centerX - left, centerY - bottom, radius, velocityX, velocityY, maximumTime);
+        kept |= offerCorner(centerX - right, centerY - bottom, radius, velocityX, velocityY, maximumTime);
+
+        return kept;
+    }
+
+    /**
+     * Offers the hit of a face that the circle reaches after travelling {@code distance} at {@code speed} towards it,
+     * provided that the circle's center is then between {@code lower} and {@code upper} along the face.
+     */
+    private boolean offerFace(long distance, long speed, long position, long velocity, long lower, long upper, Vector normal, long maximumTime)
+    {
+        // Exact test of lower <= position + velocity * distance / speed <= upper
+        var scaledPosition = position * speed + velocity * distance;
+
+        if ( scaledPosition < lower * speed || scaledPosition > upper * speed )
+        {
+            return false;
+        }
+
+        if ( !offer(distance * 1000 / speed, maximumTime) )
+        {
+            return false;
+        }
+
+        this.faceNormal = normal;
+
+        return true;
+    }
+
+    /**
+     * Offers the hit of a corner, given the position of the circle's center relative to it.
+     * The time of impact is the smallest root of |offset + velocity * t|^2 = radius^2.
+     */
+    private boolean offerCorner(long offsetX, long offsetY, long radius, long velocityX, long velocityY, long maximumTime)
+    {
+        var a = velocityX * velocityX + velocityY * velocityY;
+        var b = offsetX * velocityX + offsetY * velocityY;
+        var c = offsetX * offsetX + offsetY * offsetY - radius * radius;
+
+        if ( b >= 0 || c < 0 )
+        {
+            // Moving away from the corner, or already overlapping it
+            return false;
+        }
+
+        // At the time of impact, the circle approaches the corner at sqrt(discriminant) / radius along the normal.
+        // Grazes slower than 2 per millisecond are ignored: bouncing would change the velocity by no more than
+        // the rounding of kiloBounce, and could leave the circle heading into the same corner without moving on
+        var discriminant = b * b - a * c;
+
+        if ( discriminant < 4 * radius * radius || discriminant == 0 )
+        {
+            return false;
+        }
+
+        // Round the root up, so that the time of impact is rounded down
+        var root = IntegerMath.isqrt(discriminant);
+
+        if ( root * root < discriminant )
+        {
+            root++;
+        }
+
+        var preciseTime = (-b - root) * 1000 / a;
+
+        if ( !offer(preciseTime, maximumTime) )
+        {
+            return false;
+        }
+
+        this.faceNormal = null;
+        this.cornerOffsetX = offsetX * 1000 + velocityX * preciseTime;
+        this.cornerOffsetY = offsetY * 1000 + velocityY * preciseTime;
+
+        if ( this.cornerOffsetX == 0 && this.cornerOffsetY == 0 )
+        {
+            // A circle without radius hitting the corner dead on bounces straight back
+            this.cornerOffsetX = -velocityX;
+            this.cornerOffsetY = -velocityY;
+        }
+
+        return true;
+    }
+
+    private boolean offer(long preciseTime, long maximumTime)
+    {
+        if ( preciseTime / 1000 > maximumTime || (this.hit && this.preciseTime <= preciseTime) )
+        {
+            return false;
+        }
+
+        this.hit = true;
+        this.preciseTime = preciseTime;
+
+        return true;
+    }
+}
@@ -33,4 +33,46 @@ public class CoordinateMapper
 
         return new Point(x, y);
     }
+
+    /**
+     * Maps an x-coordinate, like {@link #map(Point)} does, without creating any points.
+     */
+    public long mapX(long x)
+    {
+        return xCoordinateMapper.map(x);
+    }
+
+    /**
+     * Maps a y-coordinate, like {@link #map(Point)} does, without creating any points.
+     */
+    public long mapY(long y)
+    {
+        return yCoordinateMapper.map(y);
+    }
+
+    /**
+     * Maps every x-coordinate in xs into the element of result at the same index, see {@link IntervalMapper#map(long[], int[])}.
+     *
+     * @pre | xs != null
+     * @pre | result != null
+     * @pre | result.length >= xs.length
+     * @mutates | result
+     */
+    public void mapX(long[] xs, int[] result)
+    {
+        xCoordinateMapper.map(xs, result);
+    }
+
+    /**
+     * Maps every y-coordinate in ys into the element of result at the same index, see {@link IntervalMapper#map(long[], int[])}.
+     *
+     * @pre | ys != null
+     * @pre | result != null
+     * @pre | result.length >= ys.length
+     * @mutates | result
+     */
+    public void mapY(long[] ys, int[] result)
+    {
+        yCoordinateMapper.map(ys, result);
+    }
 }
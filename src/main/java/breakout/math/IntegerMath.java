@@ -0,0 +1,60 @@
+package breakout.math;
+
+/**
+ * Integer arithmetic helpers for the math classes.
+ */
+public class IntegerMath
+{
+    /**
+     * The largest long whose square fits in a long.
+     */
+    private static final long MAXIMUM_ROOT = 3037000499L;
+
+    /**
+     * Below this value, every long converts to double exactly and the correctly rounded square root
+     * never rounds up to the next integer, so {@code (long) Math.sqrt(n)} is the exact integer square root.
+     */
+    private static final long EXACT_LIMIT = 1L << 52;
+
+    private IntegerMath()
+    {
+        // NOP
+    }
+
+    /**
+     * Returns the integer square root of n, i.e., the largest root such that root * root <= n.
+     * Returns 0 for negative n, like {@code (long) Math.sqrt(n)} does.
+     *
+     * The root is computed with the hardware square root. For n below 2^52 its result is already exact,
+     * so the result equals {@code (long) Math.sqrt(n)}; for larger n the conversion to double can make
+     * it one too large or too small, so it is corrected with integer arithmetic.
+     *
+     * @post | n <= 0 ? result == 0 : result <= n / result && n / (result + 1) < result + 1
+     */
+    public static long isqrt(long n)
+    {
+        var root = (long) Math.sqrt(n);
+
+        // Negative n end up here as well: Math.sqrt returns NaN, which converts to 0
+        return n < EXACT_LIMIT ? root : correctRoot(n, root);
+    }
+
+    /**
+     * Corrects an estimate of the integer square root of n that is at most one off.
+     */
+    private static long correctRoot(long n, long root)
+    {
+        if ( root * root > n )
+        {
+            return root - 1;
+        }
+        else if ( root < MAXIMUM_ROOT && (root + 1) * (root + 1) <= n )
+        {
+            return root + 1;
+        }
+        else
+        {
+            return root;
+        }
+    }
+}
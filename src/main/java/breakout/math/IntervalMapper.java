@@ -2,9 +2,26 @@ package breakout.math;
 
 /**
  * LEGIT
+ *
+ * Maps by multiplying with a scale that is computed once, in 32.32 fixed point: the ratio of the target interval's width
+ * to the source interval's. This is faster than going through
+ * {@link Interval#toRelative(long)} and {@link Interval#fromRelative(long)}, and more precise, as it does not round
+ * positions to a thousandth of the source interval first. Results are rounded down, also left of the source interval.
+ * The scale is rounded up for positions right of the source interval's lower bound and down for positions left of it,
+ * so that a position that maps exactly onto a target position stays there. Results are exact as long as
+ * the distance to the source interval's lower bound, times the source interval's width, is below 2^32;
+ * beyond that, a position just before a pixel boundary can end up on the pixel after it.
+ *
+ * Intervals too wide for a 32.32 scale (a target wider than 2^31 - 1, or a source wider than {@link Long#MAX_VALUE})
+ * and empty source intervals are mapped through {@link Interval} instead.
  */
 public class IntervalMapper
 {
+    /**
+     * The number of fractional bits of the scales.
+     */
+    private static final int FRACTION_BITS = 32;
+
     /**
      * @invar | sourceInterval != null
      */
@@ -15,6 +32,25 @@ public class IntervalMapper
      */
     private final Interval targetInterval;
 
+    /**
+     * Whether the scales are used; if not, mapping goes through the intervals.
+     */
+    private final boolean fixedPoint;
+
+    /**
+     * The target width per unit of source width, in 32.32 fixed point, rounded up.
+     */
+    private final long upperScale;
+
+    /**
+     * The target width per unit of source width, in 32.32 fixed point, rounded down.
+     */
+    private final long lowerScale;
+
+    private final long sourceLowerBound;
+
+    private final long targetLowerBound;
+
     /**
      * @post | getSourceInterval() == sourceInterval
      * @post | getTargetInterval() == targetInterval
@@ -38,6 +74,16 @@ public class IntervalMapper
 
         this.sourceInterval = sourceInterval;
         this.targetInterval = targetInterval;
+        this.sourceLowerBound = sourceInterval.getLowerBound();
+        this.targetLowerBound = targetInterval.getLowerBound();
+
+        var sourceWidth = sourceInterval.getWidth();
+        var targetWidth = targetInterval.getWidth();
+
+        // Widths that overflowed are negative
+        this.fixedPoint = sourceWidth > 0 && 0 <= targetWidth && targetWidth <= Integer.MAX_VALUE;
+        this.upperScale = fixedPoint ? Math.ceilDiv(targetWidth << FRACTION_BITS, sourceWidth) : 0;
+        this.lowerScale = fixedPoint ? Math.floorDiv(targetWidth << FRACTION_BITS, sourceWidth) : 0;
     }
     
     /**
@@ -61,6 +107,50 @@ public class IntervalMapper
      */
     public long map(long x)
     {
-        return this.targetInterval.fromRelative(sourceInterval.toRelative(x));
+        if ( !fixedPoint )
+        {
+            return this.targetInterval.fromRelative(sourceInterval.toRelative(x));
+        }
+
+        return targetLowerBound + scale(x - sourceLowerBound);
+    }
+
+    /**
+     * Maps every element of xs, like {@link #map(long)} does, into the element of result at the same index.
+     * Meant for mapping many positions to pixels at once, such as the edges of the columns of a brick grid.
+     *
+     * @pre | xs != null
+     * @pre | result != null
+     * @pre | result.length >= xs.length
+     * @mutates | result
+     */
+    public void map(long[] xs, int[] result)
+    {
+        if ( !fixedPoint )
+        {
+            for ( var i = 0; i != xs.length; ++i )
+            {
+                result[i] = (int) this.targetInterval.fromRelative(sourceInterval.toRelative(xs[i]));
+            }
+
+            return;
+        }
+
+        for ( var i = 0; i != xs.length; ++i )
+        {
+            result[i] = (int) (targetLowerBound + scale(xs[i] - sourceLowerBound));
+        }
+    }
+
+    /**
+     * Returns the given distance times the scale, rounded down, using the full 128-bit product.
+     */
+    private long scale(long distance)
+    {
+        var scale = distance >= 0 ? upperScale : lowerScale;
+        var high = Math.multiplyHigh(distance, scale);
+        var low = distance * scale;
+
+        return (high << (64 - FRACTION_BITS)) | (low >>> FRACTION_BITS);
     }
 }
@@ -0,0 +1,178 @@
+package breakout.math;
+
+/**
+ * A 2-dimensional integer vector that is modified in place.
+ *
+ * Every operation of {@link Vector} creates a new vector, so a computation that chains several of them
+ * (e.g., {@link Vector#rescale(long)} or {@link Vector#kiloBounce(Vector)}) allocates its intermediate results.
+ * A MutableVector serves as scratch space for such computations in the physics code: the operations below
+ * compute exactly the same coordinates as their namesakes in Vector, but overwrite this vector and return it.
+ * MutableVectors are never handed out through the public API; convert them with {@link #toVector()} instead.
+ */
+public class MutableVector
+{
+    private long x;
+
+    private long y;
+
+    /**
+     * @post | x() == 0
+     * @post | y() == 0
+     */
+    public MutableVector()
+    {
+        this(0, 0);
+    }
+
+    /**
+     * @post | x() == x
+     * @post | y() == y
+     */
+    public MutableVector(long x, long y)
+    {
+        this.x = x;
+        this.y = y;
+    }
+
+    public long x()
+    {
+        return this.x;
+    }
+
+    public long y()
+    {
+        return this.y;
+    }
+
+    /**
+     * @mutates | this
+     * @post | x() == x
+     * @post | y() == y
+     * @post | result == this
+     */
+    public MutableVector set(long x, long y)
+    {
+        this.x = x;
+        this.y = y;
+
+        return this;
+    }
+
+    /**
+     * @pre | vector != null
+     * @mutates | this
+     * @post | x() == vector.x()
+     * @post | y() == vector.y()
+     * @post | result == this
+     */
+    public MutableVector set(Vector vector)
+    {
+        return set(vector.x(), vector.y());
+    }
+
+    /**
+     * @mutates | this
+     * @post | x() == old(x()) + dx
+     * @post | y() == old(y()) + dy
+     * @post | result == this
+     */
+    public MutableVector add(long dx, long dy)
+    {
+        return set(x + dx, y + dy);
+    }
+
+    /**
+     * @mutates | this
+     * @post | x() == old(x()) * factor
+     * @post | y() == old(y()) * factor
+     * @post | result == this
+     */
+    public MutableVector multiply(long factor)
+    {
+        return set(x * factor, y * factor);
+    }
+
+    /**
+     * @pre | d != 0
+     * @mutates | this
+     * @post | x() == old(x()) / d
+     * @post | y() == old(y()) / d
+     * @post | result == this
+     */
+    public MutableVector divide(long d)
+    {
+        return set(x / d, y / d);
+    }
+
+    /**
+     * @post | result == x() * otherX + y() * otherY
+     */
+    public long dotProduct(long otherX, long otherY)
+    {
+        return otherX * x + otherY * y;
+    }
+
+    /**
+     * @post | result == dotProduct(x(), y())
+     */
+    public long getSquaredLength()
+    {
+        return dotProduct(x, y);
+    }
+
+    /**
+     * Returns the length of this vector, rounded down, see {@link Vector#getLength()}.
+     *
+     * @post | result == toVector().getLength()
+     */
+    public long getLength()
+    {
+        return IntegerMath.isqrt(getSquaredLength());
+    }
+
+    /**
+     * Rescales this vector, see {@link Vector#rescale(long)}.
+     *
+     * @mutates | this
+     * @post | toVector().equals(old(toVector()).rescale(newLength))
+     * @post | result == this
+     */
+    public MutableVector rescale(long newLength)
+    {
+        var length = getLength();
+
+        return multiply(newLength).divide(length);
+    }
+
+    /**
+     * Reflects this vector off a surface with the given normal, see {@link Vector#kiloBounce(Vector)}.
+     *
+     * @pre | kiloNormal != null
+     * @pre | kiloNormal.isKiloUnitVector()
+     * @mutates | this
+     * @post | toVector().equals(old(toVector()).kiloBounce(kiloNormal))
+     * @post | result == this
+     */
+    public MutableVector kiloBounce(Vector kiloNormal)
+    {
+        return set(Vector.kiloBounceX(x, y, kiloNormal.x(), kiloNormal.y()), Vector.kiloBounceY(x, y, kiloNormal.x(), kiloNormal.y()));
+    }
+
+    /**
+     * Returns an immutable vector with the same coordinates as this one.
+     *
+     * @creates | result
+     * @post | result.x() == x()
+     * @post | result.y() == y()
+     */
+    public Vector toVector()
+    {
+        return new Vector(x, y);
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("(%d, %d)", x, y);
+    }
+}
@@ -24,7 +24,7 @@ public class Rectangle
      */
     public Rectangle(Point topLeft, Point bottomRight)
     {
-
+        this(topLeft.x(), topLeft.y(), bottomRight.x() - topLeft.x(), bottomRight.y() - topLeft.y());
     }
 
     /**
@@ -33,7 +33,15 @@ public class Rectangle
      */
     public Rectangle(long left, long top, long width, long height)
     {
+        if ( width < 0 || height < 0 )
+        {
+            throw new IllegalArgumentException();
+        }
 
+        this.left = left;
+        this.top = top;
+        this.width = width;
+        this.height = height;
     }
 
     /**
@@ -41,7 +49,7 @@ public class Rectangle
      */
     public long getLeft()
     {
-        return 0;
+        return this.left;
     }
 
     /**
@@ -51,7 +59,7 @@ public class Rectangle
      */
     public long getTop()
     {
-        return 0;
+        return this.top;
     }
 
     /**
@@ -59,7 +67,7 @@ public class Rectangle
      */
     public long getWidth()
     {
-        return 0;
+        return this.width;
     }
 
     /**
@@ -67,7 +75,7 @@ public class Rectangle
      */
     public long getHeight()
     {
-        return 0;
+        return this.height;
     }
 
     /**
@@ -93,7 +101,7 @@ public class Rectangle
      */
     public void setLeft(long left)
     {
-
+        this.left = left;
     }
 
     /**
@@ -103,7 +111,7 @@ public class Rectangle
      */
     public void setTop(long top)
     {
-
+        this.top = top;
     }
 
     /**
@@ -112,7 +120,12 @@ public class Rectangle
      */
     public void setWidth(long width)
     {
+        if ( width < 0 )
+        {
+            throw new IllegalArgumentException();
+        }
 
+        this.width = width;
     }
 
     /**
@@ -121,7 +134,12 @@ public class Rectangle
      */
     public void setHeight(long height)
     {
+        if ( height < 0 )
+        {
+            throw new IllegalArgumentException();
+        }
 
+        this.height = height;
     }
 
     /** 
@@ -129,7 +147,7 @@ public class Rectangle
      */
     public Point getTopLeft()
     {
-        return null;
+        return new Point(left, top);
     }
 
     /**
@@ -137,7 +155,7 @@ public class Rectangle
      */
     public Point getBottomRight()
     {
-        return null;
+        return new Point(getRight(), getBottom());
     }
 
     /**
@@ -145,7 +163,7 @@ public class Rectangle
      */
     public boolean contains(Point point)
     {
-        return false;
+        return left <= point.x() && point.x() <= getRight() && top <= point.y() && point.y() <= getBottom();
     }
 
     /**
@@ -163,7 +181,7 @@ public class Rectangle
      */
     public boolean contains(Rectangle other)
     {
-        return false;
+        return left <= other.left && other.getRight() <= getRight() && top <= other.top && other.getBottom() <= getBottom();
     }
 
     /**
@@ -193,7 +211,7 @@ public class Rectangle
      */
     public Rectangle copy()
     {
-        return null;
+        return new Rectangle(left, top, width, height);
     }
 
     /**
@@ -202,7 +220,7 @@ public class Rectangle
      */
     public Rectangle growHeight(long extraHeight)
     {
-        return null;
+        return new Rectangle(left, top, width, height + extraHeight);
     }
 
     /**
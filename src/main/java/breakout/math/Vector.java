@@ -161,11 +161,11 @@ public class Vector
     }
 
     /**
-     * Returns the (approximate, due to rounding) length of this vector.
+     * Returns the length of this vector, rounded down (see {@link IntegerMath#isqrt(long)}).
      */
     public long getLength()
     {
-        return (long) Math.sqrt(getSquaredLength());
+        return IntegerMath.isqrt(getSquaredLength());
     }
     
     /**
@@ -183,7 +183,29 @@ public class Vector
      */
     public Vector kiloBounce(Vector kiloNormal)
     {
-        return this.multiply(1000000).subtract(kiloNormal.multiply(2 * this.dotProduct(kiloNormal))).divide(1000000);
+        return new Vector(kiloBounceX(x, y, kiloNormal.x, kiloNormal.y), kiloBounceY(x, y, kiloNormal.x, kiloNormal.y));
+    }
+
+    /**
+     * Returns the x coordinate of the vector (x, y) reflected off a surface with the given kilo normal,
+     * i.e., {@code new Vector(x, y).kiloBounce(new Vector(kiloNormalX, kiloNormalY)).x()}, without creating any vectors.
+     *
+     * @pre | new Vector(kiloNormalX, kiloNormalY).isKiloUnitVector()
+     */
+    public static long kiloBounceX(long x, long y, long kiloNormalX, long kiloNormalY)
+    {
+        return (x * 1000000 - kiloNormalX * (2 * (kiloNormalX * x + kiloNormalY * y))) / 1000000;
+    }
+
+    /**
+     * Returns the y coordinate of the vector (x, y) reflected off a surface with the given kilo normal,
+     * see {@link #kiloBounceX(long, long, long, long)}.
+     *
+     * @pre | new Vector(kiloNormalX, kiloNormalY).isKiloUnitVector()
+     */
+    public static long kiloBounceY(long x, long y, long kiloNormalX, long kiloNormalY)
+    {
+        return (y * 1000000 - kiloNormalY * (2 * (kiloNormalX * x + kiloNormalY * y))) / 1000000;
     }
     
     /**
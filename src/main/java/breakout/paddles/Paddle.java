@@ -5,7 +5,9 @@ import java.awt.Color;
 import breakout.BreakoutState;
 import breakout.Collision;
 import breakout.balls.Ball;
+import breakout.math.CircleSweep;
 import breakout.math.Interval;
+import breakout.math.MutableVector;
 import breakout.math.Point;
 import breakout.math.Rectangle;
 import breakout.math.Vector;
@@ -53,6 +55,16 @@ public class Paddle
      */
     private final Interval allowedInterval;
 
+    /**
+     * Reused by {@link #findCollision(Ball, long)} so that collision queries do not allocate.
+     */
+    private final CircleSweep scratchSweep;
+
+    /**
+     * Incremented whenever the paddle's position or size changes, see {@link #getVersion()}.
+     */
+    private int version;
+
     /**
      * Construct a paddle located around a given center in the field.
      * Note that we specify its half size instead of its full size.
@@ -65,6 +77,8 @@ public class Paddle
         this.motionDirection = PaddleMotionDirection.STATIONARY;
         this.speed = speed;
         this.allowedInterval = allowedInterval;
+        this.scratchSweep = new CircleSweep();
+        this.version = 0;
     }
 
     public PaddleMotionDirection getMotionDirection()
@@ -85,6 +99,16 @@ public class Paddle
         return topCenter;
     }
 
+    /**
+     * Returns a number that changes whenever this paddle's position or size changes,
+     * so that information derived from them (see {@link PaddleContact}) can tell whether it is still up to date.
+     * It does not change when only the motion direction changes.
+     */
+    public int getVersion()
+    {
+        return this.version;
+    }
+
     public Interval getAllowedInterval()
     {
         return this.allowedInterval;
@@ -121,15 +145,23 @@ public class Paddle
      */
     public Rectangle getGeometry()
     {
-        return null;
+        return new Rectangle(topCenter.x() - halfWidth, topCenter.y(), getWidth(), HEIGHT);
     }
 
     /**
      * Moves the paddle so that its top center x coordinate equals the given x.
      * Ensures that the paddle does not go outside the allowed area.
+     * The version only changes if the paddle actually moves, e.g. not when it is pushed against a wall.
      */
     public void setTopCenterX(long x)
     {
+        var clamped = clamp(x);
+
+        if ( clamped != topCenter.x() )
+        {
+            this.topCenter = new Point(clamped, topCenter.y());
+            this.version++;
+        }
     }
 
     /**
@@ -138,6 +170,10 @@ public class Paddle
      */
     public void move(long distance)
     {
+        if ( distance != 0 )
+        {
+            setTopCenterX(topCenter.x() + distance);
+        }
     }
 
     /**
@@ -157,7 +193,7 @@ public class Paddle
      */
     public long computeMovementDistance(long elapsedMilliseconds)
     {
-        return 0;
+        return motionDirection.getFactor() * speed * elapsedMilliseconds;
     }
 
     /**
@@ -227,21 +263,87 @@ public class Paddle
      */
     public Collision findCollision(Ball ball)
     {
-        var ballVelocity = ball.getVelocity();
-        var ballPosition = ball.getGeometry().getBottommostPoint();
+        return findCollision(ball, Long.MAX_VALUE);
+    }
+
+    /**
+     * Finds the collision between this paddle and the given ball, provided it happens
+     * within {@code maximumTime} milliseconds. Returns null otherwise.
+     *
+     * The ball is swept against the paddle's rectangle as a circle (see {@link CircleSweep}),
+     * so it can also hit the paddle's sides and corners. A hit on the top is given the normal
+     * of the paddle's imaginary curved top (see {@link #getKiloNormal(long)}).
+     *
+     * Balls above the paddle's top that do not move down are rejected before anything else.
+     * Otherwise, the ball's {@link PaddleContact} is reused as long as neither this paddle nor the ball's velocity changed,
+     * so a ball that is still far away or that misses the paddle is only swept once.
+     *
+     * @pre | ball != null
+     * @pre | maximumTime >= 0
+     * @inspects | ball
+     * @post | result == null || result.getMillisecondsUntilCollision() <= maximumTime
+     */
+    public Collision findCollision(Ball ball, long maximumTime)
+    {
+        if ( ball.getVelocityY() <= 0 && ball.getCenterY() + ball.getRadius() < topCenter.y() )
+        {
+            return null;
+        }
+
+        var contact = ball.getPaddleContact();
+        var elapsed = contact.getElapsedMilliseconds(this, ball);
+
+        if ( elapsed < 0 || elapsed > contact.millisecondsUntilContact )
+        {
+            // No prediction yet, or the ball passed the predicted hit without bouncing off the paddle
+            predictContact(ball, contact);
+            elapsed = 0;
+        }
+
+        var t = contact.millisecondsUntilContact - elapsed;
+
+        if ( contact.kiloNormal == null || t > maximumTime )
+        {
+            return null;
+        }
+
+        return new Collision(t, contact.kiloNormal);
+    }
+
+    /**
+     * Sweeps the given ball against this paddle without a time limit and records the result in the given contact.
+     */
+    private void predictContact(Ball ball, PaddleContact contact)
+    {
+        var sweep = this.scratchSweep;
+        var left = topCenter.x() - halfWidth;
+        var right = topCenter.x() + halfWidth;
+
+        sweep.clear();
+
+        if ( !sweep.sweep(ball.getCenterX(), ball.getCenterY(), ball.getRadius(), ball.getVelocityX(), ball.getVelocityY(), left, topCenter.y(), right, topCenter.y() + HEIGHT, Long.MAX_VALUE) )
+        {
+            contact.set(this, ball, Long.MAX_VALUE, null);
+            return;
+        }
 
-        if ( ballVelocity.y() > 0 && ballPosition.y() < getTopCenter().y() )
+        var t = sweep.getMillisecondsUntilCollision();
+        var kiloNormal = sweep.getKiloNormal();
+
+        if ( kiloNormal == Vector.KILO_UP )
         {
-            var t = (getTopCenter().y() - ballPosition.y()) / ballVelocity.y();
-            var x = ballPosition.x() + t * ballVelocity.x();
+            var x = ball.getCenterX() + t * ball.getVelocityX();
+            kiloNormal = getKiloNormal(Math.max(left, Math.min(x, right)));
 
-            if ( topCenter.x() - halfWidth <= x && x <= topCenter.x() + halfWidth )
+            if ( kiloNormal.x() * ball.getVelocityX() + kiloNormal.y() * ball.getVelocityY() >= 0 )
             {
-                return new Collision(t, getKiloNormal(x));
+                // A ball moving along the curved top's slope is not turned back by it: bouncing would leave it
+                // heading into the paddle, to be hit again without moving until rounding has flattened its velocity
+                kiloNormal = null;
             }
         }
 
-        return null;
+        contact.set(this, ball, t, kiloNormal);
     }
 
     /**
@@ -270,6 +372,45 @@ public class Paddle
      */
     public void scale(long kilofactor)
     {
+        var maximumHalfWidth = (allowedInterval.getUpperBound() - allowedInterval.getLowerBound()) / 2;
+
+        this.halfWidth = Math.max(1, Math.min(halfWidth * kilofactor / 1000, maximumHalfWidth));
+        this.topCenter = clampPrivate(topCenter);
+        this.version++;
+    }
+
+    /**
+     * Returns a paddle at the same position, with the same size, speed and motion direction.
+     *
+     * @creates | result
+     */
+    public Paddle copy()
+    {
+        var result = new Paddle(allowedInterval, topCenter, halfWidth, speed);
+        result.motionDirection = motionDirection;
+
+        return result;
+    }
+
+    /**
+     * Gives this paddle the position, size and motion direction of the given paddle.
+     *
+     * @throws IllegalArgumentException | other.getSpeed() != getSpeed()
+     * @throws IllegalArgumentException | other.getAllowedInterval().getLowerBound() != getAllowedInterval().getLowerBound()
+     * @throws IllegalArgumentException | other.getAllowedInterval().getUpperBound() != getAllowedInterval().getUpperBound()
+     * @mutates | this
+     */
+    public void copyFrom(Paddle other)
+    {
+        if ( other.speed != speed || other.allowedInterval.getLowerBound() != allowedInterval.getLowerBound() || other.allowedInterval.getUpperBound() != allowedInterval.getUpperBound() )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        this.topCenter = other.topCenter;
+        this.halfWidth = other.halfWidth;
+        this.motionDirection = other.motionDirection;
+        this.version++;
     }
 
     /**
@@ -306,6 +447,6 @@ public class Paddle
         assert -1000 <= relativePosition;
         assert relativePosition <= 1000;
 
-        return new Vector(relativePosition / 3, -1000).rescale(1000);
+        return new MutableVector(relativePosition / 3, -1000).rescale(1000).toVector();
     }
 }
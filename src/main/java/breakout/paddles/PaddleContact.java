@@ -0,0 +1,93 @@
+package breakout.paddles;
+
+import breakout.balls.Ball;
+import breakout.math.Vector;
+
+/**
+ * A ball's cached prediction of whether and when it hits a paddle, see {@link Paddle#findCollision(Ball, long)}.
+ *
+ * A ball moving in a straight line hits a paddle that stays put at the same point, whatever part of that line
+ * the prediction was made from; only the time until the hit goes down by the time travelled since.
+ * A prediction therefore stays valid as long as the paddle keeps its version (see {@link Paddle#getVersion()})
+ * and the ball keeps its radius and velocity and is still on the line it was on when the prediction was made.
+ * The prediction checks this itself, so nothing has to invalidate it when the ball bounces or is moved.
+ *
+ * Every ball has one, see {@link Ball#getPaddleContact()}; only {@link Paddle} reads and writes it.
+ */
+public class PaddleContact
+{
+    /**
+     * The paddle the prediction was made for, or null if no prediction was made yet.
+     */
+    Paddle paddle;
+
+    int paddleVersion;
+
+    long originX;
+
+    long originY;
+
+    long radius;
+
+    long velocityX;
+
+    long velocityY;
+
+    /**
+     * The time from the origin until the hit.
+     */
+    long millisecondsUntilContact;
+
+    /**
+     * The normal of the hit, or null if the ball does not hit the paddle.
+     */
+    Vector kiloNormal;
+
+    /**
+     * Creates a prediction that holds for no paddle.
+     */
+    public PaddleContact()
+    {
+        this.paddle = null;
+    }
+
+    /**
+     * Returns the number of milliseconds the given ball travelled since this prediction was made for the given paddle,
+     * or -1 if the prediction does not hold for them.
+     */
+    long getElapsedMilliseconds(Paddle paddle, Ball ball)
+    {
+        if ( this.paddle != paddle || this.paddleVersion != paddle.getVersion() || this.radius != ball.getRadius()
+                || this.velocityX != ball.getVelocityX() || this.velocityY != ball.getVelocityY() )
+        {
+            return -1;
+        }
+
+        var dx = ball.getCenterX() - originX;
+        var dy = ball.getCenterY() - originY;
+        var elapsed = velocityY != 0 ? dy / velocityY : velocityX != 0 ? dx / velocityX : 0;
+
+        if ( elapsed < 0 || dx != velocityX * elapsed || dy != velocityY * elapsed )
+        {
+            return -1;
+        }
+
+        return elapsed;
+    }
+
+    /**
+     * Records a prediction made for the given paddle and ball.
+     */
+    void set(Paddle paddle, Ball ball, long millisecondsUntilContact, Vector kiloNormal)
+    {
+        this.paddle = paddle;
+        this.paddleVersion = paddle.getVersion();
+        this.originX = ball.getCenterX();
+        this.originY = ball.getCenterY();
+        this.radius = ball.getRadius();
+        this.velocityX = ball.getVelocityX();
+        this.velocityY = ball.getVelocityY();
+        this.millisecondsUntilContact = millisecondsUntilContact;
+        this.kiloNormal = kiloNormal;
+    }
+}
@@ -0,0 +1,171 @@
+package breakout.simulation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+
+import breakout.BreakoutState;
+import breakout.GameMapParser;
+
+/**
+ * Plays out many independent games in parallel, e.g., to evaluate a level design by Monte Carlo simulation.
+ *
+ * Every game is played on its own {@link SimulationEngine} by its own paddle controller,
+ * created by the controller factory from the game's seed. Games are split over the pool
+ * by a divide-and-conquer task, so idle workers steal games from busy ones.
+ * Nothing mutable is shared between games: each one only touches its own state and controller,
+ * and writes its result into its own slot of the result array.
+ *
+ * Steps longer than {@link BreakoutState#MAXIMUM_TIME_DELTA} make games cheaper to play, see {@link SimulationEngine},
+ * but the controllers then steer the paddle less often.
+ */
+public class BatchSimulator
+{
+    private final ForkJoinPool pool;
+
+    private final long stepMilliseconds;
+
+    private final long maximumGameMilliseconds;
+
+    private final LongFunction<PaddleController> controllerFactory;
+
+    /**
+     * Creates a simulator that runs on the common pool and lets a {@link TrackingPaddleController} play each game.
+     *
+     * @throws IllegalArgumentException | maximumGameMilliseconds <= 0
+     */
+    public BatchSimulator(long maximumGameMilliseconds)
+    {
+        this(ForkJoinPool.commonPool(), BreakoutState.MAXIMUM_TIME_DELTA, maximumGameMilliseconds, TrackingPaddleController::new);
+    }
+
+    /**
+     * @throws IllegalArgumentException | pool == null
+     * @throws IllegalArgumentException | stepMilliseconds <= 0 || stepMilliseconds > Long.MAX_VALUE / 1_000_000
+     * @throws IllegalArgumentException | maximumGameMilliseconds <= 0
+     * @throws IllegalArgumentException | controllerFactory == null
+     */
+    public BatchSimulator(ForkJoinPool pool, long stepMilliseconds, long maximumGameMilliseconds, LongFunction<PaddleController> controllerFactory)
+    {
+        if ( pool == null || controllerFactory == null )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        if ( stepMilliseconds <= 0 || stepMilliseconds > Long.MAX_VALUE / 1_000_000 )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        if ( maximumGameMilliseconds <= 0 )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        this.pool = pool;
+        this.stepMilliseconds = stepMilliseconds;
+        this.maximumGameMilliseconds = maximumGameMilliseconds;
+        this.controllerFactory = controllerFactory;
+    }
+
+    /**
+     * Plays out the given games until each of them is over or has run for the maximum game time.
+     * The game at index i is played by a controller created from seed i.
+     * Returns the results in the same order as the states.
+     * The states must not share any mutable objects (e.g., bricks or balls) with each other.
+     *
+     * @pre | states != null
+     * @pre | states.stream().allMatch(state -> state != null)
+     * @mutates | ...states
+     * @post | result.size() == states.size()
+     */
+    public List<GameResult> simulate(List<BreakoutState> states)
+    {
+        return simulate(states.size(), index -> play(states.get(index), index));
+    }
+
+    /**
+     * Plays out one game of the given map per seed. Each game parses its own copy of the map,
+     * so the parsing is done in parallel as well.
+     * Returns the results in the same order as the seeds.
+     *
+     * @pre | map != null
+     * @pre | seeds != null
+     * @post | result.size() == seeds.length
+     */
+    public List<GameResult> simulate(String[] map, int brickWidth, int brickHeight, long[] seeds)
+    {
+        return simulate(seeds.length, index -> play(GameMapParser.parse(map, brickWidth, brickHeight), seeds[index]));
+    }
+
+    private List<GameResult> simulate(int gameCount, IntFunction<GameResult> game)
+    {
+        var results = new GameResult[gameCount];
+
+        if ( gameCount > 0 )
+        {
+            pool.invoke(new GameRange(game, results, 0, gameCount));
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Plays out a single game on the current thread.
+     *
+     * @pre | state != null
+     * @mutates | state
+     */
+    public GameResult play(BreakoutState state, long seed)
+    {
+        var initialBrickCount = state.getBrickGrid().getBrickCount();
+        var engine = new SimulationEngine(state, stepMilliseconds);
+        engine.setPaddleController(controllerFactory.apply(seed));
+
+        var steps = engine.run(Math.max(1, maximumGameMilliseconds / stepMilliseconds));
+        var bricksDestroyed = Math.max(0, initialBrickCount - state.getBrickGrid().getBrickCount());
+
+        return new GameResult(state.isGameWon(), state.isGameLost() && !state.isGameWon(), initialBrickCount, bricksDestroyed, steps, steps * stepMilliseconds);
+    }
+
+    /**
+     * Plays the games with indices in [from, to), splitting the range in halves until single games remain.
+     */
+    @SuppressWarnings("serial")
+    private static class GameRange extends RecursiveAction
+    {
+        private final IntFunction<GameResult> game;
+
+        private final GameResult[] results;
+
+        private final int from;
+
+        private final int to;
+
+        GameRange(IntFunction<GameResult> game, GameResult[] results, int from, int to)
+        {
+            this.game = game;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if ( to - from == 1 )
+            {
+                results[from] = game.apply(from);
+            }
+            else
+            {
+                var middle = (from + to) >>> 1;
+
+                invokeAll(new GameRange(game, results, from, middle), new GameRange(game, results, middle, to));
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package breakout.simulation;
+
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.PriorityQueue;
+
+import breakout.BreakoutState;
+import breakout.MutableCollision;
+import breakout.balls.Ball;
+import breakout.paddles.PaddleMotionDirection;
+
+/**
+ * Fast-forwards a BreakoutState from one collision to the next, instead of ticking every ball in steps
+ * of at most {@link BreakoutState#MAXIMUM_TIME_DELTA} milliseconds.
+ *
+ * Every ball has its own clock and its predicted next event in a priority queue. Handling an event ticks
+ * the ball up to that event (see {@link Ball#tick(BreakoutState, long)}), so its behavior bounces it exactly
+ * as a regular tick would, and then predicts the ball's next event. Between two events, a ball moves
+ * in a straight line and nothing else changes it, so it is not looked at.
+ *
+ * Events are never recomputed for other balls:
+ * <ul>
+ * <li>Removing a brick can only delay another ball's next collision. A ball that was heading for a removed brick
+ *     is handled at the time it would have hit it, finds nothing to bounce off, and has its next event predicted again.</li>
+ * <li>The paddle moves in steps of {@link BreakoutState#MAXIMUM_TIME_DELTA} milliseconds, like it does when the state is ticked.
+ *     A ball's prediction therefore ends when it reaches the paddle's top, and a ball below the paddle's top
+ *     has an event at every step of the paddle, so that it always sees the paddle where it is during that step.</li>
+ * </ul>
+ * The work done is therefore proportional to the number of collisions plus the time balls spend near the paddle,
+ * rather than to the total game time.
+ *
+ * Events of different balls are handled in the order in which they happen, so balls hit bricks in the same order
+ * as when the state is ticked. Balls are only ticked in a different order within a millisecond.
+ * A single ball with a stationary paddle moves exactly as it does when the state is ticked.
+ * While advancing, the state must not be mutated by anything other than the game itself.
+ */
+public class EventDrivenBreakoutState
+{
+    private final BreakoutState state;
+
+    /**
+     * The predicted next event of every ball that still has to reach the end of the current advance.
+     */
+    private final PriorityQueue<BallClock> events;
+
+    /**
+     * The clock of every ball that is in the game during the current advance.
+     */
+    private final IdentityHashMap<Ball, BallClock> clocks;
+
+    /**
+     * Reused for the collision queries.
+     */
+    private final MutableCollision scratchCollision;
+
+    private int clockCount;
+
+    private long eventCount;
+
+    /**
+     * Tracks how far a ball has been moved during the current advance, and when it is to be handled next.
+     */
+    private static class BallClock
+    {
+        final Ball ball;
+
+        /**
+         * Breaks ties between events at the same time, so that advancing is deterministic.
+         */
+        final int order;
+
+        long time;
+
+        long eventTime;
+
+        BallClock(Ball ball, int order, long time)
+        {
+            this.ball = ball;
+            this.order = order;
+            this.time = time;
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException | state == null
+     * @post | getState() == state
+     * @post | getEventCount() == 0
+     */
+    public EventDrivenBreakoutState(BreakoutState state)
+    {
+        if ( state == null )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        this.state = state;
+        this.events = new PriorityQueue<>(Comparator.<BallClock> comparingLong(clock -> clock.eventTime).thenComparingInt(clock -> clock.order));
+        this.clocks = new IdentityHashMap<>();
+        this.scratchCollision = new MutableCollision();
+        this.clockCount = 0;
+        this.eventCount = 0;
+    }
+
+    public BreakoutState getState()
+    {
+        return this.state;
+    }
+
+    /**
+     * Returns the number of ball events handled so far.
+     */
+    public long getEventCount()
+    {
+        return this.eventCount;
+    }
+
+    /**
+     * Moves the game elapsedMilliseconds into the future, with the paddle moving in its current motion direction.
+     * The result is the same as ticking the state, up to the order in which balls are ticked within a millisecond.
+     * Like the callers of {@link BreakoutState#tick(long)}, stops as soon as the game is over.
+     *
+     * @throws IllegalArgumentException | elapsedMilliseconds < 0
+     * @mutates | getState()
+     */
+    public void advance(long elapsedMilliseconds)
+    {
+        if ( elapsedMilliseconds < 0 )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        if ( state.isGameOver() )
+        {
+            return;
+        }
+
+        var paddle = state.getPaddle();
+        var nextPaddleStep = paddle.getMotionDirection() == PaddleMotionDirection.STATIONARY ? elapsedMilliseconds : 0;
+
+        try
+        {
+            trackNewBalls(0, elapsedMilliseconds);
+
+            while ( true )
+            {
+                var clock = events.peek();
+
+                // The paddle steps once every ball has been handled up to the start of its step
+                if ( nextPaddleStep < elapsedMilliseconds && (clock == null || nextPaddleStep < clock.eventTime) )
+                {
+                    paddle.tick(state, Math.min(BreakoutState.MAXIMUM_TIME_DELTA, elapsedMilliseconds - nextPaddleStep));
+                    nextPaddleStep += BreakoutState.MAXIMUM_TIME_DELTA;
+                    continue;
+                }
+
+                if ( clock == null )
+                {
+                    break;
+                }
+
+                events.poll();
+                clock.ball.tick(state, clock.eventTime - clock.time);
+                clock.time = clock.eventTime;
+                eventCount++;
+
+                if ( state.isGameOver() )
+                {
+                    return;
+                }
+
+                if ( !state.containsBall(clock.ball) )
+                {
+                    clocks.remove(clock.ball);
+                }
+                else if ( clock.time < elapsedMilliseconds )
+                {
+                    schedule(clock, elapsedMilliseconds);
+                }
+
+                if ( state.getBalls().size() != clocks.size() )
+                {
+                    trackNewBalls(clock.time, elapsedMilliseconds);
+                }
+            }
+        }
+        finally
+        {
+            events.clear();
+            clocks.clear();
+            clockCount = 0;
+        }
+    }
+
+    /**
+     * Starts a clock at the given time for every ball in the game that does not have one yet.
+     */
+    private void trackNewBalls(long time, long endTime)
+    {
+        for ( var ball : state.getBalls() )
+        {
+            if ( !clocks.containsKey(ball) )
+            {
+                var clock = new BallClock(ball, clockCount++, time);
+                clocks.put(ball, clock);
+
+                if ( time < endTime )
+                {
+                    schedule(clock, endTime);
+                }
+            }
+        }
+    }
+
+    /**
+     * Predicts the given ball's next event and queues it: the ball's next collision, the moment it reaches
+     * the paddle's top or, for a ball below the paddle's top, the paddle's next step, whichever comes first.
+     * An event is at least one millisecond after the ball's clock, so that a ball touching something is ticked past it.
+     */
+    private void schedule(BallClock clock, long endTime)
+    {
+        var ball = clock.ball;
+        var limit = endTime - clock.time;
+        var gap = state.getPaddle().getTopCenter().y() - ball.getCenterY() - ball.getRadius();
+        var velocityY = ball.getVelocityY();
+
+        if ( gap <= 0 )
+        {
+            limit = Math.min(limit, BreakoutState.MAXIMUM_TIME_DELTA - clock.time % BreakoutState.MAXIMUM_TIME_DELTA);
+        }
+        else if ( velocityY > 0 )
+        {
+            // Stop strictly above the paddle's top, so that the paddle is never hit from a stale position
+            limit = Math.min(limit, Math.max(1, (gap - 1) / velocityY));
+        }
+
+        var time = Math.min(limit, findEarliestCollisionTime(ball, limit));
+        clock.eventTime = clock.time + Math.max(1, time);
+        events.add(clock);
+    }
+
+    /**
+     * Returns the time until the given ball's earliest collision with a wall, the paddle or a brick,
+     * or Long.MAX_VALUE if there is none within maximumTime milliseconds.
+     */
+    private long findEarliestCollisionTime(Ball ball, long maximumTime)
+    {
+        var collision = this.scratchCollision;
+        collision.clear();
+        state.findEarliestWallCollision(ball, maximumTime, collision);
+
+        var paddleCollision = state.getPaddle().findCollision(ball, maximumTime);
+
+        if ( paddleCollision != null )
+        {
+            collision.offer(paddleCollision.getMillisecondsUntilCollision(), paddleCollision.getKiloNormal(), null);
+        }
+
+        state.getBrickGrid().findEarliestCollision(ball.getCenterX(), ball.getCenterY(), ball.getRadius(), ball.getVelocityX(), ball.getVelocityY(),
+                Math.min(collision.getMillisecondsUntilCollision(), maximumTime), collision);
+
+        return collision.getMillisecondsUntilCollision();
+    }
+}
@@ -0,0 +1,112 @@
+package breakout.simulation;
+
+/**
+ * Outcome of a single game played out by a {@link BatchSimulator}.
+ *
+ * @immutable
+ * @invar | !(isWon() && isLost())
+ * @invar | 0 <= getBricksDestroyed() && getBricksDestroyed() <= getInitialBrickCount()
+ * @invar | 0 <= getStepCount()
+ * @invar | 0 <= getSimulatedMilliseconds()
+ */
+public class GameResult
+{
+    private final boolean won;
+
+    private final boolean lost;
+
+    private final int initialBrickCount;
+
+    private final int bricksDestroyed;
+
+    private final long stepCount;
+
+    private final long simulatedMilliseconds;
+
+    /**
+     * @throws IllegalArgumentException | won && lost
+     * @throws IllegalArgumentException | bricksDestroyed < 0 || bricksDestroyed > initialBrickCount
+     * @throws IllegalArgumentException | stepCount < 0 || simulatedMilliseconds < 0
+     */
+    public GameResult(boolean won, boolean lost, int initialBrickCount, int bricksDestroyed, long stepCount, long simulatedMilliseconds)
+    {
+        if ( won && lost )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        if ( bricksDestroyed < 0 || bricksDestroyed > initialBrickCount )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        if ( stepCount < 0 || simulatedMilliseconds < 0 )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        this.won = won;
+        this.lost = lost;
+        this.initialBrickCount = initialBrickCount;
+        this.bricksDestroyed = bricksDestroyed;
+        this.stepCount = stepCount;
+        this.simulatedMilliseconds = simulatedMilliseconds;
+    }
+
+    /**
+     * Returns whether all bricks were destroyed.
+     */
+    public boolean isWon()
+    {
+        return this.won;
+    }
+
+    /**
+     * Returns whether all balls were lost.
+     */
+    public boolean isLost()
+    {
+        return this.lost;
+    }
+
+    /**
+     * Returns whether the game was stopped because it took too long, i.e., was neither won nor lost.
+     *
+     * @post | result == (!isWon() && !isLost())
+     */
+    public boolean isTimedOut()
+    {
+        return !this.won && !this.lost;
+    }
+
+    public int getInitialBrickCount()
+    {
+        return this.initialBrickCount;
+    }
+
+    public int getBricksDestroyed()
+    {
+        return this.bricksDestroyed;
+    }
+
+    public long getStepCount()
+    {
+        return this.stepCount;
+    }
+
+    /**
+     * Returns the amount of game time, in milliseconds, that was simulated.
+     */
+    public long getSimulatedMilliseconds()
+    {
+        return this.simulatedMilliseconds;
+    }
+
+    @Override
+    public String toString()
+    {
+        var outcome = won ? "won" : lost ? "lost" : "timed out";
+
+        return outcome + " after " + simulatedMilliseconds + "ms, " + bricksDestroyed + "/" + initialBrickCount + " bricks destroyed";
+    }
+}
@@ -0,0 +1,338 @@
+package breakout.simulation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import breakout.BreakoutState;
+import breakout.paddles.PaddleMotionDirection;
+
+/**
+ * Records the input of a game, i.e., for every tick the elapsed time and the paddle's motion direction,
+ * so that the game can be replayed deterministically (see {@link #replay(BreakoutState)}).
+ *
+ * Consecutive ticks with the same elapsed time and the same direction are stored as a single run,
+ * so a game played at a steady frame rate takes a few bytes per key press rather than per tick.
+ *
+ * The binary format, written by {@link #writeTo(OutputStream)}, is:
+ * the magic number {@link #MAGIC}, the format {@link #VERSION} (one byte), the number of runs (varint)
+ * and then per run the elapsed milliseconds (varint), the direction's factor plus one (one byte)
+ * and the number of ticks (varint). Varints are unsigned LEB128: seven bits per byte, least significant first.
+ *
+ * Recording and writing are synchronized, so a log can be written by another thread
+ * (e.g., a shutdown hook) while the game thread is recording.
+ *
+ * @invar | 0 <= getRunCount() && getRunCount() <= getTickCount()
+ */
+public class InputLog
+{
+    /**
+     * "BRKL" in ASCII.
+     */
+    public static final int MAGIC = 0x42524B4C;
+
+    public static final int VERSION = 1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] runDeltas;
+
+    private PaddleMotionDirection[] runDirections;
+
+    private long[] runLengths;
+
+    private int runCount;
+
+    private long tickCount;
+
+    /**
+     * Creates an empty log.
+     *
+     * @post | getRunCount() == 0
+     * @post | getTickCount() == 0
+     */
+    public InputLog()
+    {
+        this.runDeltas = new long[INITIAL_CAPACITY];
+        this.runDirections = new PaddleMotionDirection[INITIAL_CAPACITY];
+        this.runLengths = new long[INITIAL_CAPACITY];
+        this.runCount = 0;
+        this.tickCount = 0;
+    }
+
+    /**
+     * Returns the number of runs of identical ticks.
+     */
+    public synchronized int getRunCount()
+    {
+        return this.runCount;
+    }
+
+    /**
+     * Returns the number of recorded ticks.
+     */
+    public synchronized long getTickCount()
+    {
+        return this.tickCount;
+    }
+
+    /**
+     * Appends a tick in which the paddle moved in the given direction for the given number of milliseconds.
+     *
+     * @throws IllegalArgumentException | elapsedMilliseconds < 0
+     * @throws IllegalArgumentException | direction == null
+     * @mutates | this
+     * @post | getTickCount() == old(getTickCount()) + 1
+     */
+    public synchronized void record(long elapsedMilliseconds, PaddleMotionDirection direction)
+    {
+        if ( elapsedMilliseconds < 0 || direction == null )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        var last = runCount - 1;
+
+        if ( last >= 0 && runDeltas[last] == elapsedMilliseconds && runDirections[last] == direction )
+        {
+            runLengths[last]++;
+        }
+        else
+        {
+            appendRun(elapsedMilliseconds, direction, 1);
+        }
+
+        tickCount++;
+    }
+
+    private void appendRun(long elapsedMilliseconds, PaddleMotionDirection direction, long length)
+    {
+        if ( runCount == runDeltas.length )
+        {
+            var capacity = runCount * 2;
+            runDeltas = Arrays.copyOf(runDeltas, capacity);
+            runDirections = Arrays.copyOf(runDirections, capacity);
+            runLengths = Arrays.copyOf(runLengths, capacity);
+        }
+
+        runDeltas[runCount] = elapsedMilliseconds;
+        runDirections[runCount] = direction;
+        runLengths[runCount] = length;
+        runCount++;
+    }
+
+    /**
+     * Replays the recorded ticks on the given state as fast as possible:
+     * before every tick, the paddle's motion direction is set to the recorded one.
+     * Stops early if the game is over. Returns the number of ticks replayed.
+     *
+     * Replaying a log on a state equal to the one it was recorded on reproduces the recorded game exactly.
+     *
+     * @throws IllegalArgumentException | state == null
+     * @mutates | state
+     * @post | 0 <= result && result <= getTickCount()
+     */
+    public synchronized long replay(BreakoutState state)
+    {
+        if ( state == null )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        var paddle = state.getPaddle();
+        var replayed = 0L;
+
+        for ( var run = 0; run < runCount; run++ )
+        {
+            var elapsedMilliseconds = runDeltas[run];
+            var direction = runDirections[run];
+
+            for ( var i = 0L; i < runLengths[run]; i++ )
+            {
+                if ( state.isGameOver() )
+                {
+                    return replayed;
+                }
+
+                paddle.setMotionDirection(direction);
+                state.tick(elapsedMilliseconds);
+                replayed++;
+            }
+        }
+
+        return replayed;
+    }
+
+    /**
+     * Writes this log in the binary format described above. The stream is not closed.
+     *
+     * @throws IllegalArgumentException | output == null
+     */
+    public synchronized void writeTo(OutputStream output) throws IOException
+    {
+        if ( output == null )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        var data = new DataOutputStream(new BufferedOutputStream(output));
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        writeVarint(data, runCount);
+
+        for ( var run = 0; run < runCount; run++ )
+        {
+            writeVarint(data, runDeltas[run]);
+            data.writeByte(runDirections[run].getFactor() + 1);
+            writeVarint(data, runLengths[run]);
+        }
+
+        data.flush();
+    }
+
+    /**
+     * Writes this log to the given file, replacing it if it exists.
+     *
+     * @throws IllegalArgumentException | path == null
+     */
+    public void writeTo(Path path) throws IOException
+    {
+        if ( path == null )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        try ( var output = Files.newOutputStream(path) )
+        {
+            writeTo(output);
+        }
+    }
+
+    /**
+     * Reads a log written by {@link #writeTo(OutputStream)}. The stream is not closed,
+     * and nothing beyond the end of the log is read from it.
+     *
+     * @throws IllegalArgumentException | input == null
+     * @throws IOException if the stream does not hold a valid log
+     * @creates | result
+     */
+    public static InputLog readFrom(InputStream input) throws IOException
+    {
+        if ( input == null )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        var data = new DataInputStream(input);
+
+        if ( data.readInt() != MAGIC )
+        {
+            throw new IOException("Not an input log");
+        }
+
+        var version = data.readUnsignedByte();
+
+        if ( version != VERSION )
+        {
+            throw new IOException("Unsupported input log version " + version);
+        }
+
+        var log = new InputLog();
+        var runCount = readVarint(data);
+
+        for ( var run = 0L; run < runCount; run++ )
+        {
+            var elapsedMilliseconds = readVarint(data);
+            var direction = directionWithFactor(data.readUnsignedByte() - 1);
+            var length = readVarint(data);
+
+            if ( length == 0 )
+            {
+                throw new IOException("Empty run in input log");
+            }
+
+            log.appendRun(elapsedMilliseconds, direction, length);
+            log.tickCount += length;
+        }
+
+        return log;
+    }
+
+    /**
+     * Reads a log from the given file.
+     *
+     * @throws IllegalArgumentException | path == null
+     * @creates | result
+     */
+    public static InputLog readFrom(Path path) throws IOException
+    {
+        if ( path == null )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        try ( var input = new BufferedInputStream(Files.newInputStream(path)) )
+        {
+            return readFrom(input);
+        }
+    }
+
+    private static PaddleMotionDirection directionWithFactor(int factor) throws IOException
+    {
+        switch ( factor )
+        {
+        case -1:
+            return PaddleMotionDirection.LEFT;
+
+        case 0:
+            return PaddleMotionDirection.STATIONARY;
+
+        case 1:
+            return PaddleMotionDirection.RIGHT;
+
+        default:
+            throw new IOException("Invalid direction in input log");
+        }
+    }
+
+    private static void writeVarint(DataOutputStream data, long value) throws IOException
+    {
+        while ( (value & ~0x7FL) != 0 )
+        {
+            data.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        data.writeByte((int) value);
+    }
+
+    private static long readVarint(DataInputStream data) throws IOException
+    {
+        var value = 0L;
+
+        for ( var shift = 0; shift < Long.SIZE; shift += 7 )
+        {
+            var b = data.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+
+            if ( (b & 0x80) == 0 )
+            {
+                if ( value < 0 )
+                {
+                    throw new IOException("Negative value in input log");
+                }
+
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed varint in input log");
+    }
+}
@@ -0,0 +1,22 @@
+package breakout.simulation;
+
+import breakout.BreakoutState;
+import breakout.paddles.PaddleMotionDirection;
+
+/**
+ * Decides in which direction the paddle should move.
+ * A controller is consulted once before every simulation step,
+ * which allows both keyboard input and bots to steer the paddle.
+ */
+@FunctionalInterface
+public interface PaddleController
+{
+    /**
+     * Returns the direction in which the paddle of the given state should move during the next step.
+     *
+     * @pre | state != null
+     * @inspects | state
+     * @post | result != null
+     */
+    PaddleMotionDirection decide(BreakoutState state);
+}
@@ -0,0 +1,384 @@
+package breakout.simulation;
+
+import java.util.concurrent.locks.LockSupport;
+
+import breakout.BreakoutState;
+
+/**
+ * Runs a BreakoutState at a fixed time step, independently of any user interface.
+ *
+ * Real time is fed to the engine (see {@link #advance(long)}) and collected in an accumulator.
+ * Every time the accumulator holds at least one step's worth of time, the state is ticked
+ * by exactly one step. The time left in the accumulator is exposed as an interpolation
+ * factor, which renderers can use to draw moving objects in between two steps.
+ *
+ * By default, {@link #advance(long)} catches up with time the engine fell behind by, up to
+ * {@link #MAXIMUM_ADVANCE_MILLISECONDS}, with several steps. Without catching up (see {@link #setCatchingUp(boolean)}),
+ * it performs at most one step per call and drops the time beyond it, so that the game slows down under load
+ * instead of jumping ahead.
+ *
+ * The engine can either be driven by the caller, or run on its own thread (see {@link #start()}).
+ * While the engine's thread is running, the state must not be mutated by other threads.
+ *
+ * Steps can be longer than {@link BreakoutState#MAXIMUM_TIME_DELTA}, which suits headless runs (see {@link #run(long)}):
+ * {@link BreakoutState#tick(long)} then takes long steps while no ball can reach the paddle, and short ones otherwise.
+ * The paddle controller is still only consulted once per step, though, so long steps suit games whose paddle
+ * does not need steering, or only rarely.
+ */
+public class SimulationEngine
+{
+    /**
+     * Maximum amount of time a single call to {@link #advance(long)} catches up with, five steps of the default length.
+     * Time beyond that is dropped (see {@link #getDroppedMilliseconds()}), so that a slow machine
+     * does not end up in an ever growing backlog of steps.
+     */
+    public static final int MAXIMUM_ADVANCE_MILLISECONDS = 100;
+
+    private final BreakoutState state;
+
+    /**
+     * @invar | 0 < stepMilliseconds
+     */
+    private final long stepMilliseconds;
+
+    private final long stepNanoseconds;
+
+    /**
+     * The whole number of steps, at least one, that fits in {@link #MAXIMUM_ADVANCE_MILLISECONDS}, in nanoseconds.
+     */
+    private final long maximumAccumulatedNanoseconds;
+
+    /**
+     * The most the accumulator holds without catching up: one step, plus less than a step carried over to the next call.
+     * Never more than {@link #maximumAccumulatedNanoseconds}.
+     */
+    private final long maximumSingleStepNanoseconds;
+
+    private volatile boolean catchingUp;
+
+    /**
+     * @invar | 0 <= accumulatedNanoseconds && accumulatedNanoseconds < stepNanoseconds
+     */
+    private volatile long accumulatedNanoseconds;
+
+    private volatile long droppedNanoseconds;
+
+    private volatile PaddleController paddleController;
+
+    private volatile long stepCount;
+
+    private volatile boolean running;
+
+    private Thread thread;
+
+    /**
+     * Written by {@link #start()}, read by {@link #getMeasuredStepsPerSecond()} on any thread.
+     */
+    private volatile long startTimestamp;
+
+    private volatile long stepCountAtStart;
+
+    /**
+     * Creates an engine that ticks the given state in steps of {@link BreakoutState#MAXIMUM_TIME_DELTA} milliseconds.
+     *
+     * @throws IllegalArgumentException
+     *   | state == null
+     */
+    public SimulationEngine(BreakoutState state)
+    {
+        this(state, BreakoutState.MAXIMUM_TIME_DELTA);
+    }
+
+    /**
+     * Creates an engine that ticks the given state in steps of stepMilliseconds.
+     *
+     * @throws IllegalArgumentException
+     *   | state == null
+     * @throws IllegalArgumentException
+     *   | stepMilliseconds <= 0 || stepMilliseconds > Long.MAX_VALUE / 1_000_000
+     * @post | getState() == state
+     * @post | getStepMilliseconds() == stepMilliseconds
+     * @post | getStepCount() == 0
+     * @post | getDroppedMilliseconds() == 0
+     * @post | isCatchingUp()
+     * @post | !isRunning()
+     */
+    public SimulationEngine(BreakoutState state, long stepMilliseconds)
+    {
+        if ( state == null )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        if ( stepMilliseconds <= 0 || stepMilliseconds > Long.MAX_VALUE / 1_000_000 )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        this.state = state;
+        this.stepMilliseconds = stepMilliseconds;
+        this.stepNanoseconds = stepMilliseconds * 1_000_000;
+        this.maximumAccumulatedNanoseconds = Math.max(1, MAXIMUM_ADVANCE_MILLISECONDS / stepMilliseconds) * stepNanoseconds;
+        // If more than one step fits in the maximum, then two steps do, so this does not overflow
+        this.maximumSingleStepNanoseconds = maximumAccumulatedNanoseconds > stepNanoseconds ? 2 * stepNanoseconds - 1 : stepNanoseconds;
+        this.catchingUp = true;
+        this.accumulatedNanoseconds = 0;
+        this.droppedNanoseconds = 0;
+        this.paddleController = null;
+        this.stepCount = 0;
+        this.running = false;
+    }
+
+    public BreakoutState getState()
+    {
+        return this.state;
+    }
+
+    public long getStepMilliseconds()
+    {
+        return this.stepMilliseconds;
+    }
+
+    /**
+     * Returns the controller that steers the paddle, or null if the paddle's
+     * motion direction is left untouched by this engine.
+     */
+    public PaddleController getPaddleController()
+    {
+        return this.paddleController;
+    }
+
+    /**
+     * Sets the controller that is consulted before every step.
+     * Passing null leaves the paddle's motion direction untouched.
+     */
+    public void setPaddleController(PaddleController paddleController)
+    {
+        this.paddleController = paddleController;
+    }
+
+    /**
+     * Returns whether {@link #advance(long)} performs as many steps as needed to catch up with the time it is given,
+     * rather than at most one.
+     */
+    public boolean isCatchingUp()
+    {
+        return this.catchingUp;
+    }
+
+    /**
+     * Sets whether {@link #advance(long)} catches up with the time it is given. Can be called from any thread.
+     *
+     * @post | isCatchingUp() == catchingUp
+     */
+    public void setCatchingUp(boolean catchingUp)
+    {
+        this.catchingUp = catchingUp;
+    }
+
+    /**
+     * Returns the number of steps performed so far.
+     */
+    public long getStepCount()
+    {
+        return this.stepCount;
+    }
+
+    /**
+     * Returns the number of milliseconds of real time dropped so far by {@link #advance(long)}
+     * because the engine fell too far behind. Can be called from any thread.
+     */
+    public long getDroppedMilliseconds()
+    {
+        return this.droppedNanoseconds / 1_000_000;
+    }
+
+    /**
+     * Returns how far the simulation is in between its last step and the next one,
+     * as a fraction in [0, 1).
+     *
+     * @post | 0 <= result && result < 1
+     */
+    public double getInterpolationAlpha()
+    {
+        return (double) this.accumulatedNanoseconds / this.stepNanoseconds;
+    }
+
+    /**
+     * Performs exactly one step, unless the game is already over.
+     * Returns whether a step was performed.
+     *
+     * @mutates | getState()
+     */
+    public boolean step()
+    {
+        if ( state.isGameOver() )
+        {
+            return false;
+        }
+
+        var controller = this.paddleController;
+
+        if ( controller != null )
+        {
+            state.getPaddle().setMotionDirection(controller.decide(state));
+        }
+
+        state.tick(stepMilliseconds);
+        stepCount++;
+
+        return true;
+    }
+
+    /**
+     * Adds the given amount of real time to the accumulator and performs as many steps as fit in it.
+     * At most {@link #MAXIMUM_ADVANCE_MILLISECONDS} worth of steps are performed, or a single step if the engine
+     * is not catching up (see {@link #isCatchingUp()}); any time beyond that, apart from less than a step
+     * that is carried over, is dropped.
+     * Once the game is over, no more steps are performed and the accumulator is emptied.
+     * Returns the number of steps actually performed.
+     *
+     * @pre | elapsedNanoseconds >= 0
+     * @mutates | getState()
+     * @post | 0 <= result && result <= Math.max(1, MAXIMUM_ADVANCE_MILLISECONDS / getStepMilliseconds())
+     * @post | isCatchingUp() || result <= 1
+     */
+    public int advance(long elapsedNanoseconds)
+    {
+        var accumulation = accumulatedNanoseconds + elapsedNanoseconds;
+        var maximum = catchingUp ? maximumAccumulatedNanoseconds : maximumSingleStepNanoseconds;
+
+        if ( accumulation > maximum )
+        {
+            droppedNanoseconds += accumulation - maximum;
+            accumulation = maximum;
+        }
+
+        accumulatedNanoseconds = accumulation;
+
+        var steps = 0;
+
+        while ( accumulatedNanoseconds >= stepNanoseconds )
+        {
+            if ( !step() )
+            {
+                accumulatedNanoseconds = 0;
+                break;
+            }
+
+            accumulatedNanoseconds -= stepNanoseconds;
+            steps++;
+        }
+
+        return steps;
+    }
+
+    /**
+     * Performs steps as fast as possible, without any regard for real time,
+     * until either the given number of steps has been performed or the game is over.
+     * Returns the number of steps actually performed.
+     *
+     * @pre | maximumStepCount >= 0
+     * @mutates | getState()
+     * @post | 0 <= result && result <= maximumStepCount
+     */
+    public long run(long maximumStepCount)
+    {
+        var steps = 0L;
+
+        while ( steps < maximumStepCount && step() )
+        {
+            steps++;
+        }
+
+        return steps;
+    }
+
+    /**
+     * Returns whether this engine's thread is running.
+     */
+    public boolean isRunning()
+    {
+        return this.running;
+    }
+
+    /**
+     * Starts a daemon thread that keeps the state in sync with real time
+     * until the game is over or {@link #stop()} is called.
+     *
+     * @throws IllegalStateException
+     *   | isRunning()
+     */
+    public synchronized void start()
+    {
+        if ( running )
+        {
+            throw new IllegalStateException();
+        }
+
+        running = true;
+        // The step count first, so that a reader that sees the new timestamp also sees the new count
+        stepCountAtStart = stepCount;
+        startTimestamp = System.nanoTime();
+        thread = new Thread(this::runRealTime, "breakout-simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops this engine's thread and waits for it to finish.
+     */
+    public synchronized void stop()
+    {
+        running = false;
+
+        if ( thread != null )
+        {
+            LockSupport.unpark(thread);
+
+            try
+            {
+                thread.join();
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            thread = null;
+        }
+    }
+
+    /**
+     * Returns the average number of steps per second since {@link #start()} was last called.
+     */
+    public double getMeasuredStepsPerSecond()
+    {
+        var start = startTimestamp;
+        var steps = stepCount - stepCountAtStart;
+        var elapsedNanoseconds = System.nanoTime() - start;
+
+        if ( elapsedNanoseconds <= 0 )
+        {
+            return 0;
+        }
+
+        return steps * 1e9 / elapsedNanoseconds;
+    }
+
+    private void runRealTime()
+    {
+        var previousTimestamp = System.nanoTime();
+
+        while ( running && !state.isGameOver() )
+        {
+            var currentTimestamp = System.nanoTime();
+            advance(currentTimestamp - previousTimestamp);
+            previousTimestamp = currentTimestamp;
+
+            LockSupport.parkNanos(this, stepNanoseconds - accumulatedNanoseconds);
+        }
+
+        running = false;
+    }
+}
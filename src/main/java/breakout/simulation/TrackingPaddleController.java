@@ -0,0 +1,124 @@
+package breakout.simulation;
+
+import java.util.Random;
+
+import breakout.BreakoutState;
+import breakout.paddles.PaddleMotionDirection;
+
+/**
+ * A bot that moves the paddle to where the first descending ball will cross the paddle's top,
+ * taking bounces off the side walls into account but ignoring bricks.
+ *
+ * To avoid playing every game identically, the bot aims at a random spot on the paddle,
+ * chosen anew every time no ball is descending. Each controller has its own random generator,
+ * so controllers must not be shared between games that are played concurrently.
+ */
+public class TrackingPaddleController implements PaddleController
+{
+    private final Random random;
+
+    /**
+     * Offset from the paddle's center at which the bot tries to catch the ball,
+     * as a fraction (in thousandths) of the paddle's half width.
+     * It is kept well away from the edges: because of the paddle's curved top (see {@link breakout.paddles.Paddle#getKiloNormal(long)}),
+     * a ball coming in at a shallow angle near an edge can be deflected downwards.
+     */
+    private long kiloAimOffset;
+
+    /**
+     * @throws IllegalArgumentException | random == null
+     */
+    public TrackingPaddleController(Random random)
+    {
+        if ( random == null )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        this.random = random;
+        chooseAimOffset();
+    }
+
+    /**
+     * Creates a controller whose random generator is seeded with the given seed.
+     */
+    public TrackingPaddleController(long seed)
+    {
+        this(new Random(seed));
+    }
+
+    private void chooseAimOffset()
+    {
+        this.kiloAimOffset = random.nextLong(-400, 401);
+    }
+
+    @Override
+    public PaddleMotionDirection decide(BreakoutState state)
+    {
+        var paddle = state.getPaddle();
+        var paddleY = paddle.getTopCenter().y();
+        var fieldWidth = state.getBrickGrid().getWidth();
+        var earliestArrival = Long.MAX_VALUE;
+        var target = Long.MIN_VALUE;
+
+        for ( var ball : state.getBalls() )
+        {
+            var centerX = ball.getCenterX();
+            var centerY = ball.getCenterY();
+            var radius = ball.getRadius();
+            var velocityX = ball.getVelocityX();
+            var velocityY = ball.getVelocityY();
+
+            if ( velocityY > 0 && centerY < paddleY )
+            {
+                var arrival = (paddleY - radius - centerY) / velocityY;
+
+                if ( arrival < earliestArrival )
+                {
+                    // The ball's center bounces between radius and fieldWidth - radius
+                    var width = fieldWidth - 2 * radius;
+                    earliestArrival = arrival;
+                    // A ball as wide as the field has no room to move sideways
+                    target = width <= 0 ? fieldWidth / 2 : radius + fold(centerX + arrival * velocityX - radius, width);
+                }
+            }
+        }
+
+        if ( target == Long.MIN_VALUE )
+        {
+            chooseAimOffset();
+
+            return PaddleMotionDirection.STATIONARY;
+        }
+
+        var aim = paddle.getTopCenter().x() + paddle.getHalfWidth() * kiloAimOffset / 1000;
+        var tolerance = Math.max(1, paddle.getHalfWidth() / 8);
+
+        if ( target < aim - tolerance )
+        {
+            return PaddleMotionDirection.LEFT;
+        }
+        else if ( target > aim + tolerance )
+        {
+            return PaddleMotionDirection.RIGHT;
+        }
+        else
+        {
+            return PaddleMotionDirection.STATIONARY;
+        }
+    }
+
+    /**
+     * Maps an x coordinate computed as if there were no side walls
+     * to where the ball actually ends up after bouncing between 0 and width.
+     *
+     * @pre | width > 0
+     */
+    private static long fold(long x, long width)
+    {
+        var period = 2 * width;
+        var position = Math.floorMod(x, period);
+
+        return position <= width ? position : period - position;
+    }
+}
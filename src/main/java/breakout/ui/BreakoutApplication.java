@@ -1,11 +1,17 @@
 package breakout.ui;
 
+import java.awt.DisplayMode;
 import java.awt.EventQueue;
+import java.awt.GraphicsEnvironment;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 
 import javax.swing.JFrame;
 
 import breakout.BreakoutState;
 import breakout.GameMapParser;
+import breakout.simulation.InputLog;
 
 /**
  * LEGIT
@@ -13,6 +19,32 @@ import breakout.GameMapParser;
 public class BreakoutApplication
 {
     private static final String MAP_ENVIRONMENT_VARIABLE = "BREAKOUT_MAP";
+
+    /**
+     * If set, the player's input is recorded and written to the file it names when the application exits.
+     */
+    private static final String RECORD_ENVIRONMENT_VARIABLE = "BREAKOUT_RECORD";
+
+    /**
+     * If set, the input log in the file it names is replayed without opening a window.
+     */
+    private static final String REPLAY_ENVIRONMENT_VARIABLE = "BREAKOUT_REPLAY";
+
+    /**
+     * If set, the number of frames to show per second. By default, the screen's refresh rate is used.
+     */
+    private static final String FPS_ENVIRONMENT_VARIABLE = "BREAKOUT_FPS";
+
+    /**
+     * If set, the game catches up with time it falls behind by, rather than slowing down.
+     */
+    private static final String CATCH_UP_ENVIRONMENT_VARIABLE = "BREAKOUT_CATCH_UP";
+
+    /**
+     * If set, statistics on the time between frames, the game time dropped and the CPU time used by the whole process
+     * are printed when the application exits.
+     */
+    private static final String FRAME_STATISTICS_ENVIRONMENT_VARIABLE = "BREAKOUT_FRAME_STATISTICS";
     
     private static final int FACTOR = 100;
     
@@ -26,10 +58,22 @@ public class BreakoutApplication
 
     public static void main(String[] args)
     {
+        var replayPath = System.getenv(REPLAY_ENVIRONMENT_VARIABLE);
+
+        if ( replayPath != null )
+        {
+            replay(Path.of(replayPath));
+            return;
+        }
+
         var state = createState();
+        var inputLog = createInputLog();
+        var targetFramesPerSecond = getTargetFramesPerSecond();
+        var catchUp = System.getenv(CATCH_UP_ENVIRONMENT_VARIABLE) != null;
         
         EventQueue.invokeLater(() -> {
-            GameView gameView = new GameView(state, FACTOR);
+            GameView gameView = new GameView(state, FACTOR, inputLog, targetFramesPerSecond, catchUp);
+            printFrameStatisticsOnExit(gameView);
             JFrame frame = new JFrame("Breakout");
             frame.getContentPane().add(gameView);
             frame.pack();
@@ -39,6 +83,133 @@ public class BreakoutApplication
         });
     }
     
+    private static int getTargetFramesPerSecond()
+    {
+        var value = System.getenv(FPS_ENVIRONMENT_VARIABLE);
+
+        if ( value != null )
+        {
+            try
+            {
+                var framesPerSecond = Integer.parseInt(value);
+
+                if ( framesPerSecond > 0 )
+                {
+                    return framesPerSecond;
+                }
+            }
+            catch ( NumberFormatException e )
+            {
+                // Reported below
+            }
+
+            System.out.println("Invalid frame rate selected; must be a positive integer");
+            System.exit(-1);
+        }
+
+        if ( !GraphicsEnvironment.isHeadless() )
+        {
+            var refreshRate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDisplayMode().getRefreshRate();
+
+            if ( refreshRate != DisplayMode.REFRESH_RATE_UNKNOWN )
+            {
+                return refreshRate;
+            }
+        }
+
+        return GameView.DEFAULT_FRAMES_PER_SECOND;
+    }
+
+    private static void printFrameStatisticsOnExit(GameView gameView)
+    {
+        if ( System.getenv(FRAME_STATISTICS_ENVIRONMENT_VARIABLE) != null )
+        {
+            var frameScheduler = gameView.getFrameScheduler();
+            var startTimestamp = System.nanoTime();
+            var startCpuTime = getProcessCpuTime();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                System.out.println(frameScheduler.getStatisticsSummary());
+                System.out.println(gameView.getDroppedMilliseconds() + "ms of game time dropped");
+                System.out.println(getProcessCpuSummary(startTimestamp, startCpuTime));
+            }));
+        }
+    }
+    
+    /**
+     * Returns the CPU time used by all threads of this process so far, in nanoseconds, or -1 if the platform does not tell.
+     */
+    private static long getProcessCpuTime()
+    {
+        return ProcessHandle.current().info().totalCpuDuration().map(Duration::toNanos).orElse(-1L);
+    }
+
+    private static String getProcessCpuSummary(long startTimestamp, long startCpuTime)
+    {
+        var cpuTime = getProcessCpuTime();
+
+        if ( startCpuTime < 0 || cpuTime < 0 )
+        {
+            return "CPU time of the process unknown";
+        }
+
+        var elapsedNanoseconds = System.nanoTime() - startTimestamp;
+        var cpuNanoseconds = cpuTime - startCpuTime;
+
+        return String.format("%.0fms of CPU time used by the process in %.0fms, %.1f%% of one core",
+                cpuNanoseconds / 1e6, elapsedNanoseconds / 1e6, 100.0 * cpuNanoseconds / elapsedNanoseconds);
+    }
+
+    private static InputLog createInputLog()
+    {
+        var recordPath = System.getenv(RECORD_ENVIRONMENT_VARIABLE);
+
+        if ( recordPath == null )
+        {
+            return null;
+        }
+
+        var inputLog = new InputLog();
+
+        // Covers both the game ending and the window being closed
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try
+            {
+                inputLog.writeTo(Path.of(recordPath));
+            }
+            catch ( IOException e )
+            {
+                System.err.println("Could not write input log to " + recordPath + ": " + e.getMessage());
+            }
+        }));
+
+        return inputLog;
+    }
+
+    private static void replay(Path path)
+    {
+        InputLog inputLog;
+
+        try
+        {
+            inputLog = InputLog.readFrom(path);
+        }
+        catch ( IOException e )
+        {
+            System.out.println("Could not read input log from " + path + ": " + e.getMessage());
+            System.exit(-1);
+            return;
+        }
+
+        var state = createState();
+        var start = System.nanoTime();
+        var ticks = inputLog.replay(state);
+        var elapsedMilliseconds = (System.nanoTime() - start) / 1_000_000;
+        var outcome = state.isGameWon() ? "won" : state.isGameLost() ? "lost" : "not over";
+
+        System.out.println("Replayed " + ticks + " of " + inputLog.getTickCount() + " ticks in " + elapsedMilliseconds + "ms: game " + outcome
+                + ", " + state.getBrickGrid().getBrickCount() + " bricks left");
+    }
+
     private static BreakoutState createState()
     {
         return GameMapParser.parse(getMap(), 100 * FACTOR, 30 * FACTOR);
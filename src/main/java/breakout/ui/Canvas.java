@@ -1,7 +1,10 @@
 package breakout.ui;
 
 import java.awt.Color;
+import java.awt.FontMetrics;
 import java.awt.Graphics;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
 
 import breakout.math.Circle;
 import breakout.math.CoordinateMapper;
@@ -10,14 +13,119 @@ import breakout.math.Rectangle;
 
 /**
  * LEGIT
+ *
+ * Besides drawing, a canvas keeps track of the pixels it drew on (see {@link #takeDrawnBounds()}),
+ * so that renderers know which part of the screen to restore before the next frame.
+ *
+ * A batched canvas does not draw right away: it maps every shape to pixels and keeps them in an array of ints,
+ * in the order in which they were drawn, until {@link #flush()} draws them in that same order.
+ * Consecutive shapes of the same kind and color form a run, which is drawn in a tight loop, and the color is only set
+ * when it differs from that of the previous run. The result is therefore exactly what drawing right away gives.
+ * Once its arrays have grown large enough, a batched canvas draws without creating any objects.
+ *
+ * The size of a label's text is looked up in a small cache shared by all canvases, so that drawing a label
+ * does not create any objects either once the label was measured before with the same font.
  */
 public class Canvas
 {
+    /**
+     * Extra pixels around every drawn shape in {@link #takeDrawnBounds()}, to cover antialiasing and glyph overhang.
+     */
+    private static final int BOUNDS_MARGIN = 2;
+
     private final Graphics graphics;
     
     private CoordinateMapper pointMapper;
-    
+
+    /**
+     * The distance, in game coordinates, by which everything is moved before it is mapped to pixels.
+     */
+    private long offsetX;
+
+    private long offsetY;
+
+    private boolean drawn;
+
+    private int drawnLeft;
+
+    private int drawnTop;
+
+    private int drawnRight;
+
+    private int drawnBottom;
+
+    private static final int FILLED_RECTANGLE = 0;
+
+    private static final int RECTANGLE_OUTLINE = 1;
+
+    private static final int FILLED_CIRCLE = 2;
+
+    private static final int LINE = 3;
+
+    private static final int LABEL = 4;
+
+    /**
+     * The number of entries in {@link #LABEL_SIZES}, a power of two.
+     */
+    private static final int LABEL_SIZE_CACHE_SIZE = 64;
+
+    /**
+     * Per hash of a label's text: the size of the label measured last with that hash.
+     * Shared by all threads; entries are immutable, so a thread sees either a whole entry or an older one.
+     */
+    private static final LabelSize[] LABEL_SIZES = new LabelSize[LABEL_SIZE_CACHE_SIZE];
+
+    /**
+     * For a batched canvas: the shapes drawn since the last flush, in pixels and in the order in which they were drawn,
+     * each given by four ints. These are the left, top, width and height of a rectangle or circle,
+     * the end points of a line, or the position of a label followed by its index in {@link #labelTexts}.
+     * Null if not batched.
+     */
+    private int[] shapes;
+
+    /**
+     * The number of ints in use in {@link #shapes}.
+     */
+    private int shapeCount;
+
+    /**
+     * Per run of consecutive shapes of the same kind and color: the kind of its shapes.
+     */
+    private int[] runKinds;
+
+    private Color[] runColors;
+
+    /**
+     * Per run: the index in {@link #shapes} right after its last shape.
+     */
+    private int[] runEnds;
+
+    private int runCount;
+
+    /**
+     * The color the graphics has once everything drawn so far is flushed, which is the color labels are drawn in.
+     */
+    private Color currentColor;
+
+    private String[] labelTexts;
+
+    private int labelCount;
+
+    /**
+     * Creates a canvas that draws on the given graphics right away.
+     */
     public Canvas(Graphics graphics, CoordinateMapper pointMapper)
+    {
+        this(graphics, pointMapper, false);
+    }
+
+    /**
+     * Creates a canvas that draws on the given graphics right away or, if batched is true, only when flushed.
+     *
+     * @throws IllegalArgumentException | graphics == null
+     * @throws IllegalArgumentException | pointMapper == null
+     */
+    public Canvas(Graphics graphics, CoordinateMapper pointMapper, boolean batched)
     {
         if ( graphics == null )
         {
@@ -31,70 +139,377 @@ public class Canvas
         
         this.graphics = graphics;
         this.pointMapper = pointMapper;
+        this.drawn = false;
+
+        if ( batched )
+        {
+            this.shapes = new int[64];
+            this.runKinds = new int[16];
+            this.runColors = new Color[16];
+            this.runEnds = new int[16];
+            this.currentColor = graphics.getColor();
+            this.labelTexts = new String[4];
+        }
+        else
+        {
+            this.shapes = null;
+        }
+    }
+
+    /**
+     * For subclasses that do not draw on graphics themselves, and therefore override every drawing method.
+     */
+    protected Canvas()
+    {
+        this.graphics = null;
+        this.pointMapper = null;
+        this.drawn = false;
+        this.shapes = null;
+    }
+
+    public boolean isBatched()
+    {
+        return this.shapes != null;
+    }
+
+    /**
+     * Moves everything drawn from now on by the given distance, in game coordinates, e.g., to draw an object
+     * where it is some time after it was recorded.
+     */
+    public void setOffset(long offsetX, long offsetY)
+    {
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+    }
+
+    /**
+     * Returns the smallest rectangle, in pixels, that covers everything drawn since this canvas was created
+     * or since this method was last called, or null if nothing was drawn. Starts collecting anew.
+     */
+    public java.awt.Rectangle takeDrawnBounds()
+    {
+        if ( !drawn )
+        {
+            return null;
+        }
+
+        drawn = false;
+
+        return new java.awt.Rectangle(drawnLeft, drawnTop, drawnRight - drawnLeft, drawnBottom - drawnTop);
+    }
+
+    /**
+     * Adds the given pixel area, grown by {@link #BOUNDS_MARGIN}, to the drawn bounds.
+     */
+    private void includeInDrawnBounds(long left, long top, long width, long height)
+    {
+        var l = (int) Math.min(left, left + width) - BOUNDS_MARGIN;
+        var t = (int) Math.min(top, top + height) - BOUNDS_MARGIN;
+        var r = (int) Math.max(left, left + width) + BOUNDS_MARGIN + 1;
+        var b = (int) Math.max(top, top + height) + BOUNDS_MARGIN + 1;
+
+        if ( drawn )
+        {
+            drawnLeft = Math.min(drawnLeft, l);
+            drawnTop = Math.min(drawnTop, t);
+            drawnRight = Math.max(drawnRight, r);
+            drawnBottom = Math.max(drawnBottom, b);
+        }
+        else
+        {
+            drawn = true;
+            drawnLeft = l;
+            drawnTop = t;
+            drawnRight = r;
+            drawnBottom = b;
+        }
     }
     
     public void drawFilledRectangle(Color color, Rectangle rectangle)
     {
-        var topLeft = transform(rectangle.getTopLeft());
-        var bottomRight = transform(rectangle.getBottomRight());
-        var left = topLeft.x();
-        var top = topLeft.y();
-        var width = bottomRight.x() - topLeft.x();
-        var height = bottomRight.y() - topLeft.y();
+        var left = mapX(rectangle.getLeft());
+        var top = mapY(rectangle.getTop());
+        var width = mapX(rectangle.getRight()) - left;
+        var height = mapY(rectangle.getBottom()) - top;
         
-        this.graphics.setColor(color);
-        this.graphics.fillRect((int) left, (int) top, (int) width, (int) height);
+        if ( shapes != null )
+        {
+            addShape(FILLED_RECTANGLE, color, left, top, width, height);
+        }
+        else
+        {
+            this.graphics.setColor(color);
+            this.graphics.fillRect((int) left, (int) top, (int) width, (int) height);
+        }
+
+        includeInDrawnBounds(left, top, width, height);
     }
     
     public void drawRectangle(Color color, Rectangle rectangle)
     {
-        var topLeft = transform(rectangle.getTopLeft());
-        var bottomRight = transform(rectangle.getBottomRight());
-        var left = topLeft.x();
-        var top = topLeft.y();
-        var width = bottomRight.x() - topLeft.x();
-        var height = bottomRight.y() - topLeft.y();
+        var left = mapX(rectangle.getLeft());
+        var top = mapY(rectangle.getTop());
+        var width = mapX(rectangle.getRight()) - left;
+        var height = mapY(rectangle.getBottom()) - top;
         
-        this.graphics.setColor(color);
-        this.graphics.drawRect((int) left, (int) top, (int) width, (int) height);
+        if ( shapes != null )
+        {
+            addShape(RECTANGLE_OUTLINE, color, left, top, width, height);
+        }
+        else
+        {
+            this.graphics.setColor(color);
+            this.graphics.drawRect((int) left, (int) top, (int) width, (int) height);
+        }
+
+        includeInDrawnBounds(left, top, width, height);
     }
     
     public void drawFilledCircle(Color color, Circle circle)
     {
-        var boundingRectangle = circle.getBoundingRectangle();
-        var topLeft = transform(boundingRectangle.getTopLeft());
-        var bottomRight = transform(boundingRectangle.getBottomRight());
-        var x = topLeft.x();
-        var y = topLeft.y();
-        var width = bottomRight.x() - topLeft.x();
-        var height = bottomRight.y() - topLeft.y();
+        var x = mapX(circle.getLeft());
+        var y = mapY(circle.getTop());
+        var width = mapX(circle.getRight()) - x;
+        var height = mapY(circle.getBottom()) - y;
         
-        this.graphics.setColor(color);
-        this.graphics.fillOval((int) x, (int) y, (int) width, (int) height);
+        if ( shapes != null )
+        {
+            addShape(FILLED_CIRCLE, color, x, y, width, height);
+        }
+        else
+        {
+            this.graphics.setColor(color);
+            this.graphics.fillOval((int) x, (int) y, (int) width, (int) height);
+        }
+
+        includeInDrawnBounds(x, y, width, height);
     }
     
     public void drawLabel(Color color, String label, Point position)
     {
-        var transformedPosition = transform(position);
-        var fontMetrics = this.graphics.getFontMetrics();
-        var bounds = fontMetrics.getStringBounds(label, this.graphics);
-        var width = (int) bounds.getWidth();
-        var height = (int) bounds.getHeight();
+        var size = getLabelSize(label);
         
-        this.graphics.drawString(label, (int) transformedPosition.x() - width / 2, (int) transformedPosition.y() + height / 2);
+        var x = (int) mapX(position.x()) - size.width / 2;
+        var y = (int) mapY(position.y()) + size.height / 2;
+        
+        if ( shapes != null )
+        {
+            addLabel(label, x, y);
+        }
+        else
+        {
+            this.graphics.drawString(label, x, y);
+        }
+
+        includeInDrawnBounds(x + size.left, y + size.top, size.width + 1, size.height + 1);
+    }
+
+    /**
+     * Returns the size of the given label in the current font, measuring it only if it is not in the cache.
+     */
+    private LabelSize getLabelSize(String label)
+    {
+        var fontMetrics = this.graphics.getFontMetrics();
+        var index = label.hashCode() & (LABEL_SIZE_CACHE_SIZE - 1);
+        var size = LABEL_SIZES[index];
+
+        if ( size == null || size.fontMetrics != fontMetrics || !size.label.equals(label) )
+        {
+            size = new LabelSize(fontMetrics, label, fontMetrics.getStringBounds(label, this.graphics));
+            LABEL_SIZES[index] = size;
+        }
+
+        return size;
     }
     
     public void drawLine(Color color, Point startPoint, Point endPoint)
     {
-        var transformedStartPoint = transform(startPoint);
-        var transformedEndPoint = transform(endPoint);
+        var startX = mapX(startPoint.x());
+        var startY = mapY(startPoint.y());
+        var endX = mapX(endPoint.x());
+        var endY = mapY(endPoint.y());
         
-        this.graphics.setColor(color);
-        this.graphics.drawLine((int) transformedStartPoint.x(), (int) transformedStartPoint.y(), (int) transformedEndPoint.x(), (int) transformedEndPoint.y());
+        if ( shapes != null )
+        {
+            addShape(LINE, color, startX, startY, endX, endY);
+        }
+        else
+        {
+            this.graphics.setColor(color);
+            this.graphics.drawLine((int) startX, (int) startY, (int) endX, (int) endY);
+        }
+
+        includeInDrawnBounds(startX, startY, endX - startX, endY - startY);
     }
-    
-    private Point transform(Point p)
+
+    /**
+     * Draws everything a batched canvas was asked to draw since it was created or last flushed.
+     * Does nothing if this canvas is not batched.
+     */
+    public void flush()
+    {
+        if ( shapes == null )
+        {
+            return;
+        }
+
+        Color color = null;
+        var start = 0;
+
+        for ( var run = 0; run != runCount; ++run )
+        {
+            if ( !runColors[run].equals(color) )
+            {
+                color = runColors[run];
+                graphics.setColor(color);
+            }
+
+            drawShapes(runKinds[run], start, runEnds[run]);
+            start = runEnds[run];
+        }
+
+        // Drop the references to the colors and labels, which can be long gone by the next flush
+        Arrays.fill(runColors, 0, runCount, null);
+        Arrays.fill(labelTexts, 0, labelCount, null);
+        shapeCount = 0;
+        runCount = 0;
+        labelCount = 0;
+    }
+
+    /**
+     * Draws the shapes of the given kind from start up to end in {@link #shapes}.
+     */
+    private void drawShapes(int kind, int start, int end)
     {
-        return pointMapper.map(p);
+        var values = shapes;
+
+        switch ( kind )
+        {
+        case FILLED_RECTANGLE:
+            for ( var i = start; i != end; i += 4 )
+            {
+                graphics.fillRect(values[i], values[i + 1], values[i + 2], values[i + 3]);
+            }
+            break;
+
+        case RECTANGLE_OUTLINE:
+            for ( var i = start; i != end; i += 4 )
+            {
+                graphics.drawRect(values[i], values[i + 1], values[i + 2], values[i + 3]);
+            }
+            break;
+
+        case FILLED_CIRCLE:
+            for ( var i = start; i != end; i += 4 )
+            {
+                graphics.fillOval(values[i], values[i + 1], values[i + 2], values[i + 3]);
+            }
+            break;
+
+        case LINE:
+            for ( var i = start; i != end; i += 4 )
+            {
+                graphics.drawLine(values[i], values[i + 1], values[i + 2], values[i + 3]);
+            }
+            break;
+
+        default:
+            for ( var i = start; i != end; i += 4 )
+            {
+                graphics.drawString(labelTexts[values[i + 2]], values[i], values[i + 1]);
+            }
+            break;
+        }
+    }
+
+    /**
+     * Like drawing right away would, draws the label in the color of whatever was drawn before it.
+     */
+    private void addLabel(String label, int x, int y)
+    {
+        if ( labelCount == labelTexts.length )
+        {
+            labelTexts = Arrays.copyOf(labelTexts, 2 * labelCount);
+        }
+
+        labelTexts[labelCount] = label;
+        addShape(LABEL, currentColor, x, y, labelCount, 0);
+        labelCount++;
+    }
+
+    /**
+     * Adds a shape of the given kind and color after the ones drawn before, starting a new run unless
+     * the previous shape has the same kind and color.
+     */
+    private void addShape(int kind, Color color, long a, long b, long c, long d)
+    {
+        currentColor = color;
+
+        if ( runCount == 0 || runKinds[runCount - 1] != kind || !runColors[runCount - 1].equals(color) )
+        {
+            if ( runCount == runKinds.length )
+            {
+                runKinds = Arrays.copyOf(runKinds, 2 * runCount);
+                runColors = Arrays.copyOf(runColors, 2 * runCount);
+                runEnds = Arrays.copyOf(runEnds, 2 * runCount);
+            }
+
+            runKinds[runCount] = kind;
+            runColors[runCount] = color;
+            runCount++;
+        }
+
+        if ( shapeCount == shapes.length )
+        {
+            shapes = Arrays.copyOf(shapes, 2 * shapeCount);
+        }
+
+        shapes[shapeCount] = (int) a;
+        shapes[shapeCount + 1] = (int) b;
+        shapes[shapeCount + 2] = (int) c;
+        shapes[shapeCount + 3] = (int) d;
+        shapeCount += 4;
+        runEnds[runCount - 1] = shapeCount;
+    }
+
+    private long mapX(long x)
+    {
+        return pointMapper.mapX(x + offsetX);
+    }
+
+    private long mapY(long y)
+    {
+        return pointMapper.mapY(y + offsetY);
+    }
+
+    /**
+     * The size of a label's text in a font, as used by {@link #drawLabel(Color, String, Point)}.
+     */
+    private static class LabelSize
+    {
+        private final FontMetrics fontMetrics;
+
+        private final String label;
+
+        private final int width;
+
+        private final int height;
+
+        /**
+         * The offsets of the text's bounds from the position it is drawn at, rounded down.
+         */
+        private final int left;
+
+        private final int top;
+
+        LabelSize(FontMetrics fontMetrics, String label, Rectangle2D bounds)
+        {
+            this.fontMetrics = fontMetrics;
+            this.label = label;
+            this.width = (int) bounds.getWidth();
+            this.height = (int) bounds.getHeight();
+            this.left = (int) Math.floor(bounds.getX());
+            this.top = (int) Math.floor(bounds.getY());
+        }
     }
 }
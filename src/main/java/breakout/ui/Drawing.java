@@ -0,0 +1,211 @@
+package breakout.ui;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import breakout.math.Circle;
+import breakout.math.Point;
+import breakout.math.Rectangle;
+
+/**
+ * What a game object paints on a {@link Canvas}, recorded so that it can be painted later.
+ *
+ * Drawings are immutable: they only refer to immutable points, circles, colors and strings and to copies
+ * of rectangles, never to the object that was recorded. A drawing recorded on the simulation thread
+ * can therefore be painted on another thread while the game goes on, see {@link RenderSnapshot}.
+ */
+public class Drawing
+{
+    private final Command[] commands;
+
+    private Drawing(List<Command> commands)
+    {
+        this.commands = commands.toArray(new Command[0]);
+    }
+
+    /**
+     * Returns a drawing of whatever the given painter paints on the canvas it is given.
+     *
+     * @pre | painter != null
+     */
+    public static Drawing record(Consumer<Canvas> painter)
+    {
+        var canvas = new RecordingCanvas();
+        painter.accept(canvas);
+
+        return new Drawing(canvas.commands);
+    }
+
+    /**
+     * Paints this drawing on the given canvas, exactly like the recorded painter did.
+     *
+     * @pre | canvas != null
+     */
+    public void paint(Canvas canvas)
+    {
+        for ( var i = 0; i != commands.length; ++i )
+        {
+            commands[i].paint(canvas);
+        }
+    }
+
+    private interface Command
+    {
+        void paint(Canvas canvas);
+    }
+
+    private static class FilledRectangle implements Command
+    {
+        private final Color color;
+
+        private final Rectangle rectangle;
+
+        FilledRectangle(Color color, Rectangle rectangle)
+        {
+            this.color = color;
+            this.rectangle = rectangle;
+        }
+
+        @Override
+        public void paint(Canvas canvas)
+        {
+            canvas.drawFilledRectangle(color, rectangle);
+        }
+    }
+
+    private static class RectangleOutline implements Command
+    {
+        private final Color color;
+
+        private final Rectangle rectangle;
+
+        RectangleOutline(Color color, Rectangle rectangle)
+        {
+            this.color = color;
+            this.rectangle = rectangle;
+        }
+
+        @Override
+        public void paint(Canvas canvas)
+        {
+            canvas.drawRectangle(color, rectangle);
+        }
+    }
+
+    private static class FilledCircle implements Command
+    {
+        private final Color color;
+
+        private final Circle circle;
+
+        FilledCircle(Color color, Circle circle)
+        {
+            this.color = color;
+            this.circle = circle;
+        }
+
+        @Override
+        public void paint(Canvas canvas)
+        {
+            canvas.drawFilledCircle(color, circle);
+        }
+    }
+
+    private static class Label implements Command
+    {
+        private final Color color;
+
+        private final String label;
+
+        private final Point position;
+
+        Label(Color color, String label, Point position)
+        {
+            this.color = color;
+            this.label = label;
+            this.position = position;
+        }
+
+        @Override
+        public void paint(Canvas canvas)
+        {
+            canvas.drawLabel(color, label, position);
+        }
+    }
+
+    private static class Line implements Command
+    {
+        private final Color color;
+
+        private final Point startPoint;
+
+        private final Point endPoint;
+
+        Line(Color color, Point startPoint, Point endPoint)
+        {
+            this.color = color;
+            this.startPoint = startPoint;
+            this.endPoint = endPoint;
+        }
+
+        @Override
+        public void paint(Canvas canvas)
+        {
+            canvas.drawLine(color, startPoint, endPoint);
+        }
+    }
+
+    /**
+     * A canvas that remembers what is drawn on it instead of drawing it.
+     */
+    private static class RecordingCanvas extends Canvas
+    {
+        private final ArrayList<Command> commands = new ArrayList<>();
+
+        @Override
+        public void drawFilledRectangle(Color color, Rectangle rectangle)
+        {
+            commands.add(new FilledRectangle(color, copy(rectangle)));
+        }
+
+        @Override
+        public void drawRectangle(Color color, Rectangle rectangle)
+        {
+            commands.add(new RectangleOutline(color, copy(rectangle)));
+        }
+
+        @Override
+        public void drawFilledCircle(Color color, Circle circle)
+        {
+            commands.add(new FilledCircle(color, circle));
+        }
+
+        @Override
+        public void drawLabel(Color color, String label, Point position)
+        {
+            commands.add(new Label(color, label, position));
+        }
+
+        @Override
+        public void drawLine(Color color, Point startPoint, Point endPoint)
+        {
+            commands.add(new Line(color, startPoint, endPoint));
+        }
+
+        /**
+         * Rectangles have setters, so the recording keeps a copy.
+         */
+        private static Rectangle copy(Rectangle rectangle)
+        {
+            return new Rectangle(rectangle.getLeft(), rectangle.getTop(), rectangle.getWidth(), rectangle.getHeight());
+        }
+
+        @Override
+        public java.awt.Rectangle takeDrawnBounds()
+        {
+            return null;
+        }
+    }
+}
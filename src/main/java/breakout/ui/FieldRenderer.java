@@ -0,0 +1,394 @@
+package breakout.ui;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.ArrayList;
+import java.util.Objects;
+
+import breakout.math.CoordinateMapper;
+
+/**
+ * Renders snapshots of a game incrementally, redrawing only the parts of the screen that changed since the previous frame.
+ *
+ * The background and the bricks are drawn once into the brick layer, a cached image, on a batched {@link Canvas},
+ * which only sets the color when it differs from that of the shapes drawn before. A cell is drawn again
+ * only when the snapshot has another drawing for it, which happens when its brick is removed or replaced,
+ * or when the brick changes its color (see {@link RenderSnapshot}).
+ * The frame is the brick layer with the balls and the paddle drawn on top, moved to where they are in between
+ * two steps of the game (see {@link RenderSnapshot#getOffsetX(int)}). Before they are drawn again,
+ * the regions they covered in the previous frame are restored from the brick layer, see {@link Canvas#takeDrawnBounds()}.
+ * The frame is then copied to the screen as a whole. The cost of a frame is therefore proportional
+ * to the area of what moved or changed, plus a single image copy, rather than to the number of bricks.
+ *
+ * The frame is kept in a {@link VolatileImage}, which can live in video memory, when a graphics configuration
+ * is known, and is rebuilt whenever its contents are lost. The brick layer is a compatible {@link BufferedImage},
+ * which Java2D caches in video memory itself while it is only copied from.
+ */
+public class FieldRenderer
+{
+    private int width;
+
+    private int height;
+
+    private CoordinateMapper coordinateMapper;
+
+    private int columnCount;
+
+    private int rowCount;
+
+    private long brickWidth;
+
+    private long brickHeight;
+
+    /**
+     * The pixel x-coordinates of the left edge of every column of the brick grid, followed by the right edge of the last one.
+     */
+    private int[] columnEdges;
+
+    /**
+     * The pixel y-coordinates of the top edge of every row of the brick grid, followed by the bottom edge of the last one.
+     */
+    private int[] rowEdges;
+
+    private RenderingHints renderingHints;
+
+    private BufferedImage brickLayer;
+
+    private Image frame;
+
+    /**
+     * Per cell of the brick grid: the drawing in the brick layer, or null if the cell is empty.
+     */
+    private Drawing[] paintedDrawings;
+
+    /**
+     * Per cell: the pixels covered by the brick, which can exceed the cell when its label is wide.
+     */
+    private java.awt.Rectangle[] paintedBounds;
+
+    /**
+     * The snapshot the frame shows.
+     */
+    private long paintedSequenceNumber;
+
+    /**
+     * The pixels covered by the balls and the paddle in the frame.
+     */
+    private final ArrayList<java.awt.Rectangle> movingRegions;
+
+    /**
+     * Creates a renderer that has not drawn anything yet; its first frame draws everything.
+     */
+    public FieldRenderer()
+    {
+        this.frame = null;
+        this.movingRegions = new ArrayList<>();
+    }
+
+    /**
+     * Draws the given snapshot on the given graphics, in an area of width by height pixels starting at the origin.
+     * If the snapshot is the one drawn last time, the frame is only copied to the graphics again.
+     * The configuration is used to create images suited to the screen, and can be null.
+     *
+     * @pre | graphics != null
+     * @pre | snapshot != null && !snapshot.isEmpty()
+     * @pre | coordinateMapper != null
+     * @pre | width > 0 && height > 0
+     */
+    public void render(Graphics graphics, GraphicsConfiguration configuration, RenderSnapshot snapshot, CoordinateMapper coordinateMapper, int width, int height)
+    {
+        var hints = graphics instanceof Graphics2D graphics2D ? graphics2D.getRenderingHints() : null;
+
+        if ( needsRebuild(configuration, snapshot, coordinateMapper, width, height, hints) )
+        {
+            rebuild(configuration, snapshot, coordinateMapper, width, height, hints);
+        }
+
+        if ( snapshot.getSequenceNumber() != paintedSequenceNumber )
+        {
+            var frameGraphics = createGraphics(frame);
+
+            try
+            {
+                for ( var region : movingRegions )
+                {
+                    copyFromBrickLayer(frameGraphics, region);
+                }
+
+                movingRegions.clear();
+                updateBricks(frameGraphics, snapshot);
+                paintMovingObjects(frameGraphics, snapshot);
+                paintedSequenceNumber = snapshot.getSequenceNumber();
+            }
+            finally
+            {
+                frameGraphics.dispose();
+            }
+        }
+
+        graphics.drawImage(frame, 0, 0, null);
+
+        if ( frame instanceof VolatileImage volatileFrame && volatileFrame.contentsLost() )
+        {
+            // Draw everything again next time
+            this.frame = null;
+        }
+    }
+
+    private boolean needsRebuild(GraphicsConfiguration configuration, RenderSnapshot snapshot, CoordinateMapper coordinateMapper, int width, int height, RenderingHints hints)
+    {
+        if ( frame == null || width != this.width || height != this.height || coordinateMapper != this.coordinateMapper
+                || snapshot.getColumnCount() != columnCount || snapshot.getRowCount() != rowCount
+                || snapshot.getBrickWidth() != brickWidth || snapshot.getBrickHeight() != brickHeight
+                || !Objects.equals(hints, this.renderingHints) )
+        {
+            return true;
+        }
+
+        if ( frame instanceof VolatileImage volatileFrame )
+        {
+            return configuration == null || volatileFrame.validate(configuration) != VolatileImage.IMAGE_OK;
+        }
+
+        return false;
+    }
+
+    /**
+     * Draws the background and every brick of the given snapshot into a new brick layer, and copies it into a new frame.
+     * The balls and the paddle are drawn by the caller.
+     */
+    private void rebuild(GraphicsConfiguration configuration, RenderSnapshot snapshot, CoordinateMapper coordinateMapper, int width, int height, RenderingHints hints)
+    {
+        this.width = width;
+        this.height = height;
+        this.coordinateMapper = coordinateMapper;
+        this.columnCount = snapshot.getColumnCount();
+        this.rowCount = snapshot.getRowCount();
+        this.brickWidth = snapshot.getBrickWidth();
+        this.brickHeight = snapshot.getBrickHeight();
+        this.renderingHints = hints;
+        this.paintedSequenceNumber = 0;
+
+        this.columnEdges = mapEdges(columnCount, brickWidth, true);
+        this.rowEdges = mapEdges(rowCount, brickHeight, false);
+
+        var cellCount = columnCount * rowCount;
+        this.paintedDrawings = new Drawing[cellCount];
+        this.paintedBounds = new java.awt.Rectangle[cellCount];
+        this.movingRegions.clear();
+
+        if ( configuration != null )
+        {
+            this.brickLayer = configuration.createCompatibleImage(width, height);
+            this.frame = configuration.createCompatibleVolatileImage(width, height);
+        }
+        else
+        {
+            this.brickLayer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            this.frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        }
+
+        var layerGraphics = createGraphics(brickLayer);
+
+        try
+        {
+            layerGraphics.setColor(Color.BLACK);
+            layerGraphics.fillRect(0, 0, width, height);
+
+            var canvas = new Canvas(layerGraphics, coordinateMapper, true);
+
+            // Batched and in grid order, like in repaintCell, so that shared edges and overlapping labels look the same either way
+            for ( var cell = 0; cell != cellCount; ++cell )
+            {
+                paintCell(canvas, snapshot, cell);
+            }
+
+            canvas.flush();
+        }
+        finally
+        {
+            layerGraphics.dispose();
+        }
+
+        var frameGraphics = createGraphics(frame);
+
+        try
+        {
+            frameGraphics.drawImage(brickLayer, 0, 0, null);
+        }
+        finally
+        {
+            frameGraphics.dispose();
+        }
+    }
+
+    /**
+     * Draws every cell whose drawing differs from the one in the brick layer, both into the brick layer and into the frame.
+     */
+    private void updateBricks(Graphics frameGraphics, RenderSnapshot snapshot)
+    {
+        for ( var cell = 0; cell != paintedDrawings.length; ++cell )
+        {
+            if ( snapshot.getBrickDrawing(cell) != paintedDrawings[cell] )
+            {
+                repaintCell(frameGraphics, snapshot, cell);
+            }
+        }
+    }
+
+    /**
+     * Clears the given cell, together with whatever its previous brick drew outside of it, in the brick layer,
+     * draws the bricks overlapping that area again and copies the area into the frame.
+     */
+    private void repaintCell(Graphics frameGraphics, RenderSnapshot snapshot, int cell)
+    {
+        var column = cell % columnCount;
+        var row = cell / columnCount;
+        // The pixels covered by drawing the outline of the cell, see Canvas#drawRectangle
+        var region = new java.awt.Rectangle(columnEdges[column], rowEdges[row],
+                columnEdges[column + 1] - columnEdges[column] + 1, rowEdges[row + 1] - rowEdges[row] + 1);
+
+        if ( paintedBounds[cell] != null )
+        {
+            region.add(paintedBounds[cell]);
+        }
+
+        var layerGraphics = createGraphics(brickLayer);
+
+        try
+        {
+            layerGraphics.setClip(region);
+            layerGraphics.setColor(Color.BLACK);
+            layerGraphics.fillRect(region.x, region.y, region.width, region.height);
+
+            var canvas = new Canvas(layerGraphics, coordinateMapper, true);
+
+            // Neighbouring bricks, and their labels, can reach into the cleared area; they are drawn in grid order, like in rebuild
+            for ( var y = Math.max(0, row - 1); y <= Math.min(rowCount - 1, row + 1); ++y )
+            {
+                for ( var x = Math.max(0, column - 1); x <= Math.min(columnCount - 1, column + 1); ++x )
+                {
+                    var neighbour = y * columnCount + x;
+
+                    if ( neighbour == cell )
+                    {
+                        paintCell(canvas, snapshot, cell);
+                    }
+                    else if ( paintedDrawings[neighbour] != null )
+                    {
+                        // As it is in the brick layer; if it changed as well, it is repainted in turn
+                        paintedDrawings[neighbour].paint(canvas);
+                    }
+                }
+            }
+
+            canvas.flush();
+        }
+        finally
+        {
+            layerGraphics.dispose();
+        }
+
+        copyFromBrickLayer(frameGraphics, region);
+    }
+
+    /**
+     * Draws the snapshot's drawing of the given cell, if any, and remembers it and the region it covers.
+     */
+    private void paintCell(Canvas canvas, RenderSnapshot snapshot, int cell)
+    {
+        var drawing = snapshot.getBrickDrawing(cell);
+        paintedDrawings[cell] = drawing;
+        paintedBounds[cell] = null;
+
+        if ( drawing != null )
+        {
+            canvas.takeDrawnBounds();
+            drawing.paint(canvas);
+            paintedBounds[cell] = canvas.takeDrawnBounds();
+        }
+    }
+
+    /**
+     * Draws the balls and then the paddle into the frame, where they are at the snapshot's fraction of a step,
+     * and remembers the regions they cover.
+     */
+    private void paintMovingObjects(Graphics frameGraphics, RenderSnapshot snapshot)
+    {
+        var canvas = new Canvas(frameGraphics, coordinateMapper);
+        var drawings = snapshot.getMovingDrawings();
+
+        for ( var i = 0; i != drawings.size(); ++i )
+        {
+            canvas.setOffset(snapshot.getOffsetX(i), snapshot.getOffsetY(i));
+            drawings.get(i).paint(canvas);
+            addMovingRegion(canvas.takeDrawnBounds());
+        }
+    }
+
+    private void addMovingRegion(java.awt.Rectangle region)
+    {
+        if ( region != null )
+        {
+            movingRegions.add(region);
+        }
+    }
+
+    private void copyFromBrickLayer(Graphics frameGraphics, java.awt.Rectangle region)
+    {
+        var left = Math.max(0, region.x);
+        var top = Math.max(0, region.y);
+        var right = Math.min(width, region.x + region.width);
+        var bottom = Math.min(height, region.y + region.height);
+
+        if ( left < right && top < bottom )
+        {
+            frameGraphics.drawImage(brickLayer, left, top, right, bottom, left, top, right, bottom, null);
+        }
+    }
+
+    /**
+     * Returns the pixel coordinates of the edges of count cells of the given size, in a row starting at 0,
+     * along the x-axis if horizontal is true and along the y-axis otherwise.
+     */
+    private int[] mapEdges(int count, long size, boolean horizontal)
+    {
+        var edges = new long[count + 1];
+
+        for ( var i = 0; i != edges.length; ++i )
+        {
+            edges[i] = i * size;
+        }
+
+        var result = new int[edges.length];
+
+        if ( horizontal )
+        {
+            coordinateMapper.mapX(edges, result);
+        }
+        else
+        {
+            coordinateMapper.mapY(edges, result);
+        }
+
+        return result;
+    }
+
+    private Graphics createGraphics(Image image)
+    {
+        var graphics = image.getGraphics();
+
+        if ( renderingHints != null && graphics instanceof Graphics2D graphics2D )
+        {
+            graphics2D.setRenderingHints(renderingHints);
+        }
+
+        return graphics;
+    }
+}
@@ -0,0 +1,191 @@
+package breakout.ui;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Paces a loop to a target number of frames per second, and keeps statistics on the time between frames.
+ *
+ * Frames are due at fixed deadlines, one frame period apart, so that the time spent on a frame is not
+ * added to the wait for the next one. Waiting parks the thread (see {@link LockSupport#parkNanos(Object, long)})
+ * rather than spinning, so an idle loop uses no processor time. A loop that falls more than a period
+ * behind does not try to catch up with a burst of frames: the deadlines it missed are skipped and counted.
+ *
+ * Only one thread may wait for frames; the statistics can be read from any thread.
+ */
+public class FrameScheduler
+{
+    private final long frameNanoseconds;
+
+    /**
+     * When the next frame is due, according to {@link System#nanoTime()}.
+     */
+    private long nextDeadline;
+
+    private boolean started;
+
+    /**
+     * When the previous frame started, if any.
+     */
+    private long previousFrameStart;
+
+    private long frameCount;
+
+    private long skippedFrameCount;
+
+    private long totalFrameNanoseconds;
+
+    private long minimumFrameNanoseconds;
+
+    private long maximumFrameNanoseconds;
+
+    /**
+     * @throws IllegalArgumentException | targetFramesPerSecond <= 0
+     * @post | getFrameCount() == 0
+     * @post | getSkippedFrameCount() == 0
+     */
+    public FrameScheduler(int targetFramesPerSecond)
+    {
+        if ( targetFramesPerSecond <= 0 )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        this.frameNanoseconds = 1_000_000_000L / targetFramesPerSecond;
+        this.started = false;
+        this.minimumFrameNanoseconds = Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns the time between two frames at the target rate, in nanoseconds.
+     */
+    public long getFrameNanoseconds()
+    {
+        return this.frameNanoseconds;
+    }
+
+    /**
+     * Waits until the next frame is due. The first frame is due right away.
+     * Returns early, leaving the thread's interrupt status set, if the thread is interrupted.
+     */
+    public void awaitNextFrame()
+    {
+        var now = System.nanoTime();
+
+        if ( !started )
+        {
+            nextDeadline = now;
+        }
+        else
+        {
+            nextDeadline += frameNanoseconds;
+
+            if ( now - nextDeadline >= frameNanoseconds )
+            {
+                // Too far behind: start over from now rather than rushing through the missed frames
+                var missed = (now - nextDeadline) / frameNanoseconds;
+                nextDeadline += missed * frameNanoseconds;
+                recordSkippedFrames(missed);
+            }
+
+            for ( var remaining = nextDeadline - now; remaining > 0; remaining = nextDeadline - System.nanoTime() )
+            {
+                if ( Thread.currentThread().isInterrupted() )
+                {
+                    return;
+                }
+
+                LockSupport.parkNanos(this, remaining);
+            }
+        }
+
+        recordFrameStart(System.nanoTime());
+    }
+
+    /**
+     * Makes the next frame due right away, like the first one, and forgets when the previous frame started,
+     * so that a pause in the loop, e.g., while a new thread takes over, is neither measured nor counted as skipped frames.
+     * The statistics gathered so far are kept.
+     *
+     * Must not be called while a thread is waiting for a frame.
+     *
+     * @post | getFrameCount() == old(getFrameCount())
+     * @post | getSkippedFrameCount() == old(getSkippedFrameCount())
+     */
+    public synchronized void reset()
+    {
+        this.started = false;
+        this.nextDeadline = 0;
+        this.previousFrameStart = 0;
+    }
+
+    private synchronized void recordSkippedFrames(long count)
+    {
+        skippedFrameCount += count;
+    }
+
+    private synchronized void recordFrameStart(long start)
+    {
+        if ( started )
+        {
+            var frameTime = start - previousFrameStart;
+
+            frameCount++;
+            totalFrameNanoseconds += frameTime;
+            minimumFrameNanoseconds = Math.min(minimumFrameNanoseconds, frameTime);
+            maximumFrameNanoseconds = Math.max(maximumFrameNanoseconds, frameTime);
+        }
+
+        started = true;
+        previousFrameStart = start;
+    }
+
+    /**
+     * Returns the number of frames that followed another one, i.e., the number of frame times measured.
+     */
+    public synchronized long getFrameCount()
+    {
+        return this.frameCount;
+    }
+
+    /**
+     * Returns the number of frames that were skipped because the loop fell more than a frame period behind.
+     */
+    public synchronized long getSkippedFrameCount()
+    {
+        return this.skippedFrameCount;
+    }
+
+    /**
+     * Returns the average time between two frames, in nanoseconds, or 0 if no frame time was measured yet.
+     */
+    public synchronized long getAverageFrameNanoseconds()
+    {
+        return frameCount == 0 ? 0 : totalFrameNanoseconds / frameCount;
+    }
+
+    /**
+     * Returns the shortest time between two frames, in nanoseconds, or 0 if no frame time was measured yet.
+     */
+    public synchronized long getMinimumFrameNanoseconds()
+    {
+        return frameCount == 0 ? 0 : minimumFrameNanoseconds;
+    }
+
+    /**
+     * Returns the longest time between two frames, in nanoseconds, or 0 if no frame time was measured yet.
+     */
+    public synchronized long getMaximumFrameNanoseconds()
+    {
+        return this.maximumFrameNanoseconds;
+    }
+
+    /**
+     * Returns a one-line summary of the statistics, with times in milliseconds.
+     */
+    public synchronized String getStatisticsSummary()
+    {
+        return String.format("%d frames, target %.2fms, average %.2fms, minimum %.2fms, maximum %.2fms, %d skipped",
+                frameCount, frameNanoseconds / 1e6, getAverageFrameNanoseconds() / 1e6, getMinimumFrameNanoseconds() / 1e6,
+                getMaximumFrameNanoseconds() / 1e6, skippedFrameCount);
+    }
+}
@@ -2,6 +2,7 @@ package breakout.ui;
 
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.EventQueue;
 import java.awt.Graphics;
 import java.awt.Toolkit;
 
@@ -9,29 +10,66 @@ import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 
 import breakout.BreakoutState;
-import breakout.balls.Ball;
-import breakout.bricks.Brick;
 import breakout.math.CoordinateMapper;
 import breakout.math.Interval;
 import breakout.math.IntervalMapper;
-import breakout.paddles.Paddle;
+import breakout.paddles.PaddleMotionDirection;
+import breakout.simulation.InputLog;
+import breakout.simulation.SimulationEngine;
 
 /**
  * LEGIT
+ *
+ * The game runs on a simulation thread of its own, started when the view is shown and stopped when it is hidden.
+ * Once per frame, at the target frame rate (see {@link FrameScheduler}), the thread lets a {@link SimulationEngine}
+ * catch up with the time that passed, in steps of {@link BreakoutState#MAXIMUM_TIME_DELTA} moving the paddle as the player's input asks,
+ * and then publishes a single snapshot of the game and asks for a repaint. The snapshot records how far the game is
+ * in between two steps, so that the balls and the paddle move smoothly even though a step takes longer than a frame.
+ * Unless the view is asked to catch up, the engine performs at most one step per frame, so that the game slows down
+ * rather than jumps ahead when frames come late (see {@link SimulationEngine#setCatchingUp(boolean)}).
+ * Painting, on the event dispatch thread, only draws the latest snapshot published,
+ * so that a slow tick does not hold up the screen and a slow screen does not hold up the game.
+ * While the simulation thread runs, the state must only be touched by it; the view itself only reads
+ * the published snapshots and the size of the field, taken when the view is created.
  */
 @SuppressWarnings("serial")
 public class GameView extends JPanel
 {
+    /**
+     * The frame rate used when none is given.
+     */
+    public static final int DEFAULT_FRAMES_PER_SECOND = 60;
+
     public BreakoutState breakoutState;
 
     private final PlayerInput playerInput;
 
-    private final Chronometer chronometer;
-
     private final int scaleFactor;
 
+    /**
+     * The size of the game's bounding rectangle, taken before the simulation thread starts,
+     * so that the event dispatch thread never reads the state while the game runs.
+     */
+    private final long fieldWidth;
+
+    private final long fieldHeight;
+
+    private final InputLog inputLog;
+
     private CoordinateMapper coordinateMapper;
 
+    private final FieldRenderer fieldRenderer;
+
+    private final SimulationEngine engine;
+
+    private final SnapshotRecorder recorder;
+
+    private final TripleBuffer<RenderSnapshot> snapshots;
+
+    private final FrameScheduler frameScheduler;
+
+    private Thread simulationThread;
+
     /**
      * Create a new GameView for playing breakout starting from a given
      * breakoutState.
@@ -39,12 +77,54 @@ public class GameView extends JPanel
      * @param breakoutState initial state for the game.
      */
     public GameView(BreakoutState breakoutState, int scaleFactor)
+    {
+        this(breakoutState, scaleFactor, null);
+    }
+
+    /**
+     * Create a new GameView that records every tick's elapsed time and paddle movement
+     * in the given input log, so that the game can be replayed later.
+     * No input is recorded if inputLog is null.
+     */
+    public GameView(BreakoutState breakoutState, int scaleFactor, InputLog inputLog)
+    {
+        this(breakoutState, scaleFactor, inputLog, DEFAULT_FRAMES_PER_SECOND);
+    }
+
+    /**
+     * Create a new GameView that is repainted targetFramesPerSecond times per second.
+     *
+     * @throws IllegalArgumentException | targetFramesPerSecond <= 0
+     */
+    public GameView(BreakoutState breakoutState, int scaleFactor, InputLog inputLog, int targetFramesPerSecond)
+    {
+        this(breakoutState, scaleFactor, inputLog, targetFramesPerSecond, false);
+    }
+
+    /**
+     * Create a new GameView that, if catchUp is true, catches up with the time the game falls behind by
+     * with several steps per frame, rather than slowing down.
+     *
+     * @throws IllegalArgumentException | targetFramesPerSecond <= 0
+     */
+    public GameView(BreakoutState breakoutState, int scaleFactor, InputLog inputLog, int targetFramesPerSecond, boolean catchUp)
     {
         this.breakoutState = breakoutState;
         this.playerInput = new PlayerInput(this);
-        this.chronometer = new Chronometer();
         this.scaleFactor = scaleFactor;
+        this.fieldWidth = breakoutState.getBoundingRectangle().getWidth();
+        this.fieldHeight = breakoutState.getBoundingRectangle().getHeight();
+        this.inputLog = inputLog;
         this.coordinateMapper = null;
+        this.fieldRenderer = new FieldRenderer();
+        this.engine = new SimulationEngine(breakoutState);
+        this.recorder = new SnapshotRecorder();
+        this.snapshots = new TripleBuffer<>(RenderSnapshot::new);
+        this.frameScheduler = new FrameScheduler(targetFramesPerSecond);
+        this.simulationThread = null;
+
+        engine.setPaddleController(this::decidePaddleMovement);
+        engine.setCatchingUp(catchUp);
 
         setBackground(Color.black);
     }
@@ -63,11 +143,10 @@ public class GameView extends JPanel
     {
         var insets = getInsets();
 
-        var boundingRectangle = breakoutState.getBoundingRectangle();
-        var xSourceInterval = new Interval(0, boundingRectangle.getWidth());
-        var xTargetInterval = new Interval(insets.left, insets.left + boundingRectangle.getWidth() / scaleFactor);
-        var ySourceInterval = new Interval(0, boundingRectangle.getHeight());
-        var yTargetInterval = new Interval(insets.top, insets.top + boundingRectangle.getHeight() / scaleFactor);
+        var xSourceInterval = new Interval(0, fieldWidth);
+        var xTargetInterval = new Interval(insets.left, insets.left + fieldWidth / scaleFactor);
+        var ySourceInterval = new Interval(0, fieldHeight);
+        var yTargetInterval = new Interval(insets.top, insets.top + fieldHeight / scaleFactor);
 
         var xIntervalMapper = new IntervalMapper(xSourceInterval, xTargetInterval);
         var yIntervalMapper = new IntervalMapper(ySourceInterval, yTargetInterval);
@@ -75,18 +154,109 @@ public class GameView extends JPanel
         return new CoordinateMapper(xIntervalMapper, yIntervalMapper);
     }
 
-    private void tick(int elapsedMilliseconds)
+    @Override
+    public void addNotify()
     {
-        breakoutState.getPaddle().setMotionDirection(playerInput.getPaddleMovement());;
+        super.addNotify();
+
+        if ( simulationThread == null && !snapshots.acquireLatest().isGameOver() )
+        {
+            // The previous thread, if any, stopped waiting for frames in removeNotify
+            frameScheduler.reset();
+            simulationThread = new Thread(this::runSimulation, "Breakout simulation");
+            simulationThread.setDaemon(true);
+            simulationThread.start();
+        }
+    }
 
-        breakoutState.tick(elapsedMilliseconds);
+    /**
+     * Runs the game until it is over or the thread is interrupted.
+     */
+    private void runSimulation()
+    {
+        publishSnapshot();
+        var previousTimestamp = System.nanoTime();
 
-        if ( breakoutState.isGameOver() )
+        while ( true )
         {
-            exitApplication();
+            frameScheduler.awaitNextFrame();
+
+            if ( Thread.currentThread().isInterrupted() )
+            {
+                return;
+            }
+
+            var timestamp = System.nanoTime();
+            engine.advance(timestamp - previousTimestamp);
+            previousTimestamp = timestamp;
+            // Even without a step, as the balls and the paddle are drawn further along
+            publishSnapshot();
+
+            if ( breakoutState.isGameOver() )
+            {
+                EventQueue.invokeLater(this::exitApplication);
+                return;
+            }
         }
     }
 
+    /**
+     * Consulted by the engine before every step, on the simulation thread.
+     */
+    private PaddleMotionDirection decidePaddleMovement(BreakoutState state)
+    {
+        var paddleMovement = playerInput.getPaddleMovement();
+
+        if ( inputLog != null )
+        {
+            inputLog.record(engine.getStepMilliseconds(), paddleMovement);
+        }
+
+        return paddleMovement;
+    }
+
+    private void publishSnapshot()
+    {
+        recorder.record(engine, snapshots.getBackBuffer());
+        snapshots.publish();
+        repaint();
+    }
+
+    /**
+     * Stops the simulation thread and waits for it to end, so that showing the view again does not start a second one.
+     */
+    @Override
+    public void removeNotify()
+    {
+        if ( simulationThread != null )
+        {
+            simulationThread.interrupt();
+            var interrupted = false;
+
+            // Even if this thread is interrupted, as the simulation thread must not be running when a new one can be started
+            while ( simulationThread.isAlive() )
+            {
+                try
+                {
+                    simulationThread.join();
+                }
+                catch ( InterruptedException e )
+                {
+                    interrupted = true;
+                }
+            }
+
+            if ( interrupted )
+            {
+                Thread.currentThread().interrupt();
+            }
+
+            simulationThread = null;
+        }
+
+        super.removeNotify();
+    }
+
     private void exitApplication()
     {
         var exitMessage = getExitMessage();
@@ -96,12 +266,15 @@ public class GameView extends JPanel
 
     private String getExitMessage()
     {
-        if ( breakoutState.isGameLost() )
+        // Published before this was called, see runSimulation
+        var snapshot = snapshots.acquireLatest();
+
+        if ( snapshot.isGameLost() )
         {
             return "Game over :-(";
         }
 
-        if ( breakoutState.isGameWon() )
+        if ( snapshot.isGameWon() )
         {
             return "You won!";
         }
@@ -109,6 +282,22 @@ public class GameView extends JPanel
         throw new IllegalStateException();
     }
 
+    /**
+     * Returns the scheduler that paces the frames, whose statistics describe how smoothly the game was shown.
+     */
+    public FrameScheduler getFrameScheduler()
+    {
+        return this.frameScheduler;
+    }
+
+    /**
+     * Returns the number of milliseconds of game time dropped so far because the game fell behind.
+     */
+    public long getDroppedMilliseconds()
+    {
+        return this.engine.getDroppedMilliseconds();
+    }
+
     @Override
     public Dimension getPreferredSize()
     {
@@ -122,9 +311,8 @@ public class GameView extends JPanel
 
     private Dimension computeGameFieldSizeInPixels()
     {
-        var boundingRectangle = this.breakoutState.getBoundingRectangle();
-        var width = boundingRectangle.getWidth() / scaleFactor;
-        var height = boundingRectangle.getHeight() / scaleFactor;
+        var width = fieldWidth / scaleFactor;
+        var height = fieldHeight / scaleFactor;
 
         return new Dimension((int) width, (int) height);
     }
@@ -138,69 +326,34 @@ public class GameView extends JPanel
     @Override
     protected void paintComponent(Graphics g)
     {
-        super.paintComponent(g);
-
-        updateGameState();
         renderGameState(g);
         pauseForBreath();
-        repaint();
     }
 
     /**
      * Needed to make animation fluent on linux.
+     * Waiting for the next frame is up to the frame scheduler.
      */
     private void pauseForBreath()
     {
-//        try
-//        {
-//            Thread.sleep(1);
-//        } catch (InterruptedException e)
-//        {
-//        }
         Toolkit.getDefaultToolkit().sync();
     }
 
-    private void updateGameState()
-    {
-        var elapsedMilliseconds = chronometer.millisecondsSinceLastMeasurement();
-        tick(elapsedMilliseconds);
-    }
-
+    /**
+     * Covers the whole component, so there is no need to clear it first.
+     * Only what changed since the previous frame is drawn again, see {@link FieldRenderer}.
+     */
     private void renderGameState(Graphics g)
     {
-        var canvas = new Canvas(g, this.getCoordinateMapper());
+        var snapshot = snapshots.acquireLatest();
 
-        clearScreen(canvas);
-        paintBricks(canvas);
-        paintBalls(canvas);
-        paintPaddle(canvas);
-    }
-
-    private void clearScreen(Canvas canvas)
-    {
-        canvas.drawFilledRectangle(Color.BLACK, breakoutState.getBoundingRectangle());
-    }
-
-    private void paintPaddle(Canvas canvas)
-    {
-        Paddle paddle = breakoutState.getPaddle();
-
-        paddle.paint(canvas);
-    }
-
-    private void paintBalls(Canvas canvas)
-    {
-        for ( Ball ball : breakoutState.getBalls() )
+        if ( snapshot.isEmpty() || getWidth() <= 0 || getHeight() <= 0 )
         {
-            ball.paint(canvas);
+            // Nothing to draw yet
+            super.paintComponent(g);
+            return;
         }
-    }
 
-    private void paintBricks(Canvas canvas)
-    {
-        for ( Brick brick : breakoutState.getBricks() )
-        {
-            brick.paint(canvas);
-        }
+        fieldRenderer.render(g, getGraphicsConfiguration(), snapshot, getCoordinateMapper(), getWidth(), getHeight());
     }
 }
@@ -7,12 +7,15 @@ import breakout.paddles.PaddleMotionDirection;
 
 /**
  * LEGIT
+ *
+ * Keys are pressed on the event dispatch thread, while the paddle movement is asked for on the simulation thread,
+ * hence the volatile fields.
  */
 public class PlayerInput
 {
-    private boolean leftKeyDown = false;
+    private volatile boolean leftKeyDown = false;
 
-    private boolean rightKeyDown = false;
+    private volatile boolean rightKeyDown = false;
 
     public PlayerInput(java.awt.Component component)
     {
@@ -0,0 +1,188 @@
+package breakout.ui;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import breakout.math.Rectangle;
+
+/**
+ * What a game looked like at one moment, as needed to render it: a drawing per cell of the brick grid
+ * and a drawing per ball and of the paddle, and whether the game was won or lost.
+ *
+ * Snapshots are recorded on the simulation thread by a {@link SnapshotRecorder} and handed to the rendering thread
+ * through a {@link TripleBuffer}, which reuses them. While the rendering thread holds a snapshot, nothing changes it.
+ * Its drawings are immutable, and a cell keeps the very same drawing for as long as its brick and the brick's color
+ * stay the same, so renderers can tell which cells changed by comparing drawings for identity.
+ *
+ * The game is ticked in steps, which are usually longer than a frame. To move smoothly nonetheless, a snapshot
+ * records how far the game was in between its last step and the next one (see
+ * {@link breakout.simulation.SimulationEngine#getInterpolationAlpha()}), together with the distance each moving object
+ * goes in a step. Renderers draw the balls and the paddle that fraction of a step further (see {@link #getOffsetX(int)}).
+ */
+public class RenderSnapshot
+{
+    /**
+     * Numbers the snapshots recorded by a recorder, starting from 1; 0 if nothing was recorded in this snapshot yet.
+     */
+    long sequenceNumber;
+
+    int columnCount;
+
+    int rowCount;
+
+    long brickWidth;
+
+    long brickHeight;
+
+    boolean gameWon;
+
+    boolean gameLost;
+
+    /**
+     * Per cell, row by row: the drawing of the brick in it, or null if it is empty.
+     */
+    Drawing[] brickDrawings;
+
+    /**
+     * The drawings of the balls, followed by the drawing of the paddle.
+     */
+    final ArrayList<Drawing> movingDrawings;
+
+    /**
+     * @invar | 0 <= interpolationAlpha && interpolationAlpha < 1
+     */
+    double interpolationAlpha;
+
+    /**
+     * Per moving drawing: the distance along the x-axis and along the y-axis the object goes in a whole step.
+     */
+    long[] stepDistances;
+
+    /**
+     * @post | isEmpty()
+     */
+    public RenderSnapshot()
+    {
+        this.sequenceNumber = 0;
+        this.brickDrawings = new Drawing[0];
+        this.movingDrawings = new ArrayList<>();
+        this.interpolationAlpha = 0;
+        this.stepDistances = new long[0];
+    }
+
+    public boolean isEmpty()
+    {
+        return this.sequenceNumber == 0;
+    }
+
+    /**
+     * Returns a number that is higher for every snapshot recorded later by the same recorder.
+     */
+    public long getSequenceNumber()
+    {
+        return this.sequenceNumber;
+    }
+
+    public int getColumnCount()
+    {
+        return this.columnCount;
+    }
+
+    public int getRowCount()
+    {
+        return this.rowCount;
+    }
+
+    public long getBrickWidth()
+    {
+        return this.brickWidth;
+    }
+
+    public long getBrickHeight()
+    {
+        return this.brickHeight;
+    }
+
+    public boolean isGameWon()
+    {
+        return this.gameWon;
+    }
+
+    public boolean isGameLost()
+    {
+        return this.gameLost;
+    }
+
+    /**
+     * @post | result == (isGameWon() || isGameLost())
+     */
+    public boolean isGameOver()
+    {
+        return this.gameWon || this.gameLost;
+    }
+
+    /**
+     * Returns the drawing of the brick in the given cell, or null if there is none.
+     * Cells are numbered row by row.
+     *
+     * @pre | 0 <= cell && cell < getColumnCount() * getRowCount()
+     */
+    public Drawing getBrickDrawing(int cell)
+    {
+        return this.brickDrawings[cell];
+    }
+
+    /**
+     * Returns the area of the given cell.
+     *
+     * @pre | 0 <= cell && cell < getColumnCount() * getRowCount()
+     * @creates | result
+     */
+    public Rectangle getCellRectangle(int cell)
+    {
+        return new Rectangle(cell % columnCount * brickWidth, cell / columnCount * brickHeight, brickWidth, brickHeight);
+    }
+
+    /**
+     * Returns the drawings of the balls and the paddle, in the order in which they are to be painted.
+     *
+     * @post | result != null
+     */
+    public List<Drawing> getMovingDrawings()
+    {
+        return Collections.unmodifiableList(this.movingDrawings);
+    }
+
+    /**
+     * Returns how far the game was in between its last step and the next one when this snapshot was recorded,
+     * as a fraction of a step.
+     *
+     * @post | 0 <= result && result < 1
+     */
+    public double getInterpolationAlpha()
+    {
+        return this.interpolationAlpha;
+    }
+
+    /**
+     * Returns how far the given moving drawing is to be moved along the x-axis, in game coordinates,
+     * to show the object where it is at this snapshot's fraction of a step.
+     *
+     * @pre | 0 <= index && index < getMovingDrawings().size()
+     */
+    public long getOffsetX(int index)
+    {
+        return Math.round(this.interpolationAlpha * this.stepDistances[2 * index]);
+    }
+
+    /**
+     * Returns how far the given moving drawing is to be moved along the y-axis, see {@link #getOffsetX(int)}.
+     *
+     * @pre | 0 <= index && index < getMovingDrawings().size()
+     */
+    public long getOffsetY(int index)
+    {
+        return Math.round(this.interpolationAlpha * this.stepDistances[2 * index + 1]);
+    }
+}
@@ -0,0 +1,197 @@
+package breakout.ui;
+
+import java.awt.Color;
+
+import breakout.BreakoutState;
+import breakout.BrickGrid;
+import breakout.bricks.Brick;
+import breakout.simulation.SimulationEngine;
+
+/**
+ * Records {@link RenderSnapshot}s of a game, on the thread that runs the game.
+ *
+ * Bricks rarely change, so the recorder keeps the drawing of every cell. Only when the grid's modification count
+ * changes, because a brick was added or removed or changed what it looks like, as a {@link breakout.bricks.SturdyBrick}
+ * does when it loses a life, does it look at the bricks again, and records the ones that are new or whose color changed.
+ * Recording a snapshot therefore usually only draws the balls and the paddle anew.
+ *
+ * The distance a moving object goes in a step, which renderers use to draw it in between two steps
+ * (see {@link RenderSnapshot#getOffsetX(int)}), assumes it keeps going in a straight line, so it is limited
+ * to the field: a ball is not drawn beyond a wall, nor the paddle beyond the interval it is allowed in.
+ * A ball can still be drawn overlapping a brick or the paddle it bounces off during the step.
+ */
+public class SnapshotRecorder
+{
+    private BrickGrid brickGrid;
+
+    private int modificationCount;
+
+    /**
+     * Per cell: the brick whose drawing is kept, or null.
+     */
+    private Brick[] bricks;
+
+    /**
+     * Per cell: the color the brick had when it was recorded.
+     */
+    private Color[] colors;
+
+    /**
+     * Per cell: the drawing of the brick, or null.
+     */
+    private Drawing[] drawings;
+
+    private long sequenceNumber;
+
+    /**
+     * Creates a recorder that has not recorded anything yet.
+     */
+    public SnapshotRecorder()
+    {
+        this.brickGrid = null;
+        this.sequenceNumber = 0;
+    }
+
+    /**
+     * Records the given game into the given snapshot, as it is right after a step.
+     *
+     * @pre | state != null
+     * @pre | snapshot != null
+     * @mutates | snapshot
+     */
+    public void record(BreakoutState state, RenderSnapshot snapshot)
+    {
+        record(state, 0, 0, snapshot);
+    }
+
+    /**
+     * Records the game of the given engine into the given snapshot, together with how far the engine is
+     * in between its last step and the next one. Must be called on the thread that steps the engine.
+     *
+     * @pre | engine != null
+     * @pre | snapshot != null
+     * @mutates | snapshot
+     */
+    public void record(SimulationEngine engine, RenderSnapshot snapshot)
+    {
+        record(engine.getState(), engine.getStepMilliseconds(), engine.getInterpolationAlpha(), snapshot);
+    }
+
+    private void record(BreakoutState state, long stepMilliseconds, double interpolationAlpha, RenderSnapshot snapshot)
+    {
+        updateBrickDrawings(state.getBrickGrid());
+
+        snapshot.sequenceNumber = ++sequenceNumber;
+        snapshot.columnCount = brickGrid.getColumnCount();
+        snapshot.rowCount = brickGrid.getRowCount();
+        snapshot.brickWidth = brickGrid.getBrickWidth();
+        snapshot.brickHeight = brickGrid.getBrickHeight();
+        snapshot.gameWon = state.isGameWon();
+        snapshot.gameLost = state.isGameLost();
+
+        if ( snapshot.brickDrawings.length != drawings.length )
+        {
+            snapshot.brickDrawings = new Drawing[drawings.length];
+        }
+
+        System.arraycopy(drawings, 0, snapshot.brickDrawings, 0, drawings.length);
+
+        snapshot.movingDrawings.clear();
+        snapshot.interpolationAlpha = interpolationAlpha;
+
+        var balls = state.getBalls();
+        var stepDistances = snapshot.stepDistances;
+
+        if ( stepDistances.length != 2 * (balls.size() + 1) )
+        {
+            stepDistances = new long[2 * (balls.size() + 1)];
+            snapshot.stepDistances = stepDistances;
+        }
+
+        var field = state.getBoundingRectangle();
+        var index = 0;
+
+        for ( var ball : balls )
+        {
+            var x = ball.getCenterX();
+            var y = ball.getCenterY();
+            var radius = ball.getRadius();
+
+            snapshot.movingDrawings.add(Drawing.record(ball::paint));
+            stepDistances[index++] = limitDistance(ball.getVelocityX() * stepMilliseconds, field.getLeft() + radius - x, field.getRight() - radius - x);
+            stepDistances[index++] = limitDistance(ball.getVelocityY() * stepMilliseconds, field.getTop() + radius - y, Long.MAX_VALUE);
+        }
+
+        var paddle = state.getPaddle();
+        var paddleX = paddle.getTopCenter().x();
+
+        snapshot.movingDrawings.add(Drawing.record(paddle::paint));
+        // The paddle is always within its allowed interval, so clamping never moves it back
+        stepDistances[index++] = paddle.clamp(paddleX + paddle.computeMovementDistance(stepMilliseconds)) - paddleX;
+        stepDistances[index] = 0;
+    }
+
+    /**
+     * Returns the given distance, shortened so that it lies between the given bounds, but never reversed:
+     * an object that is already beyond a bound is not moved back.
+     */
+    private static long limitDistance(long distance, long minimum, long maximum)
+    {
+        if ( distance > 0 )
+        {
+            return Math.min(distance, Math.max(0, maximum));
+        }
+
+        return Math.max(distance, Math.min(0, minimum));
+    }
+
+    private void updateBrickDrawings(BrickGrid grid)
+    {
+        var columnCount = grid.getColumnCount();
+
+        if ( grid == brickGrid && grid.getModificationCount() == modificationCount )
+        {
+            return;
+        }
+
+        if ( grid != brickGrid || bricks.length != columnCount * grid.getRowCount() )
+        {
+            brickGrid = grid;
+            modificationCount = grid.getModificationCount();
+            bricks = new Brick[columnCount * grid.getRowCount()];
+            colors = new Color[bricks.length];
+            drawings = new Drawing[bricks.length];
+        }
+        else
+        {
+            modificationCount = grid.getModificationCount();
+
+            // Removed and replaced bricks; the cells of new bricks are found below
+            for ( var cell = 0; cell != bricks.length; ++cell )
+            {
+                var brick = bricks[cell];
+
+                if ( brick != null && grid.getBrickAtGridPositionOrNull(brick.getGridPosition()) != brick )
+                {
+                    bricks[cell] = null;
+                    colors[cell] = null;
+                    drawings[cell] = null;
+                }
+            }
+        }
+
+        for ( var brick : grid.getBricksView() )
+        {
+            var position = brick.getGridPosition();
+            var cell = (int) (position.y() * columnCount + position.x());
+            var color = brick.getColor();
+
+            if ( bricks[cell] != brick || colors[cell] != color )
+            {
+                bricks[cell] = brick;
+                colors[cell] = color;
+                drawings[cell] = Drawing.record(brick::paint);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package breakout.ui;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hands buffers from one producer thread to one consumer thread without either of them ever waiting.
+ *
+ * There are three buffers. The producer fills the back buffer and publishes it, which swaps it with the middle buffer.
+ * The consumer takes the front buffer and, if something was published since, first swaps it with the middle buffer.
+ * The producer therefore never touches the buffer the consumer reads, the consumer always reads the most recently
+ * published buffer, and buffers published in between are simply skipped. The only shared state is the index
+ * of the middle buffer, which is swapped atomically; this also makes whatever the producer wrote into a buffer
+ * visible to the consumer that receives it.
+ *
+ * @param <T> the type of the buffers, which are reused rather than allocated anew
+ */
+public class TripleBuffer<T>
+{
+    /**
+     * Set in {@link #middle} when the middle buffer was published after the consumer last took a buffer.
+     */
+    private static final int FRESH = 4;
+
+    private static final int INDEX_MASK = 3;
+
+    private final T[] buffers;
+
+    /**
+     * The index of the middle buffer, plus {@link #FRESH} if it holds news for the consumer.
+     */
+    private final AtomicInteger middle;
+
+    /**
+     * Only used by the producer.
+     */
+    private int back;
+
+    /**
+     * Only used by the consumer.
+     */
+    private int front;
+
+    /**
+     * Creates a triple buffer with three buffers created by the given factory.
+     * The consumer gets the first of them until something is published.
+     *
+     * @pre | factory != null
+     */
+    @SuppressWarnings("unchecked")
+    public TripleBuffer(Supplier<T> factory)
+    {
+        this.buffers = (T[]) new Object[] { factory.get(), factory.get(), factory.get() };
+        this.front = 0;
+        this.middle = new AtomicInteger(1);
+        this.back = 2;
+    }
+
+    /**
+     * Returns the buffer the producer is to fill next. Only to be called by the producer.
+     */
+    public T getBackBuffer()
+    {
+        return buffers[back];
+    }
+
+    /**
+     * Publishes the back buffer, and gives the producer another one to fill. Only to be called by the producer.
+     */
+    public void publish()
+    {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Returns the most recently published buffer, or the buffer returned last time if nothing was published since.
+     * The buffer is not touched by the producer until the next call. Only to be called by the consumer.
+     */
+    public T acquireLatest()
+    {
+        if ( (middle.get() & FRESH) != 0 )
+        {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+
+        return buffers[front];
+    }
+}
@@ -67,6 +67,17 @@ public class Grid<T>
         return this.grid[(int) position.y()][(int) position.x()];
     }
 
+    /**
+     * Returns the value at a particular position, given as separate coordinates.
+     * Unlike {@link #at(Point)}, this does not require a Point to be allocated.
+     * 
+     * @pre | isValidPosition(x, y)
+     */
+    public T at(int x, int y)
+    {
+        return this.grid[y][x];
+    }
+
     /**
      * Sets the value at a particular position.
      * It is allowed to store null values.
@@ -90,6 +101,16 @@ public class Grid<T>
         return 0 <= position.x() && position.x() < getWidth() && 0 <= position.y() && position.y() < getHeight();
     }
 
+    /**
+     * Checks if the given coordinates fall within the bounds of the grid.
+     * 
+     * @post | result == (0 <= x && x < getWidth() && 0 <= y && y < getHeight())
+     */
+    public boolean isValidPosition(long x, long y)
+    {
+        return 0 <= x && x < getWidth() && 0 <= y && y < getHeight();
+    }
+
     /**
      * @creates | result
      * @post | result != null
@@ -106,16 +127,45 @@ public class Grid<T>
         return positions.stream();
     }
 
+    /**
+     * Copy constructor: copies the values row by row and shares the (immutable) list of positions.
+     */
+    private Grid(Grid<T> original)
+    {
+        this.grid = original.grid.clone();
+
+        for ( int y = 0; y != this.grid.length; ++y )
+        {
+            this.grid[y] = this.grid[y].clone();
+        }
+
+        this.positions = original.positions;
+    }
+
     /**
      * shallow copy
      */
     public Grid<T> giveCopy()
     {
-        Grid<T> res = new Grid<T>(getWidth(), getHeight());
-        for ( Point p : positions )
+        return new Grid<T>(this);
+    }
+
+    /**
+     * Overwrites all values of this grid with those of the given grid (shallow copy).
+     * 
+     * @throws IllegalArgumentException | other.getWidth() != getWidth() || other.getHeight() != getHeight()
+     * @post | getPositions().stream().allMatch(p -> at(p) == other.at(p))
+     */
+    public void copyFrom(Grid<T> other)
+    {
+        if ( other.getWidth() != getWidth() || other.getHeight() != getHeight() )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        for ( int y = 0; y != this.grid.length; ++y )
         {
-            res.setAt(p, at(p));
+            System.arraycopy(other.grid[y], 0, this.grid[y], 0, getWidth());
         }
-        return res;
     }
 }
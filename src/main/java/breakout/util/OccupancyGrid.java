@@ -0,0 +1,276 @@
+package breakout.util;
+
+/**
+ * Keeps track of which cells of a width x height grid are occupied, one bit per cell.
+ *
+ * Besides the cells themselves, the number of occupied cells per row and per column is kept,
+ * as well as one bit per row and per column telling whether it holds any occupied cell at all.
+ * The latter allow runs of empty rows or columns to be found a word (64 rows or columns) at a time,
+ * see {@link #nextNonEmptyRow(long, long)} and {@link #nextNonEmptyColumn(long, long)}.
+ *
+ * @invar | 0 <= getCount() && getCount() <= getWidth() * getHeight()
+ */
+public class OccupancyGrid
+{
+    private static final int WORD_SIZE = 64;
+
+    private final int width;
+
+    private final int height;
+
+    private final int wordsPerRow;
+
+    /**
+     * Bit x of row y is stored at bit (x % 64) of cells[y * wordsPerRow + x / 64].
+     */
+    private final long[] cells;
+
+    private final int[] rowCounts;
+
+    private final int[] columnCounts;
+
+    /**
+     * Bit y is set iff rowCounts[y] != 0.
+     */
+    private final long[] nonEmptyRows;
+
+    /**
+     * Bit x is set iff columnCounts[x] != 0.
+     */
+    private final long[] nonEmptyColumns;
+
+    private int count;
+
+    /**
+     * Creates an occupancy grid in which no cell is occupied.
+     *
+     * @throws IllegalArgumentException | width <= 0 || height <= 0
+     * @post | getWidth() == width
+     * @post | getHeight() == height
+     * @post | getCount() == 0
+     */
+    public OccupancyGrid(int width, int height)
+    {
+        if ( width <= 0 || height <= 0 )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = wordCount(width);
+        this.cells = new long[height * wordsPerRow];
+        this.rowCounts = new int[height];
+        this.columnCounts = new int[width];
+        this.nonEmptyRows = new long[wordCount(height)];
+        this.nonEmptyColumns = new long[wordCount(width)];
+    }
+
+    /**
+     * Returns an occupancy grid with the same dimensions and the same occupied cells as this one.
+     *
+     * @creates | result
+     */
+    public OccupancyGrid copy()
+    {
+        var result = new OccupancyGrid(width, height);
+        result.copyFrom(this);
+
+        return result;
+    }
+
+    /**
+     * Makes the same cells occupied as in the given grid.
+     *
+     * @throws IllegalArgumentException | other.getWidth() != getWidth() || other.getHeight() != getHeight()
+     * @post | getCount() == other.getCount()
+     * @mutates | this
+     */
+    public void copyFrom(OccupancyGrid other)
+    {
+        if ( other.width != width || other.height != height )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        System.arraycopy(other.cells, 0, cells, 0, cells.length);
+        System.arraycopy(other.rowCounts, 0, rowCounts, 0, rowCounts.length);
+        System.arraycopy(other.columnCounts, 0, columnCounts, 0, columnCounts.length);
+        System.arraycopy(other.nonEmptyRows, 0, nonEmptyRows, 0, nonEmptyRows.length);
+        System.arraycopy(other.nonEmptyColumns, 0, nonEmptyColumns, 0, nonEmptyColumns.length);
+        count = other.count;
+    }
+
+    private static int wordCount(int bitCount)
+    {
+        return (bitCount + WORD_SIZE - 1) / WORD_SIZE;
+    }
+
+    public int getWidth()
+    {
+        return this.width;
+    }
+
+    public int getHeight()
+    {
+        return this.height;
+    }
+
+    /**
+     * Returns the number of occupied cells.
+     */
+    public int getCount()
+    {
+        return this.count;
+    }
+
+    /**
+     * Checks whether no cell is occupied.
+     *
+     * @post | result == (getCount() == 0)
+     */
+    public boolean isEmpty()
+    {
+        return this.count == 0;
+    }
+
+    /**
+     * Checks whether the cell at the given coordinates is occupied.
+     *
+     * @pre | 0 <= x && x < getWidth()
+     * @pre | 0 <= y && y < getHeight()
+     */
+    public boolean isOccupied(int x, int y)
+    {
+        return (cells[y * wordsPerRow + x / WORD_SIZE] & (1L << x)) != 0;
+    }
+
+    /**
+     * Marks the cell at the given coordinates as occupied or free.
+     *
+     * @pre | 0 <= x && x < getWidth()
+     * @pre | 0 <= y && y < getHeight()
+     * @post | isOccupied(x, y) == occupied
+     * @mutates | this
+     */
+    public void setOccupied(int x, int y, boolean occupied)
+    {
+        if ( isOccupied(x, y) == occupied )
+        {
+            return;
+        }
+
+        var delta = occupied ? 1 : -1;
+
+        cells[y * wordsPerRow + x / WORD_SIZE] ^= 1L << x;
+        count += delta;
+        rowCounts[y] += delta;
+        columnCounts[x] += delta;
+
+        // The row (column) bit only changes when its count goes from 0 to 1 or from 1 to 0
+        if ( rowCounts[y] == (occupied ? 1 : 0) )
+        {
+            nonEmptyRows[y / WORD_SIZE] ^= 1L << y;
+        }
+
+        if ( columnCounts[x] == (occupied ? 1 : 0) )
+        {
+            nonEmptyColumns[x / WORD_SIZE] ^= 1L << x;
+        }
+    }
+
+    /**
+     * Checks whether the given row holds no occupied cell.
+     * Rows outside the grid are considered to be empty.
+     */
+    public boolean isRowEmpty(long row)
+    {
+        return row < 0 || row >= height || rowCounts[(int) row] == 0;
+    }
+
+    /**
+     * Checks whether the given column holds no occupied cell.
+     * Columns outside the grid are considered to be empty.
+     */
+    public boolean isColumnEmpty(long column)
+    {
+        return column < 0 || column >= width || columnCounts[(int) column] == 0;
+    }
+
+    /**
+     * Returns the first row that is not empty, looking from {@code fromRow} onwards in the direction
+     * given by {@code step}. {@code fromRow} itself is included and may lie outside the grid.
+     * If there is no such row, -1 (when {@code step < 0}) or {@link #getHeight()} (when {@code step > 0}) is returned.
+     *
+     * @pre | step == 1 || step == -1
+     */
+    public int nextNonEmptyRow(long fromRow, long step)
+    {
+        return nextSetBit(nonEmptyRows, height, fromRow, step);
+    }
+
+    /**
+     * Returns the first column that is not empty, looking from {@code fromColumn} onwards in the direction
+     * given by {@code step}. {@code fromColumn} itself is included and may lie outside the grid.
+     * If there is no such column, -1 (when {@code step < 0}) or {@link #getWidth()} (when {@code step > 0}) is returned.
+     *
+     * @pre | step == 1 || step == -1
+     */
+    public int nextNonEmptyColumn(long fromColumn, long step)
+    {
+        return nextSetBit(nonEmptyColumns, width, fromColumn, step);
+    }
+
+    /**
+     * Scans the first {@code length} bits of {@code words} from bit {@code from} in the direction of {@code step}.
+     */
+    private static int nextSetBit(long[] words, int length, long from, long step)
+    {
+        if ( step > 0 )
+        {
+            if ( from >= length )
+            {
+                return length;
+            }
+
+            var start = (int) Math.max(from, 0);
+            var index = start / WORD_SIZE;
+            var word = words[index] & (-1L << start);
+
+            while ( word == 0 )
+            {
+                if ( ++index == words.length )
+                {
+                    return length;
+                }
+
+                word = words[index];
+            }
+
+            return index * WORD_SIZE + Long.numberOfTrailingZeros(word);
+        }
+        else
+        {
+            if ( from < 0 )
+            {
+                return -1;
+            }
+
+            var start = (int) Math.min(from, length - 1);
+            var index = start / WORD_SIZE;
+            var word = words[index] & (-1L >>> (WORD_SIZE - 1 - start % WORD_SIZE));
+
+            while ( word == 0 )
+            {
+                if ( --index < 0 )
+                {
+                    return -1;
+                }
+
+                word = words[index];
+            }
+
+            return index * WORD_SIZE + WORD_SIZE - 1 - Long.numberOfLeadingZeros(word);
+        }
+    }
+}
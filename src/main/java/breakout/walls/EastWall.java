@@ -25,14 +25,23 @@ public class EastWall extends VerticalWall
     @Override
     public Collision findCollision(Ball ball)
     {
-        var ballPosition = ball.getGeometry().getRightmostPoint();
-        var ballVelocity = ball.getVelocity();
+        return findCollision(ball, Long.MAX_VALUE);
+    }
+
+    @Override
+    public Collision findCollision(Ball ball, long maximumTime)
+    {
+        var ballRight = ball.getCenterX() + ball.getRadius();
+        var ballVelocityX = ball.getVelocityX();
 
-        if ( ballVelocity.x() > 0 && ballPosition.x() <= getXCoordinate() )
+        if ( ballVelocityX > 0 && ballRight <= getXCoordinate() )
         {
-            var t = (this.getXCoordinate() - ballPosition.x()) / ballVelocity.x();
+            var t = (this.getXCoordinate() - ballRight) / ballVelocityX;
 
-            return new Collision(t, Vector.KILO_LEFT);
+            if ( t <= maximumTime )
+            {
+                return new Collision(t, Vector.KILO_LEFT);
+            }
         }
 
         return null;
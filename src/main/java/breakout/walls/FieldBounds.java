@@ -0,0 +1,136 @@
+package breakout.walls;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import breakout.MutableCollision;
+import breakout.math.Vector;
+
+/**
+ * The standard walls around a game field: a {@link NorthWall}, an {@link EastWall} and a {@link WestWall}.
+ *
+ * Asking each wall in a list for its collision with a ball takes a virtual call per wall.
+ * Knowing which walls there are, the collision can be found in a few branches instead:
+ * a ball can only hit the north wall when moving up, and only one of the east and west walls, depending on
+ * the sign of its horizontal velocity (see {@link #findEarliestCollision}). The result is exactly the one
+ * the walls themselves would give, in the order of {@link #createWallList()}.
+ *
+ * FieldBounds objects are immutable, and so are the walls they create.
+ */
+public class FieldBounds
+{
+    private final NorthWall northWall;
+
+    private final EastWall eastWall;
+
+    private final WestWall westWall;
+
+    /**
+     * @throws IllegalArgumentException | right < left
+     * @post | getLeft() == left
+     * @post | getTop() == top
+     * @post | getRight() == right
+     */
+    public FieldBounds(long left, long top, long right)
+    {
+        if ( right < left )
+        {
+            throw new IllegalArgumentException();
+        }
+
+        this.northWall = new NorthWall(top);
+        this.eastWall = new EastWall(right);
+        this.westWall = new WestWall(left);
+    }
+
+    public long getLeft()
+    {
+        return this.westWall.getXCoordinate();
+    }
+
+    public long getTop()
+    {
+        return this.northWall.getYCoordinate();
+    }
+
+    public long getRight()
+    {
+        return this.eastWall.getXCoordinate();
+    }
+
+    /**
+     * Returns a new list holding this field's walls: the north, east and west wall, in that order.
+     *
+     * @creates | result
+     * @post | result.size() == 3
+     * @post | isBoundaryOf(result)
+     */
+    public ArrayList<Wall> createWallList()
+    {
+        return new ArrayList<>(Arrays.asList(northWall, eastWall, westWall));
+    }
+
+    /**
+     * Returns whether the given walls are exactly the ones of {@link #createWallList()},
+     * in which case {@link #findEarliestCollision} gives the same result as asking each of them.
+     *
+     * @pre | walls != null
+     */
+    public boolean isBoundaryOf(List<Wall> walls)
+    {
+        return walls.size() == 3 && walls.get(0) == northWall && walls.get(1) == eastWall && walls.get(2) == westWall;
+    }
+
+    /**
+     * Offers the earliest collision of a ball with the given position, radius and velocity with one of this field's walls,
+     * provided it happens within {@code maximumTime} milliseconds, to the given result (see {@link MutableCollision#offer}).
+     * Returns whether the result was updated. Does not allocate.
+     *
+     * @pre | maximumTime >= 0
+     * @pre | result != null
+     * @mutates | result
+     */
+    public boolean findEarliestCollision(long centerX, long centerY, long radius, long velocityX, long velocityY, long maximumTime, MutableCollision result)
+    {
+        var kept = false;
+
+        // Same conditions and times as NorthWall, EastWall and WestWall, offered in the same order, so that ties are resolved alike
+        if ( velocityY < 0 )
+        {
+            var ballTop = centerY - radius;
+            var top = getTop();
+
+            if ( ballTop > top )
+            {
+                var t = (ballTop - top) / -velocityY;
+                kept = t <= maximumTime && result.offer(t, Vector.KILO_DOWN, null);
+            }
+        }
+
+        if ( velocityX > 0 )
+        {
+            var ballRight = centerX + radius;
+            var right = getRight();
+
+            if ( ballRight <= right )
+            {
+                var t = (right - ballRight) / velocityX;
+                kept |= t <= maximumTime && result.offer(t, Vector.KILO_LEFT, null);
+            }
+        }
+        else if ( velocityX < 0 )
+        {
+            var ballLeft = centerX - radius;
+            var left = getLeft();
+
+            if ( ballLeft >= left )
+            {
+                var t = (ballLeft - left) / -velocityX;
+                kept |= t <= maximumTime && result.offer(t, Vector.KILO_LEFT, null);
+            }
+        }
+
+        return kept;
+    }
+}
@@ -22,14 +22,23 @@ public class NorthWall extends HorizontalWall
     @Override
     public Collision findCollision(Ball ball)
     {
-        var ballPosition = ball.getGeometry().getTopmostPoint();
-        var ballVelocity = ball.getVelocity();
+        return findCollision(ball, Long.MAX_VALUE);
+    }
+
+    @Override
+    public Collision findCollision(Ball ball, long maximumTime)
+    {
+        var ballTop = ball.getCenterY() - ball.getRadius();
+        var ballVelocityY = ball.getVelocityY();
 
-        if ( ballVelocity.y() < 0 && ballPosition.y() > getYCoordinate() )
+        if ( ballVelocityY < 0 && ballTop > getYCoordinate() )
         {
-            var t = (ballPosition.y() - getYCoordinate()) / -ballVelocity.y();
+            var t = (ballTop - getYCoordinate()) / -ballVelocityY;
 
-            return new Collision(t, Vector.KILO_DOWN);
+            if ( t <= maximumTime )
+            {
+                return new Collision(t, Vector.KILO_DOWN);
+            }
         }
 
         return null;
@@ -20,6 +20,29 @@ public abstract class Wall
      * Returns null if there is no collision. 
      */
     public abstract Collision findCollision(Ball ball);
+
+    /**
+     * Computes the collision between this wall and the given ball, provided it happens
+     * within {@code maximumTime} milliseconds. Returns null otherwise.
+     * Subtypes should override this method to give up before allocating a Collision
+     * that would be discarded anyway.
+     * 
+     * @pre | ball != null
+     * @pre | maximumTime >= 0
+     * @inspects | ball
+     * @post | result == null || result.getMillisecondsUntilCollision() <= maximumTime
+     */
+    public Collision findCollision(Ball ball, long maximumTime)
+    {
+        var collision = findCollision(ball);
+
+        if ( collision != null && collision.getMillisecondsUntilCollision() <= maximumTime )
+        {
+            return collision;
+        }
+
+        return null;
+    }
     
     /**
      * Normal unit vector.
@@ -25,14 +25,23 @@ public class WestWall extends VerticalWall
     @Override
     public Collision findCollision(Ball ball)
     {
-        var ballPosition = ball.getGeometry().getLeftmostPoint();
-        var ballVelocity = ball.getVelocity();
+        return findCollision(ball, Long.MAX_VALUE);
+    }
 
-        if ( ballVelocity.x() < 0 && ballPosition.x() >= getXCoordinate() )
+    @Override
+    public Collision findCollision(Ball ball, long maximumTime)
+    {
+        var ballLeft = ball.getCenterX() - ball.getRadius();
+        var ballVelocityX = ball.getVelocityX();
+
+        if ( ballVelocityX < 0 && ballLeft >= getXCoordinate() )
         {
-            var t = (ballPosition.x() - getXCoordinate()) / -ballVelocity.x();
-            
-            return new Collision(t, Vector.KILO_LEFT);
+            var t = (ballLeft - getXCoordinate()) / -ballVelocityX;
+
+            if ( t <= maximumTime )
+            {
+                return new Collision(t, Vector.KILO_LEFT);
+            }
         }
 
         return null;
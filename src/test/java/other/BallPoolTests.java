@@ -0,0 +1,239 @@
+package other;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import breakout.GameMapParser;
+import breakout.balls.Ball;
+import breakout.balls.BallPool;
+import breakout.balls.StandardBehavior;
+import breakout.balls.WeakBallBehavior;
+import breakout.math.Circle;
+import breakout.math.Point;
+import breakout.math.Rectangle;
+import breakout.math.Vector;
+
+@Timeout(5)
+public class BallPoolTests
+{
+    private static final Rectangle AREA = new Rectangle(0, 0, 100000, 100000);
+
+    /**
+     * Adds a ball whose state is derived from i, see {@link #assertBallState(Ball, int)}.
+     */
+    private static Ball addBall(BallPool pool, int i)
+    {
+        return pool.add(new Rectangle(0, 0, 100000, 100000 + i), new Circle(new Point(1000 * i, 2000 * i), 100 + i), new Vector(i, -i), new WeakBallBehavior());
+    }
+
+    private static Ball createDetachedBall(int i)
+    {
+        return new Ball(AREA, new Circle(new Point(1000 * i, 2000 * i), 100 + i), new Vector(i, -i), new StandardBehavior());
+    }
+
+    private static void assertBallState(Ball ball, int i)
+    {
+        assertEquals(new Circle(new Point(1000 * i, 2000 * i), 100 + i), ball.getGeometry());
+        assertEquals(new Vector(i, -i), ball.getVelocity());
+    }
+
+    @Test
+    void releasingAMiddleBallMovesTheLastOne()
+    {
+        var pool = new BallPool();
+        var first = addBall(pool, 1);
+        var middle = addBall(pool, 2);
+        var last = addBall(pool, 3);
+        var middleBehavior = middle.getBehavior();
+        var lastBehavior = last.getBehavior();
+        var lastArea = last.getAllowedArea();
+
+        pool.release(middle);
+
+        assertEquals(2, pool.size());
+        assertSame(first, pool.get(0));
+        assertSame(last, pool.get(1));
+        assertFalse(pool.contains(middle));
+        assertTrue(pool.contains(last));
+        assertBallState(first, 1);
+        assertBallState(middle, 2);
+        assertBallState(last, 3);
+        assertSame(middleBehavior, middle.getBehavior());
+        assertSame(lastBehavior, last.getBehavior());
+        assertSame(lastArea, last.getAllowedArea());
+    }
+
+    @Test
+    void releasedAndMovedBallsDoNotShareState()
+    {
+        var pool = new BallPool();
+        addBall(pool, 1);
+        var middle = addBall(pool, 2);
+        var last = addBall(pool, 3);
+
+        pool.release(middle);
+        last.move(10);
+        middle.setVelocity(new Vector(7, 7));
+
+        assertEquals(new Point(3000 + 30, 6000 - 30), last.getCenter());
+        assertEquals(new Vector(3, -3), last.getVelocity());
+        assertEquals(new Point(2000, 4000), middle.getCenter());
+        assertEquals(new Vector(7, 7), middle.getVelocity());
+    }
+
+    @Test
+    void releasingTheLastBall()
+    {
+        var pool = new BallPool();
+        var first = addBall(pool, 1);
+        var last = addBall(pool, 2);
+
+        pool.release(last);
+        pool.release(first);
+
+        assertEquals(0, pool.size());
+        assertBallState(first, 1);
+        assertBallState(last, 2);
+        assertThrows(IllegalArgumentException.class, () -> pool.release(first));
+    }
+
+    @Test
+    void adoptKeepsTheBallsState()
+    {
+        var pool = new BallPool();
+        addBall(pool, 1);
+        var ball = createDetachedBall(2);
+        var behavior = ball.getBehavior();
+
+        pool.adopt(ball);
+        pool.adopt(ball);
+
+        assertEquals(2, pool.size());
+        assertSame(ball, pool.get(1));
+        assertBallState(ball, 2);
+        assertSame(behavior, ball.getBehavior());
+    }
+
+    @Test
+    void adoptFromAnotherGamesPoolIsRejected()
+    {
+        var pool = new BallPool();
+        var otherPool = new BallPool();
+        var ball = addBall(otherPool, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> pool.adopt(ball));
+        assertThrows(IllegalArgumentException.class, () -> pool.adopt(null));
+        assertEquals(0, pool.size());
+        assertTrue(otherPool.contains(ball));
+        assertBallState(ball, 1);
+
+        // Once released, it is on its own and can be adopted
+        otherPool.release(ball);
+        pool.adopt(ball);
+
+        assertTrue(pool.contains(ball));
+        assertEquals(0, otherPool.size());
+        assertBallState(ball, 1);
+    }
+
+    @Test
+    void adoptFromAGameIsRejected()
+    {
+        var state = GameMapParser.parse(GameMapParser.descr2, 10000, 3000);
+        var ball = state.getBalls().get(0);
+
+        assertThrows(IllegalArgumentException.class, () -> new BallPool().adopt(ball));
+        assertTrue(state.containsBall(ball));
+    }
+
+    @Test
+    void sparePoolsAreReused()
+    {
+        var pool = new BallPool();
+
+        for ( var round = 0; round != 100; ++round )
+        {
+            var balls = new ArrayList<Ball>();
+
+            for ( var i = 0; i != 3; ++i )
+            {
+                var ball = createDetachedBall(i);
+                balls.add(ball);
+                pool.adopt(ball);
+            }
+
+            // The pools the balls came from are kept
+            assertEquals(3, pool.getSparePoolCount());
+
+            pool.releaseAll();
+
+            // And taken again to release the balls into, rather than new ones
+            assertEquals(0, pool.getSparePoolCount());
+
+            for ( var i = 0; i != 3; ++i )
+            {
+                assertFalse(pool.contains(balls.get(i)));
+                assertBallState(balls.get(i), i);
+            }
+        }
+    }
+
+    @Test
+    void sparePoolsAreLimited()
+    {
+        var pool = new BallPool();
+
+        for ( var i = 0; i != 100; ++i )
+        {
+            pool.adopt(createDetachedBall(i));
+        }
+
+        assertEquals(100, pool.size());
+        assertTrue(pool.getSparePoolCount() < 100);
+
+        for ( var i = 0; i != 100; ++i )
+        {
+            assertBallState(pool.get(i), i);
+        }
+    }
+
+    @Test
+    void repeatedRestoresKeepBallsValid()
+    {
+        var state = GameMapParser.parse(GameMapParser.descr2, 10000, 3000);
+        state.addBall(new Circle(new Point(5000, 20000), 300), new Vector(4, 6), new StandardBehavior());
+        var snapshot = state.snapshot();
+        var centers = new ArrayList<Point>();
+
+        for ( var ball : snapshot.getBalls() )
+        {
+            centers.add(ball.getCenter());
+        }
+
+        for ( var round = 0; round != 50; ++round )
+        {
+            state.restore(snapshot);
+            var restored = new ArrayList<>(state.getBalls());
+            state.tick(20);
+            state.restore(snapshot);
+
+            for ( var i = 0; i != centers.size(); ++i )
+            {
+                // Released by the second restore, they keep where the tick left them
+                assertFalse(state.containsBall(restored.get(i)));
+                assertNotEquals(centers.get(i), restored.get(i).getCenter());
+                assertEquals(centers.get(i), state.getBalls().get(i).getCenter());
+                assertEquals(centers.get(i), snapshot.getBalls().get(i).getCenter());
+            }
+        }
+    }
+}
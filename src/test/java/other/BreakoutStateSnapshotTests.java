@@ -0,0 +1,229 @@
+package other;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import breakout.BreakoutState;
+import breakout.BrickGrid;
+import breakout.balls.StandardBehavior;
+import breakout.balls.WeakBallBehavior;
+import breakout.bricks.StandardBrick;
+import breakout.bricks.SturdyBrick;
+import breakout.bricks.lock.KeyBallBehavior;
+import breakout.bricks.lock.LockedBrick;
+import breakout.bricks.lock.MasterBrick;
+import breakout.math.Circle;
+import breakout.math.Point;
+import breakout.math.Vector;
+
+@Timeout(5)
+public class BreakoutStateSnapshotTests
+{
+    private static final Point LOCKED_POSITION_1 = new Point(0, 0);
+
+    private static final Point LOCKED_POSITION_2 = new Point(1, 0);
+
+    private static final Point MASTER_POSITION = new Point(2, 0);
+
+    private static final Point STURDY_POSITION = new Point(3, 0);
+
+    private static final Point STANDARD_POSITION = new Point(4, 0);
+
+    private BreakoutState state;
+
+    private LockedBrick lockedBrick1;
+
+    private MasterBrick masterBrick;
+
+    private SturdyBrick sturdyBrick;
+
+    private KeyBallBehavior keyBallBehavior;
+
+    private WeakBallBehavior weakBallBehavior;
+
+    /**
+     * A game with two locked bricks linked to a master brick, a key ball for the first locked brick,
+     * two balls sharing a weak behavior and a standard ball.
+     */
+    @BeforeEach
+    void setUp()
+    {
+        var grid = new BrickGrid(10, 5, 1000, 500);
+        lockedBrick1 = grid.addLockedBrick(LOCKED_POSITION_1);
+        var lockedBrick2 = grid.addLockedBrick(LOCKED_POSITION_2);
+        masterBrick = grid.addMasterBrick(MASTER_POSITION, new ArrayList<>(List.of(lockedBrick1, lockedBrick2)));
+        sturdyBrick = grid.addSturdyBrick(STURDY_POSITION, 3);
+        grid.addStandardBrick(STANDARD_POSITION);
+
+        state = new BreakoutState(grid, 1000, 10);
+        keyBallBehavior = new KeyBallBehavior(lockedBrick1);
+        weakBallBehavior = new WeakBallBehavior();
+        state.addBall(new Circle(new Point(2000, 1500), 100), new Vector(0, 5), keyBallBehavior);
+        state.addBall(new Circle(new Point(4000, 1500), 100), new Vector(3, 5), weakBallBehavior);
+        state.addBall(new Circle(new Point(6000, 1500), 100), new Vector(-3, 5), weakBallBehavior);
+        state.addBall(new Circle(new Point(8000, 1500), 100), new Vector(0, -5), new StandardBehavior());
+    }
+
+    /**
+     * Checks that the bricks and behaviors of the given state are linked like those of the state built by {@link #setUp()}.
+     */
+    private static void assertLinked(BreakoutState state)
+    {
+        var grid = state.getBrickGrid();
+        var lockedBrick1 = assertInstanceOf(LockedBrick.class, grid.getBrickAt(LOCKED_POSITION_1));
+        var lockedBrick2 = assertInstanceOf(LockedBrick.class, grid.getBrickAt(LOCKED_POSITION_2));
+        var masterBrick = assertInstanceOf(MasterBrick.class, grid.getBrickAt(MASTER_POSITION));
+
+        assertEquals(2, masterBrick.getLockedBricks().size());
+        assertSame(lockedBrick1, masterBrick.getLockedBricks().get(0));
+        assertSame(lockedBrick2, masterBrick.getLockedBricks().get(1));
+        assertEquals(List.of(masterBrick), lockedBrick1.getMasterBricks());
+        assertSame(masterBrick, lockedBrick2.getMasterBricks().get(0));
+        assertEquals(1, lockedBrick2.getMasterBricks().size());
+
+        var balls = state.getBalls();
+        var keyBallBehavior = assertInstanceOf(KeyBallBehavior.class, balls.get(0).getBehavior());
+
+        assertSame(lockedBrick1, keyBallBehavior.getLockedBrick());
+        assertSame(keyBallBehavior, lockedBrick1.getKeyBallBehavior());
+        assertEquals(null, lockedBrick2.getKeyBallBehavior());
+        assertSame(balls.get(1).getBehavior(), balls.get(2).getBehavior());
+    }
+
+    /**
+     * Checks that no mutable object of {@code copy} is one of {@code original}, and that stateless ones are shared.
+     */
+    private static void assertIndependent(BreakoutState original, BreakoutState copy)
+    {
+        var grid = original.getBrickGrid();
+        var copyGrid = copy.getBrickGrid();
+
+        for ( var position : List.of(LOCKED_POSITION_1, LOCKED_POSITION_2, MASTER_POSITION, STURDY_POSITION) )
+        {
+            var brick = grid.getBrickAt(position);
+            var copyBrick = copyGrid.getBrickAt(position);
+
+            assertNotSame(brick, copyBrick);
+            assertNotSame(brick.getGeometry(), copyBrick.getGeometry());
+            assertEquals(brick.getGeometry(), copyBrick.getGeometry());
+        }
+
+        assertInstanceOf(StandardBrick.class, copyGrid.getBrickAt(STANDARD_POSITION));
+        assertSame(grid.getBrickAt(STANDARD_POSITION), copyGrid.getBrickAt(STANDARD_POSITION));
+
+        for ( var i = 0; i != 3; ++i )
+        {
+            var ball = original.getBalls().get(i);
+            var copyBall = copy.getBalls().get(i);
+
+            assertNotSame(ball, copyBall);
+            assertNotSame(ball.getBehavior(), copyBall.getBehavior());
+            assertNotSame(ball.getAllowedArea(), copyBall.getAllowedArea());
+            assertEquals(ball.getAllowedArea(), copyBall.getAllowedArea());
+            assertEquals(ball.getGeometry(), copyBall.getGeometry());
+            assertEquals(ball.getVelocity(), copyBall.getVelocity());
+        }
+
+        assertSame(original.getBalls().get(3).getBehavior(), copy.getBalls().get(3).getBehavior());
+    }
+
+    @Test
+    void snapshotKeepsLinks()
+    {
+        var snapshot = state.snapshot();
+
+        assertLinked(state);
+        assertLinked(snapshot);
+        assertIndependent(state, snapshot);
+        assertSame(masterBrick, state.getBrickGrid().getBrickAt(MASTER_POSITION));
+        assertSame(keyBallBehavior, lockedBrick1.getKeyBallBehavior());
+        assertSame(weakBallBehavior, state.getBalls().get(1).getBehavior());
+    }
+
+    @Test
+    void snapshotOfSnapshotKeepsLinks()
+    {
+        var snapshot = state.snapshot().snapshot();
+
+        assertLinked(snapshot);
+        assertIndependent(state, snapshot);
+    }
+
+    @Test
+    void changingTheOriginalLeavesTheSnapshotAlone()
+    {
+        var snapshot = state.snapshot();
+        var snapshotSturdyBrick = (SturdyBrick) snapshot.getBrickGrid().getBrickAt(STURDY_POSITION);
+        var snapshotGeometry = masterBrick.getGeometry().copy();
+        var snapshotAllowedArea = state.getBalls().get(0).getAllowedArea().copy();
+
+        sturdyBrick.hit(state, state.getBalls().get(0));
+        masterBrick.getGeometry().setLeft(masterBrick.getGeometry().getLeft() + 1);
+        state.getBalls().get(0).getAllowedArea().setWidth(1);
+        state.getBalls().get(1).move(10);
+        state.removeBall(state.getBalls().get(3));
+        state.getBrickGrid().removeBrick(lockedBrick1);
+
+        assertEquals(2, sturdyBrick.getLivesLeft());
+        assertEquals(3, snapshotSturdyBrick.getLivesLeft());
+        assertEquals(snapshotGeometry, snapshot.getBrickGrid().getBrickAt(MASTER_POSITION).getGeometry());
+        assertEquals(snapshotAllowedArea, snapshot.getBalls().get(0).getAllowedArea());
+        assertNotEquals(state.getBalls().get(1).getGeometry(), snapshot.getBalls().get(1).getGeometry());
+        assertEquals(4, snapshot.getBalls().size());
+        assertEquals(5, snapshot.getBrickGrid().getBrickCount());
+        assertLinked(snapshot);
+    }
+
+    @Test
+    void restoreKeepsLinks()
+    {
+        var grid = state.getBrickGrid();
+        var paddle = state.getPaddle();
+        var snapshot = state.snapshot();
+
+        sturdyBrick.hit(state, state.getBalls().get(0));
+        state.removeBall(state.getBalls().get(0));
+        grid.removeBrick(masterBrick);
+        grid.removeBrick(lockedBrick1);
+
+        state.restore(snapshot);
+
+        assertSame(grid, state.getBrickGrid());
+        assertSame(paddle, state.getPaddle());
+        assertEquals(4, state.getBalls().size());
+        assertEquals(5, grid.getBrickCount());
+        assertEquals(3, ((SturdyBrick) grid.getBrickAt(STURDY_POSITION)).getLivesLeft());
+        assertLinked(state);
+        assertIndependent(snapshot, state);
+    }
+
+    @Test
+    void snapshotCanBeRestoredRepeatedly()
+    {
+        var snapshot = state.snapshot();
+
+        state.restore(snapshot);
+        var firstMasterBrick = state.getBrickGrid().getBrickAt(MASTER_POSITION);
+        var firstKeyBallBehavior = state.getBalls().get(0).getBehavior();
+        ((SturdyBrick) state.getBrickGrid().getBrickAt(STURDY_POSITION)).hit(state, state.getBalls().get(0));
+
+        state.restore(snapshot);
+
+        assertNotSame(firstMasterBrick, state.getBrickGrid().getBrickAt(MASTER_POSITION));
+        assertNotSame(firstKeyBallBehavior, state.getBalls().get(0).getBehavior());
+        assertEquals(3, ((SturdyBrick) state.getBrickGrid().getBrickAt(STURDY_POSITION)).getLivesLeft());
+        assertLinked(state);
+        assertLinked(snapshot);
+        assertIndependent(snapshot, state);
+    }
+}
@@ -0,0 +1,155 @@
+package other;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import breakout.math.CircleSweep;
+import breakout.math.Vector;
+
+/**
+ * The rectangle is [1000, 2000] x [1000, 2000] throughout; circles have radius 100.
+ */
+@Timeout(5)
+public class CircleSweepTests
+{
+    private static final long LEFT = 1000;
+
+    private static final long TOP = 1000;
+
+    private static final long RIGHT = 2000;
+
+    private static final long BOTTOM = 2000;
+
+    private static final long RADIUS = 100;
+
+    private CircleSweep sweep;
+
+    @BeforeEach
+    void setUp()
+    {
+        sweep = new CircleSweep();
+    }
+
+    private boolean sweep(long centerX, long centerY, long velocityX, long velocityY, long maximumTime)
+    {
+        return sweep.sweep(centerX, centerY, RADIUS, velocityX, velocityY, LEFT, TOP, RIGHT, BOTTOM, maximumTime);
+    }
+
+    @Test
+    void leftFace()
+    {
+        assertTrue(sweep(0, 1500, 10, 0, 1000));
+        assertTrue(sweep.isHit());
+        assertFalse(sweep.isCornerHit());
+        assertEquals(90_000, sweep.getPreciseTime());
+        assertEquals(90, sweep.getMillisecondsUntilCollision());
+        assertEquals(Vector.KILO_LEFT, sweep.getKiloNormal());
+    }
+
+    @Test
+    void bottomFaceWhileMovingSideways()
+    {
+        // Reaches y = 2100 after 30 ms, at x = 1900
+        assertTrue(sweep(1600, 2400, 10, -10, 1000));
+        assertFalse(sweep.isCornerHit());
+        assertEquals(30_000, sweep.getPreciseTime());
+        assertEquals(Vector.KILO_DOWN, sweep.getKiloNormal());
+    }
+
+    @Test
+    void faceWinsTieWithCorner()
+    {
+        // Touches the left face and the top left corner at the same time
+        assertTrue(sweep(0, TOP, 10, 0, 1000));
+        assertFalse(sweep.isCornerHit());
+        assertEquals(90_000, sweep.getPreciseTime());
+        assertEquals(Vector.KILO_LEFT, sweep.getKiloNormal());
+    }
+
+    @Test
+    void faceHitTooLate()
+    {
+        assertFalse(sweep(0, 1500, 10, 0, 89));
+        assertFalse(sweep.isHit());
+    }
+
+    @Test
+    void corner()
+    {
+        // Misses the left face (at y = 900) and the top face (at x = 900), and touches the corner
+        // after (1000 - 100 / sqrt(2)) / 10 = 92.9289... ms
+        assertTrue(sweep(0, 0, 10, 10, 1000));
+        assertTrue(sweep.isCornerHit());
+        assertEquals(92, sweep.getMillisecondsUntilCollision());
+        assertTrue(92_923 <= sweep.getPreciseTime() && sweep.getPreciseTime() <= 92_928);
+
+        var normal = sweep.getKiloNormal();
+        assertTrue(normal.isKiloUnitVector());
+        assertTrue(normal.x() < 0);
+        assertEquals(normal.x(), normal.y());
+    }
+
+    @Test
+    void cornerSeenSideways()
+    {
+        // Passes 20 below the top face, so touches the top left corner with 80 of its radius in the way
+        assertTrue(sweep(0, TOP - 80, 10, 0, 1000));
+        assertTrue(sweep.isCornerHit());
+
+        // sqrt(100^2 - 80^2) = 60 short of the corner
+        assertEquals(94, sweep.getMillisecondsUntilCollision());
+
+        var normal = sweep.getKiloNormal();
+        assertTrue(normal.isKiloUnitVector());
+        assertEquals(-600, normal.x());
+        assertEquals(-800, normal.y());
+    }
+
+    @Test
+    void tangentGrazeIsNoHit()
+    {
+        assertFalse(sweep(0, TOP - RADIUS, 10, 0, 1000));
+        assertFalse(sweep.isHit());
+    }
+
+    @Test
+    void shallowGrazeIsNoHit()
+    {
+        // Overlaps the corner by a single unit, far too little to bounce off it
+        assertFalse(sweep(0, TOP - RADIUS + 1, 10, 0, 1000));
+        assertFalse(sweep.isHit());
+    }
+
+    @Test
+    void movingAwayIsNoHit()
+    {
+        assertFalse(sweep(0, 1500, -10, 0, 1000));
+        assertFalse(sweep(0, 0, -10, -10, 1000));
+        assertFalse(sweep.isHit());
+    }
+
+    @Test
+    void overlappingIsNoHit()
+    {
+        assertFalse(sweep(1500, 1500, 10, 0, 1000));
+        assertFalse(sweep.isHit());
+    }
+
+    @Test
+    void keepsEarliestHit()
+    {
+        assertTrue(sweep(0, 1500, 10, 0, 1000));
+        assertFalse(sweep.sweep(0, 1500, RADIUS, 10, 0, 1500, TOP, RIGHT, BOTTOM, 1000));
+        assertEquals(90_000, sweep.getPreciseTime());
+        assertTrue(sweep.sweep(0, 1500, RADIUS, 10, 0, 500, TOP, RIGHT, BOTTOM, 1000));
+        assertEquals(40_000, sweep.getPreciseTime());
+
+        sweep.clear();
+        assertFalse(sweep.isHit());
+    }
+}
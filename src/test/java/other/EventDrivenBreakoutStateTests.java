@@ -0,0 +1,161 @@
+package other;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import breakout.BreakoutState;
+import breakout.GameMapParser;
+import breakout.balls.StandardBehavior;
+import breakout.math.Circle;
+import breakout.math.Vector;
+import breakout.paddles.PaddleMotionDirection;
+import breakout.simulation.EventDrivenBreakoutState;
+
+@Timeout(5)
+public class EventDrivenBreakoutStateTests
+{
+    private static final String[][] MAPS = { GameMapParser.descr2, GameMapParser.descr3, GameMapParser.descr4, GameMapParser.descr6, GameMapParser.OGP_MAP };
+
+    /**
+     * The bricks of the given map with a single ball, and a paddle of the given half width, in bricks, moving in the given direction.
+     */
+    private static BreakoutState createState(String[] map, long paddleHalfWidth, PaddleMotionDirection direction)
+    {
+        var grid = GameMapParser.parse(map, 5000, 2000).getBrickGrid();
+        var state = new BreakoutState(grid, paddleHalfWidth * grid.getBrickWidth(), 5);
+        var ballRadius = 500;
+        var ballPosition = grid.getBoundingRectangle().getBottomCenter().add(new Vector(0, -2 * ballRadius));
+        state.addBall(new Circle(ballPosition, ballRadius), new Vector(25, -25), new StandardBehavior());
+        state.getPaddle().setMotionDirection(direction);
+
+        return state;
+    }
+
+    private static void assertSameGame(BreakoutState expected, BreakoutState actual)
+    {
+        assertEquals(expected.getBalls().size(), actual.getBalls().size());
+
+        for ( var i = 0; i != expected.getBalls().size(); ++i )
+        {
+            assertEquals(expected.getBalls().get(i).getGeometry(), actual.getBalls().get(i).getGeometry());
+            assertEquals(expected.getBalls().get(i).getVelocity(), actual.getBalls().get(i).getVelocity());
+        }
+
+        assertEquals(expected.getBrickGrid().getBrickCount(), actual.getBrickGrid().getBrickCount());
+        assertEquals(expected.getPaddle().getGeometry(), actual.getPaddle().getGeometry());
+    }
+
+    /**
+     * Plays the game given twice, once by ticking it MAXIMUM_TIME_DELTA milliseconds at a time until it is over,
+     * and once by advancing it advanceMilliseconds at a time, and compares them after every advance.
+     * Returns the ticked game.
+     */
+    private static BreakoutState assertAdvancingGivesTheSameGame(BreakoutState ticked, BreakoutState advanced, long advanceMilliseconds, long gameMilliseconds)
+    {
+        var eventDriven = new EventDrivenBreakoutState(advanced);
+
+        for ( var time = 0L; time < gameMilliseconds && !ticked.isGameOver(); time += advanceMilliseconds )
+        {
+            for ( var i = 0; i != advanceMilliseconds / BreakoutState.MAXIMUM_TIME_DELTA && !ticked.isGameOver(); ++i )
+            {
+                ticked.tick(BreakoutState.MAXIMUM_TIME_DELTA);
+            }
+
+            eventDriven.advance(advanceMilliseconds);
+
+            assertEquals(ticked.isGameWon(), advanced.isGameWon());
+            assertEquals(ticked.isGameLost(), advanced.isGameLost());
+
+            if ( !ticked.isGameOver() )
+            {
+                assertSameGame(ticked, advanced);
+            }
+            else
+            {
+                // Ticking finishes the step that ends the game, advancing stops at the event that does
+                assertEquals(ticked.getBrickGrid().getBrickCount(), advanced.getBrickGrid().getBrickCount());
+            }
+        }
+
+        return ticked;
+    }
+
+    @Test
+    void stationaryPaddle()
+    {
+        for ( var map : MAPS )
+        {
+            for ( var advanceMilliseconds : new long[] { 20, 1000, 10000 } )
+            {
+                // A paddle as wide as the field, so that the ball is never lost
+                var halfWidth = map[0].length();
+                var ticked = createState(map, halfWidth, PaddleMotionDirection.STATIONARY);
+                var advanced = createState(map, halfWidth, PaddleMotionDirection.STATIONARY);
+
+                assertAdvancingGivesTheSameGame(ticked, advanced, advanceMilliseconds, 30000);
+            }
+        }
+    }
+
+    @Test
+    void movingPaddle()
+    {
+        for ( var map : MAPS )
+        {
+            for ( var direction : new PaddleMotionDirection[] { PaddleMotionDirection.LEFT, PaddleMotionDirection.RIGHT } )
+            {
+                for ( var advanceMilliseconds : new long[] { 20, 1000, 10000 } )
+                {
+                    var ticked = createState(map, 2, direction);
+                    var advanced = createState(map, 2, direction);
+
+                    assertAdvancingGivesTheSameGame(ticked, advanced, advanceMilliseconds, 30000);
+                }
+            }
+        }
+    }
+
+    @Test
+    void gameThatIsLost()
+    {
+        // A narrow stationary paddle misses the ball
+        var ticked = assertAdvancingGivesTheSameGame(createState(GameMapParser.descr2, 1, PaddleMotionDirection.STATIONARY),
+                createState(GameMapParser.descr2, 1, PaddleMotionDirection.STATIONARY), 1000, 60000);
+
+        assertTrue(ticked.isGameLost());
+    }
+
+    @Test
+    void gameThatIsWon()
+    {
+        var ticked = createState(GameMapParser.descr4, 5, PaddleMotionDirection.STATIONARY);
+        var advanced = createState(GameMapParser.descr4, 5, PaddleMotionDirection.STATIONARY);
+
+        assertAdvancingGivesTheSameGame(ticked, advanced, 1000, 60000);
+
+        assertTrue(ticked.isGameWon());
+        assertTrue(advanced.isGameWon());
+    }
+
+    @Test
+    void nothingHappensOnceTheGameIsOver()
+    {
+        var state = createState(GameMapParser.descr4, 5, PaddleMotionDirection.STATIONARY);
+        var eventDriven = new EventDrivenBreakoutState(state);
+        eventDriven.advance(60000);
+
+        assertTrue(state.isGameWon());
+
+        var center = state.getBalls().get(0).getCenter();
+        var eventCount = eventDriven.getEventCount();
+        eventDriven.advance(10000);
+
+        assertEquals(center, state.getBalls().get(0).getCenter());
+        assertEquals(eventCount, eventDriven.getEventCount());
+        assertFalse(state.isGameLost());
+    }
+}
@@ -0,0 +1,171 @@
+package other;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import breakout.BreakoutState;
+import breakout.BrickGrid;
+import breakout.MutableCollision;
+import breakout.balls.Ball;
+import breakout.balls.StandardBehavior;
+import breakout.math.Circle;
+import breakout.math.Point;
+import breakout.math.Rectangle;
+import breakout.math.Vector;
+import breakout.walls.EastWall;
+import breakout.walls.HorizontalWall;
+import breakout.walls.NorthWall;
+import breakout.walls.VerticalWall;
+import breakout.walls.WestWall;
+
+@Timeout(5)
+public class FieldBoundsTests
+{
+    private static final long RADIUS = 100;
+
+    private static final long[] VELOCITIES = { -7, -5, -1, 0, 1, 5, 7 };
+
+    private static final long[] MAXIMUM_TIMES = { 0, 1, 20, 399, 400, 1000, Long.MAX_VALUE };
+
+    /**
+     * Uses the bounds of the field to find wall collisions.
+     */
+    private BreakoutState boundsState;
+
+    /**
+     * Asks each of its walls, copies of those of {@link #boundsState}, for its collision.
+     */
+    private BreakoutState wallsState;
+
+    private long left;
+
+    private long top;
+
+    private long right;
+
+    @BeforeEach
+    void setUp()
+    {
+        boundsState = new BreakoutState(new BrickGrid(10, 5, 1000, 500), 1000, 10);
+        wallsState = new BreakoutState(new BrickGrid(10, 5, 1000, 500), 1000, 10);
+
+        var walls = wallsState.getWalls();
+        top = ((HorizontalWall) walls.get(0)).getYCoordinate();
+        right = ((VerticalWall) walls.get(1)).getXCoordinate();
+        left = ((VerticalWall) walls.get(2)).getXCoordinate();
+
+        // Walls that are not the ones the state created make it fall back to asking each wall
+        walls.clear();
+        walls.add(new NorthWall(top));
+        walls.add(new EastWall(right));
+        walls.add(new WestWall(left));
+    }
+
+    private static Ball createBall(long x, long y, long velocityX, long velocityY)
+    {
+        return new Ball(new Rectangle(0, 0, 10000, 10000), new Circle(new Point(x, y), RADIUS), new Vector(velocityX, velocityY), new StandardBehavior());
+    }
+
+    /**
+     * Offers the wall collision of the given ball to a result holding the given collision, if any, in both states,
+     * and checks that both give the same result.
+     */
+    private void assertSameCollision(Ball ball, long maximumTime, long heldTime, Vector heldKiloNormal)
+    {
+        var expected = new MutableCollision();
+        var actual = new MutableCollision();
+
+        if ( heldKiloNormal != null )
+        {
+            expected.set(heldTime, heldKiloNormal, null);
+            actual.set(heldTime, heldKiloNormal, null);
+        }
+
+        var expectedKept = wallsState.findEarliestWallCollision(ball, maximumTime, expected);
+        var actualKept = boundsState.findEarliestWallCollision(ball, maximumTime, actual);
+        var message = "ball at " + ball.getCenterX() + ", " + ball.getCenterY() + " moving " + ball.getVelocityX() + ", " + ball.getVelocityY()
+                + " within " + maximumTime + " ms";
+
+        assertEquals(expectedKept, actualKept, message);
+        assertEquals(expected.isPresent(), actual.isPresent(), message);
+
+        if ( expected.isPresent() )
+        {
+            assertEquals(expected.getMillisecondsUntilCollision(), actual.getMillisecondsUntilCollision(), message);
+            assertSame(expected.getKiloNormal(), actual.getKiloNormal(), message);
+        }
+    }
+
+    @Test
+    void boundsAndWallsAgree()
+    {
+        long[] xs = { left - 50, left, left + RADIUS - 1, left + RADIUS, left + RADIUS + 1, left + 2100, right / 2,
+                right - RADIUS - 2100, right - RADIUS - 1, right - RADIUS, right - RADIUS + 1, right, right + 50 };
+        long[] ys = { top - 50, top, top + RADIUS - 1, top + RADIUS, top + RADIUS + 1, top + 2100, 5000 };
+
+        for ( var x : xs )
+        {
+            for ( var y : ys )
+            {
+                for ( var velocityX : VELOCITIES )
+                {
+                    for ( var velocityY : VELOCITIES )
+                    {
+                        var ball = createBall(x, y, velocityX, velocityY);
+
+                        for ( var maximumTime : MAXIMUM_TIMES )
+                        {
+                            assertSameCollision(ball, maximumTime, 0, null);
+                            assertSameCollision(ball, maximumTime, 0, Vector.KILO_UP);
+                            assertSameCollision(ball, maximumTime, 300, Vector.KILO_UP);
+                            assertSameCollision(ball, maximumTime, 400, Vector.KILO_UP);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void cornerTiesGoToTheNorthWall()
+    {
+        // 2000 units from the north wall and from either side wall, moving 5 units per ms along each axis: both walls after 400 ms
+        for ( var ball : new Ball[] { createBall(left + RADIUS + 2000, top + RADIUS + 2000, -5, -5), createBall(right - RADIUS - 2000, top + RADIUS + 2000, 5, -5) } )
+        {
+            var collision = boundsState.findEarliestWallCollision(ball, 1000);
+
+            assertEquals(400, collision.getMillisecondsUntilCollision());
+            assertSame(Vector.KILO_DOWN, collision.getKiloNormal());
+
+            for ( var maximumTime : MAXIMUM_TIMES )
+            {
+                assertSameCollision(ball, maximumTime, 0, null);
+                assertSameCollision(ball, maximumTime, 400, Vector.KILO_UP);
+            }
+        }
+    }
+
+    @Test
+    void collisionsAtTheMaximumTimeAreFound()
+    {
+        var ball = createBall(right - RADIUS - 2000, 5000, 5, 0);
+        var result = new MutableCollision();
+
+        assertTrue(boundsState.findEarliestWallCollision(ball, 400, result));
+        assertEquals(400, result.getMillisecondsUntilCollision());
+        assertSame(Vector.KILO_LEFT, result.getKiloNormal());
+
+        result.clear();
+
+        assertFalse(boundsState.findEarliestWallCollision(ball, 399, result));
+        assertFalse(result.isPresent());
+        assertSameCollision(ball, 399, 0, null);
+        assertSameCollision(ball, 400, 0, null);
+    }
+}
@@ -0,0 +1,69 @@
+package other;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import breakout.ui.FrameScheduler;
+
+@Timeout(5)
+public class FrameSchedulerTests
+{
+    private static final long PAUSE_MILLISECONDS = 200;
+
+    /**
+     * A scheduler at 100 frames per second that has gone through two frames and was then left alone for a while.
+     */
+    private static FrameScheduler createPausedScheduler() throws InterruptedException
+    {
+        var scheduler = new FrameScheduler(100);
+        scheduler.awaitNextFrame();
+        scheduler.awaitNextFrame();
+        Thread.sleep(PAUSE_MILLISECONDS);
+
+        return scheduler;
+    }
+
+    @Test
+    void pauseCountsAsSkippedFrames() throws InterruptedException
+    {
+        var scheduler = createPausedScheduler();
+        scheduler.awaitNextFrame();
+
+        assertEquals(2, scheduler.getFrameCount());
+        assertTrue(scheduler.getSkippedFrameCount() > 0);
+        assertTrue(scheduler.getMaximumFrameNanoseconds() >= PAUSE_MILLISECONDS * 1_000_000);
+    }
+
+    @Test
+    void resetForgetsThePause() throws InterruptedException
+    {
+        var scheduler = createPausedScheduler();
+        var maximum = scheduler.getMaximumFrameNanoseconds();
+        scheduler.reset();
+
+        var start = System.nanoTime();
+        scheduler.awaitNextFrame();
+
+        // The first frame after a reset is due right away and follows no other frame
+        assertTrue(System.nanoTime() - start < scheduler.getFrameNanoseconds());
+        assertEquals(1, scheduler.getFrameCount());
+        assertEquals(0, scheduler.getSkippedFrameCount());
+        assertEquals(maximum, scheduler.getMaximumFrameNanoseconds());
+
+        scheduler.awaitNextFrame();
+
+        assertEquals(2, scheduler.getFrameCount());
+        assertEquals(0, scheduler.getSkippedFrameCount());
+        assertTrue(scheduler.getMaximumFrameNanoseconds() < PAUSE_MILLISECONDS * 1_000_000);
+    }
+
+    @Test
+    void invalidArguments()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new FrameScheduler(0));
+    }
+}
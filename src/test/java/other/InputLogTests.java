@@ -0,0 +1,207 @@
+package other;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import breakout.BreakoutState;
+import breakout.GameMapParser;
+import breakout.paddles.PaddleMotionDirection;
+import breakout.simulation.InputLog;
+
+@Timeout(5)
+public class InputLogTests
+{
+    private static InputLog createLog()
+    {
+        var log = new InputLog();
+
+        for ( var i = 0; i != 500; ++i )
+        {
+            log.record(i < 200 ? 1 : 20, i % 150 < 50 ? PaddleMotionDirection.LEFT : i % 150 < 100 ? PaddleMotionDirection.STATIONARY : PaddleMotionDirection.RIGHT);
+        }
+
+        // Needs a multi-byte varint
+        log.record(300, PaddleMotionDirection.RIGHT);
+
+        return log;
+    }
+
+    private static byte[] toBytes(InputLog log) throws IOException
+    {
+        var output = new ByteArrayOutputStream();
+        log.writeTo(output);
+
+        return output.toByteArray();
+    }
+
+    private static InputLog fromBytes(byte[] bytes) throws IOException
+    {
+        return InputLog.readFrom(new ByteArrayInputStream(bytes));
+    }
+
+    private static BreakoutState createState()
+    {
+        return GameMapParser.parse(GameMapParser.descr2, 10000, 3000);
+    }
+
+    @Test
+    void recordMergesIdenticalTicks()
+    {
+        var log = createLog();
+
+        assertEquals(501, log.getTickCount());
+        // 1 ms: L, S, R, L; 20 ms: S, R, L, S, R, L; 300 ms: R
+        assertEquals(11, log.getRunCount());
+    }
+
+    @Test
+    void roundTrip() throws IOException
+    {
+        var log = createLog();
+        var bytes = toBytes(log);
+        var copy = fromBytes(bytes);
+
+        assertEquals(log.getTickCount(), copy.getTickCount());
+        assertEquals(log.getRunCount(), copy.getRunCount());
+        assertArrayEquals(bytes, toBytes(copy));
+    }
+
+    @Test
+    void roundTripOfEmptyLog() throws IOException
+    {
+        var copy = fromBytes(toBytes(new InputLog()));
+
+        assertEquals(0, copy.getTickCount());
+        assertEquals(0, copy.getRunCount());
+    }
+
+    @Test
+    void readCopyReplaysTheSameGame() throws IOException
+    {
+        var log = createLog();
+        var copy = fromBytes(toBytes(log));
+        var state = createState();
+        var copyState = createState();
+
+        assertEquals(log.replay(state), copy.replay(copyState));
+        assertEquals(state.getPaddle().getTopCenter(), copyState.getPaddle().getTopCenter());
+        assertEquals(state.getBalls().size(), copyState.getBalls().size());
+
+        for ( var i = 0; i != state.getBalls().size(); ++i )
+        {
+            assertEquals(state.getBalls().get(i).getCenter(), copyState.getBalls().get(i).getCenter());
+        }
+
+        assertEquals(state.getBrickGrid().getBrickCount(), copyState.getBrickGrid().getBrickCount());
+    }
+
+    @Test
+    void readStopsAtTheEndOfTheLog() throws IOException
+    {
+        var bytes = toBytes(createLog());
+        var input = new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length + 1));
+
+        InputLog.readFrom(input);
+
+        assertEquals(1, input.available());
+    }
+
+    @Test
+    void truncatedLogsAreRejected() throws IOException
+    {
+        var bytes = toBytes(createLog());
+
+        for ( var length = 0; length != bytes.length; ++length )
+        {
+            var truncated = Arrays.copyOf(bytes, length);
+
+            assertThrows(IOException.class, () -> fromBytes(truncated));
+        }
+    }
+
+    @Test
+    void wrongMagicNumberIsRejected() throws IOException
+    {
+        var bytes = toBytes(createLog());
+        bytes[0] ^= 1;
+
+        assertThrows(IOException.class, () -> fromBytes(bytes));
+    }
+
+    @Test
+    void unknownVersionIsRejected() throws IOException
+    {
+        var bytes = toBytes(createLog());
+        bytes[4] = InputLog.VERSION + 1;
+
+        assertThrows(IOException.class, () -> fromBytes(bytes));
+    }
+
+    /**
+     * A log of a single run of one tick of 1 ms, with the given direction byte and length varint.
+     */
+    private static byte[] singleRun(int directionByte, int... length) throws IOException
+    {
+        var output = new ByteArrayOutputStream();
+        var log = new InputLog();
+        log.record(1, PaddleMotionDirection.STATIONARY);
+        log.writeTo(output);
+
+        var bytes = output.toByteArray();
+        // Magic number, version, run count, elapsed milliseconds
+        var prefix = Arrays.copyOf(bytes, 7);
+        var result = Arrays.copyOf(prefix, prefix.length + 1 + length.length);
+        result[prefix.length] = (byte) directionByte;
+
+        for ( var i = 0; i != length.length; ++i )
+        {
+            result[prefix.length + 1 + i] = (byte) length[i];
+        }
+
+        return result;
+    }
+
+    @Test
+    void validSingleRun() throws IOException
+    {
+        var log = fromBytes(singleRun(2, 3));
+
+        assertEquals(1, log.getRunCount());
+        assertEquals(3, log.getTickCount());
+    }
+
+    @Test
+    void invalidDirectionIsRejected()
+    {
+        assertThrows(IOException.class, () -> fromBytes(singleRun(3, 1)));
+        assertThrows(IOException.class, () -> fromBytes(singleRun(0xFF, 1)));
+    }
+
+    @Test
+    void emptyRunIsRejected()
+    {
+        assertThrows(IOException.class, () -> fromBytes(singleRun(1, 0)));
+    }
+
+    @Test
+    void negativeVarintIsRejected()
+    {
+        // 2^63, which does not fit in a long
+        assertThrows(IOException.class, () -> fromBytes(singleRun(1, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x01)));
+    }
+
+    @Test
+    void overlongVarintIsRejected()
+    {
+        assertThrows(IOException.class, () -> fromBytes(singleRun(1, 0x81, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x80, 0x00)));
+    }
+}
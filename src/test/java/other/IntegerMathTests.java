@@ -0,0 +1,97 @@
+package other;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import breakout.math.IntegerMath;
+
+@Timeout(5)
+public class IntegerMathTests
+{
+    /**
+     * The largest long whose square fits in a long.
+     */
+    private static final long MAXIMUM_ROOT = 3037000499L;
+
+    private static long expectedRoot(long n)
+    {
+        return BigInteger.valueOf(n).sqrt().longValueExact();
+    }
+
+    /**
+     * Checks the squares of the given roots, and the values right next to them.
+     */
+    private static void assertAroundSquares(long fromRoot, long toRoot)
+    {
+        for ( var root = fromRoot; root <= toRoot; ++root )
+        {
+            var square = root * root;
+
+            assertEquals(root - 1, IntegerMath.isqrt(square - 1));
+            assertEquals(root, IntegerMath.isqrt(square));
+            assertEquals(root, IntegerMath.isqrt(square + 1));
+        }
+    }
+
+    @Test
+    void smallValues()
+    {
+        assertEquals(0, IntegerMath.isqrt(0));
+        assertEquals(1, IntegerMath.isqrt(1));
+        assertEquals(1, IntegerMath.isqrt(3));
+        assertEquals(2, IntegerMath.isqrt(4));
+        assertAroundSquares(2, 10_000);
+    }
+
+    @Test
+    void negativeValues()
+    {
+        assertEquals(0, IntegerMath.isqrt(-1));
+        assertEquals(0, IntegerMath.isqrt(Long.MIN_VALUE));
+    }
+
+    @Test
+    void aroundTwoToThe52()
+    {
+        // 2^52 is the square of 2^26, where the hardware square root stops being exact
+        assertAroundSquares((1L << 26) - 1000, (1L << 26) + 1000);
+
+        for ( var n = (1L << 52) - 1000; n <= (1L << 52) + 1000; ++n )
+        {
+            assertEquals(expectedRoot(n), IntegerMath.isqrt(n));
+        }
+    }
+
+    @Test
+    void largestValues()
+    {
+        assertEquals(MAXIMUM_ROOT, IntegerMath.isqrt(Long.MAX_VALUE));
+        assertEquals(MAXIMUM_ROOT, IntegerMath.isqrt(MAXIMUM_ROOT * MAXIMUM_ROOT));
+        assertEquals(MAXIMUM_ROOT - 1, IntegerMath.isqrt(MAXIMUM_ROOT * MAXIMUM_ROOT - 1));
+        assertAroundSquares(MAXIMUM_ROOT - 10_000, MAXIMUM_ROOT - 1);
+
+        for ( var n = Long.MAX_VALUE - 1000; n != Long.MAX_VALUE; ++n )
+        {
+            assertEquals(MAXIMUM_ROOT, IntegerMath.isqrt(n));
+        }
+    }
+
+    @Test
+    void randomValues()
+    {
+        var random = new Random(42);
+
+        for ( var i = 0; i != 100_000; ++i )
+        {
+            // Spread over all magnitudes
+            var n = random.nextLong() >>> (1 + random.nextInt(63));
+
+            assertEquals(expectedRoot(n), IntegerMath.isqrt(n));
+        }
+    }
+}
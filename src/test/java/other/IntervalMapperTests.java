@@ -0,0 +1,126 @@
+package other;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import breakout.math.Interval;
+import breakout.math.IntervalMapper;
+
+@Timeout(5)
+public class IntervalMapperTests
+{
+    /**
+     * Checks that the mapper rounds the exact image of every x in [from, to] down, both one by one and in bulk.
+     */
+    private static void assertRoundsDown(Interval source, Interval target, long from, long to)
+    {
+        var mapper = new IntervalMapper(source, target);
+        var xs = new long[(int) (to - from + 1)];
+
+        for ( var x = from; x <= to; ++x )
+        {
+            var expected = target.getLowerBound() + Math.floorDiv((x - source.getLowerBound()) * target.getWidth(), source.getWidth());
+
+            assertEquals(expected, mapper.map(x), "x = " + x);
+            xs[(int) (x - from)] = x;
+        }
+
+        var result = new int[xs.length];
+        mapper.map(xs, result);
+
+        for ( var i = 0; i != xs.length; ++i )
+        {
+            assertEquals(mapper.map(xs[i]), result[i]);
+        }
+    }
+
+    /**
+     * Checks that the mapper maps like going through the intervals does.
+     */
+    private static void assertMapsThroughIntervals(Interval source, Interval target, long... xs)
+    {
+        var mapper = new IntervalMapper(source, target);
+        var result = new int[xs.length];
+        mapper.map(xs, result);
+
+        for ( var i = 0; i != xs.length; ++i )
+        {
+            var expected = target.fromRelative(source.toRelative(xs[i]));
+
+            assertEquals(expected, mapper.map(xs[i]));
+            assertEquals((int) expected, result[i]);
+        }
+    }
+
+    @Test
+    void gameScale()
+    {
+        // As in the game: a hundred units per pixel
+        assertRoundsDown(new Interval(0, 10000), new Interval(0, 100), -20000, 20000);
+    }
+
+    @Test
+    void bothSidesOfTheLowerBound()
+    {
+        var source = new Interval(500, 10500);
+        var target = new Interval(7, 107);
+        var mapper = new IntervalMapper(source, target);
+
+        assertEquals(7, mapper.map(500));
+        assertEquals(7, mapper.map(599));
+        assertEquals(8, mapper.map(600));
+        // Left of the lower bound, results are rounded down as well, not towards the lower bound
+        assertEquals(6, mapper.map(499));
+        assertEquals(6, mapper.map(400));
+        assertEquals(5, mapper.map(399));
+        assertRoundsDown(source, target, -10000, 20000);
+    }
+
+    @Test
+    void ratioWithoutExactBinaryFraction()
+    {
+        // 7 / 3000 is rounded in 32.32 fixed point; positions that map onto a pixel boundary must stay on it
+        assertRoundsDown(new Interval(-1234, 1766), new Interval(3, 10), -10000, 10000);
+        assertRoundsDown(new Interval(0, 3), new Interval(0, 1000), -3000, 3000);
+    }
+
+    @Test
+    void enlarging()
+    {
+        assertRoundsDown(new Interval(10, 17), new Interval(-3000, 0), -100, 100);
+    }
+
+    @Test
+    void emptyTarget()
+    {
+        assertRoundsDown(new Interval(0, 1000), new Interval(42, 42), -2000, 2000);
+    }
+
+    @Test
+    void targetTooWideForFixedPoint()
+    {
+        var target = new Interval(0, 1L << 40);
+
+        assertMapsThroughIntervals(new Interval(0, 1000), target, 0, 1, 500, 999, 1000);
+    }
+
+    @Test
+    void sourceTooWideForFixedPoint()
+    {
+        assertMapsThroughIntervals(Interval.createMaximalInterval(), new Interval(0, 100), Long.MIN_VALUE, -1, 0, 1);
+    }
+
+    @Test
+    void keepsItsIntervals()
+    {
+        var source = new Interval(0, 10000);
+        var target = new Interval(0, 100);
+        var mapper = new IntervalMapper(source, target);
+
+        assertSame(source, mapper.getSourceInterval());
+        assertSame(target, mapper.getTargetInterval());
+    }
+}
@@ -0,0 +1,141 @@
+package other;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import breakout.BreakoutState;
+import breakout.BrickGrid;
+import breakout.GameMapParser;
+import breakout.balls.StandardBehavior;
+import breakout.math.Circle;
+import breakout.math.Vector;
+import breakout.paddles.PaddleMotionDirection;
+import breakout.simulation.SimulationEngine;
+
+@Timeout(5)
+public class LongTickTests
+{
+    /**
+     * The bricks of the given map, with a single ball and a stationary paddle as wide as the field, so the game lasts.
+     */
+    private static BreakoutState createState(String[] map)
+    {
+        var grid = GameMapParser.parse(map, 5000, 2000).getBrickGrid();
+
+        return createState(grid, grid.getWidth() / 2, PaddleMotionDirection.STATIONARY);
+    }
+
+    /**
+     * The bricks of the given map, with a single ball and a narrow paddle that slowly moves in the given direction.
+     */
+    private static BreakoutState createState(String[] map, PaddleMotionDirection direction)
+    {
+        var grid = GameMapParser.parse(map, 5000, 2000).getBrickGrid();
+
+        return createState(grid, grid.getWidth() / 6, direction);
+    }
+
+    private static BreakoutState createState(BrickGrid grid, long paddleHalfWidth, PaddleMotionDirection direction)
+    {
+        var state = new BreakoutState(grid, paddleHalfWidth, 2);
+        var ballRadius = 500;
+        var ballPosition = grid.getBoundingRectangle().getBottomCenter().add(new Vector(0, -2 * ballRadius));
+        state.addBall(new Circle(ballPosition, ballRadius), new Vector(25, -25), new StandardBehavior());
+        state.getPaddle().setMotionDirection(direction);
+
+        return state;
+    }
+
+    private static void assertSameGame(BreakoutState expected, BreakoutState actual)
+    {
+        assertEquals(expected.getBalls().size(), actual.getBalls().size());
+
+        for ( var i = 0; i != expected.getBalls().size(); ++i )
+        {
+            assertEquals(expected.getBalls().get(i).getGeometry(), actual.getBalls().get(i).getGeometry());
+            assertEquals(expected.getBalls().get(i).getVelocity(), actual.getBalls().get(i).getVelocity());
+        }
+
+        assertEquals(expected.getBrickGrid().getBrickCount(), actual.getBrickGrid().getBrickCount());
+        assertEquals(expected.getPaddle().getGeometry(), actual.getPaddle().getGeometry());
+        assertEquals(expected.isGameOver(), actual.isGameOver());
+    }
+
+    /**
+     * Plays the map in ticks of MAXIMUM_TIME_DELTA and in ticks of the given length side by side,
+     * comparing the games whenever both are at the same time. Returns the number of bricks destroyed.
+     */
+    private static int assertLongTicksGiveTheSameGame(BreakoutState shortTicks, BreakoutState longTicks, long tickMilliseconds, long gameMilliseconds)
+    {
+        var initialBrickCount = shortTicks.getBrickGrid().getBrickCount();
+
+        for ( var time = 0L; time < gameMilliseconds && !shortTicks.isGameOver(); time += tickMilliseconds )
+        {
+            for ( var i = 0; i != tickMilliseconds / BreakoutState.MAXIMUM_TIME_DELTA; ++i )
+            {
+                shortTicks.tick(BreakoutState.MAXIMUM_TIME_DELTA);
+            }
+
+            longTicks.tick(tickMilliseconds);
+
+            assertSameGame(shortTicks, longTicks);
+        }
+
+        return initialBrickCount - shortTicks.getBrickGrid().getBrickCount();
+    }
+
+    @Test
+    void longTicks()
+    {
+        for ( var map : new String[][] { GameMapParser.descr2, GameMapParser.descr4, GameMapParser.descr6 } )
+        {
+            for ( var tickMilliseconds : new long[] { 100, 1000, 7000 } )
+            {
+                var bricksDestroyed = assertLongTicksGiveTheSameGame(createState(map), createState(map), tickMilliseconds, 21000);
+
+                // The ball does reach the bricks
+                assertTrue(bricksDestroyed > 0);
+            }
+        }
+    }
+
+    @Test
+    void longTicksWithAMovingPaddle()
+    {
+        // Maps without bricks that change the paddle's size
+        for ( var map : new String[][] { GameMapParser.descr3, GameMapParser.descr4, GameMapParser.descr6 } )
+        {
+            for ( var direction : new PaddleMotionDirection[] { PaddleMotionDirection.LEFT, PaddleMotionDirection.RIGHT } )
+            {
+                for ( var tickMilliseconds : new long[] { 100, 1000, 7000 } )
+                {
+                    assertLongTicksGiveTheSameGame(createState(map, direction), createState(map, direction), tickMilliseconds, 21000);
+                }
+            }
+        }
+    }
+
+    @Test
+    void gameThatIsWon()
+    {
+        var state = createState(GameMapParser.descr4);
+        state.tick(30000);
+
+        assertTrue(state.isGameWon());
+        assertLongTicksGiveTheSameGame(createState(GameMapParser.descr4), createState(GameMapParser.descr4), 1000, 30000);
+    }
+
+    @Test
+    void engineWithLongSteps()
+    {
+        var shortSteps = createState(GameMapParser.descr2);
+        var longSteps = createState(GameMapParser.descr2);
+
+        assertEquals(1000, new SimulationEngine(shortSteps).run(1000));
+        assertEquals(20, new SimulationEngine(longSteps, 1000).run(20));
+        assertSameGame(shortSteps, longSteps);
+    }
+}
@@ -0,0 +1,167 @@
+package other;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import breakout.util.OccupancyGrid;
+
+@Timeout(5)
+public class OccupancyGridTests
+{
+    /**
+     * The next non-empty row found by checking one row at a time.
+     */
+    private static int expectedNextNonEmptyRow(OccupancyGrid grid, long fromRow, long step)
+    {
+        var row = step > 0 ? Math.max(fromRow, 0) : Math.min(fromRow, grid.getHeight() - 1);
+
+        while ( 0 <= row && row < grid.getHeight() && grid.isRowEmpty(row) )
+        {
+            row += step;
+        }
+
+        return (int) Math.max(-1, Math.min(row, grid.getHeight()));
+    }
+
+    private static int expectedNextNonEmptyColumn(OccupancyGrid grid, long fromColumn, long step)
+    {
+        var column = step > 0 ? Math.max(fromColumn, 0) : Math.min(fromColumn, grid.getWidth() - 1);
+
+        while ( 0 <= column && column < grid.getWidth() && grid.isColumnEmpty(column) )
+        {
+            column += step;
+        }
+
+        return (int) Math.max(-1, Math.min(column, grid.getWidth()));
+    }
+
+    private static void assertScansAgree(OccupancyGrid grid)
+    {
+        for ( var step = -1; step <= 1; step += 2 )
+        {
+            for ( var row = -70L; row <= grid.getHeight() + 70; ++row )
+            {
+                assertEquals(expectedNextNonEmptyRow(grid, row, step), grid.nextNonEmptyRow(row, step), "row " + row + ", step " + step);
+            }
+
+            for ( var column = -70L; column <= grid.getWidth() + 70; ++column )
+            {
+                assertEquals(expectedNextNonEmptyColumn(grid, column, step), grid.nextNonEmptyColumn(column, step), "column " + column + ", step " + step);
+            }
+
+            assertEquals(expectedNextNonEmptyRow(grid, Long.MIN_VALUE, step), grid.nextNonEmptyRow(Long.MIN_VALUE, step));
+            assertEquals(expectedNextNonEmptyRow(grid, Long.MAX_VALUE, step), grid.nextNonEmptyRow(Long.MAX_VALUE, step));
+            assertEquals(expectedNextNonEmptyColumn(grid, Long.MIN_VALUE, step), grid.nextNonEmptyColumn(Long.MIN_VALUE, step));
+            assertEquals(expectedNextNonEmptyColumn(grid, Long.MAX_VALUE, step), grid.nextNonEmptyColumn(Long.MAX_VALUE, step));
+        }
+    }
+
+    @Test
+    void emptyGrid()
+    {
+        var grid = new OccupancyGrid(130, 70);
+
+        assertTrue(grid.isEmpty());
+        assertEquals(130, grid.nextNonEmptyColumn(0, 1));
+        assertEquals(-1, grid.nextNonEmptyColumn(129, -1));
+        assertEquals(70, grid.nextNonEmptyRow(0, 1));
+        assertEquals(-1, grid.nextNonEmptyRow(69, -1));
+        assertScansAgree(grid);
+    }
+
+    @Test
+    void cellsAtWordBoundaries()
+    {
+        var grid = new OccupancyGrid(130, 130);
+        grid.setOccupied(63, 0, true);
+        grid.setOccupied(64, 64, true);
+        grid.setOccupied(129, 127, true);
+
+        assertEquals(3, grid.getCount());
+        assertEquals(63, grid.nextNonEmptyColumn(0, 1));
+        assertEquals(64, grid.nextNonEmptyColumn(64, 1));
+        assertEquals(129, grid.nextNonEmptyColumn(65, 1));
+        assertEquals(64, grid.nextNonEmptyColumn(128, -1));
+        assertEquals(63, grid.nextNonEmptyColumn(63, -1));
+        assertEquals(-1, grid.nextNonEmptyColumn(62, -1));
+        assertEquals(64, grid.nextNonEmptyRow(1, 1));
+        assertEquals(127, grid.nextNonEmptyRow(65, 1));
+        assertEquals(130, grid.nextNonEmptyRow(128, 1));
+        assertEquals(127, grid.nextNonEmptyRow(1000, -1));
+        assertScansAgree(grid);
+    }
+
+    @Test
+    void freeingTheLastCellEmptiesRowAndColumn()
+    {
+        var grid = new OccupancyGrid(70, 70);
+        grid.setOccupied(65, 5, true);
+        grid.setOccupied(65, 6, true);
+        grid.setOccupied(65, 5, false);
+
+        assertFalse(grid.isColumnEmpty(65));
+        assertTrue(grid.isRowEmpty(5));
+        assertEquals(6, grid.nextNonEmptyRow(0, 1));
+
+        grid.setOccupied(65, 6, false);
+
+        assertTrue(grid.isEmpty());
+        assertTrue(grid.isColumnEmpty(65));
+        assertEquals(70, grid.nextNonEmptyColumn(0, 1));
+        assertEquals(-1, grid.nextNonEmptyRow(69, -1));
+    }
+
+    @Test
+    void randomGrids()
+    {
+        var random = new Random(6);
+        int[] sizes = { 1, 2, 63, 64, 65, 127, 128, 129, 200 };
+
+        for ( var width : sizes )
+        {
+            for ( var height : sizes )
+            {
+                var grid = new OccupancyGrid(width, height);
+
+                for ( var i = 0; i != 4; ++i )
+                {
+                    var changes = 1 + random.nextInt(5);
+
+                    for ( var j = 0; j != changes; ++j )
+                    {
+                        grid.setOccupied(random.nextInt(width), random.nextInt(height), random.nextBoolean());
+                    }
+
+                    assertScansAgree(grid);
+                }
+            }
+        }
+    }
+
+    @Test
+    void copiesAreIndependent()
+    {
+        var grid = new OccupancyGrid(100, 100);
+        grid.setOccupied(70, 80, true);
+        var copy = grid.copy();
+        grid.setOccupied(70, 80, false);
+        grid.setOccupied(10, 20, true);
+
+        assertTrue(copy.isOccupied(70, 80));
+        assertFalse(copy.isOccupied(10, 20));
+        assertEquals(70, copy.nextNonEmptyColumn(0, 1));
+        assertEquals(80, copy.nextNonEmptyRow(0, 1));
+
+        copy.copyFrom(grid);
+
+        assertEquals(10, copy.nextNonEmptyColumn(0, 1));
+        assertEquals(20, copy.nextNonEmptyRow(99, -1));
+        assertScansAgree(copy);
+    }
+}
@@ -0,0 +1,201 @@
+package other;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import breakout.BreakoutState;
+import breakout.GameMapParser;
+import breakout.simulation.SimulationEngine;
+
+@Timeout(5)
+public class SimulationEngineTests
+{
+    private static final long NANOSECONDS_PER_MILLISECOND = 1_000_000;
+
+    private static BreakoutState createState()
+    {
+        return GameMapParser.parse(GameMapParser.descr2, 10000, 3000);
+    }
+
+    private static BreakoutState createLostState()
+    {
+        var state = createState();
+
+        while ( !state.getBalls().isEmpty() )
+        {
+            state.removeBall(state.getBalls().get(0));
+        }
+
+        return state;
+    }
+
+    @Test
+    void timeBelowOneStepIsCarriedOver()
+    {
+        var engine = new SimulationEngine(createState());
+
+        assertEquals(0, engine.advance(20 * NANOSECONDS_PER_MILLISECOND - 1));
+        assertEquals(0, engine.getStepCount());
+        assertTrue(engine.getInterpolationAlpha() > 0.99);
+
+        assertEquals(1, engine.advance(1));
+        assertEquals(1, engine.getStepCount());
+        assertEquals(0, engine.getInterpolationAlpha());
+    }
+
+    @Test
+    void fractionsAddUp()
+    {
+        var engine = new SimulationEngine(createState());
+        var steps = 0;
+
+        // 1000 times 0.3 ms
+        for ( var i = 0; i != 1000; ++i )
+        {
+            steps += engine.advance(300_000);
+        }
+
+        assertEquals(15, steps);
+        assertEquals(15, engine.getStepCount());
+        assertEquals(0, engine.getInterpolationAlpha());
+        assertEquals(0, engine.getDroppedMilliseconds());
+    }
+
+    @Test
+    void carryIsKeptAcrossSteps()
+    {
+        var engine = new SimulationEngine(createState());
+
+        assertEquals(0, engine.advance(7 * NANOSECONDS_PER_MILLISECOND));
+        assertEquals(0, engine.advance(7 * NANOSECONDS_PER_MILLISECOND));
+        assertEquals(1, engine.advance(7 * NANOSECONDS_PER_MILLISECOND));
+        assertEquals(0.05, engine.getInterpolationAlpha(), 1e-9);
+        assertEquals(2, engine.advance(39 * NANOSECONDS_PER_MILLISECOND));
+        assertEquals(0, engine.getInterpolationAlpha());
+    }
+
+    @Test
+    void timeBeyondTheMaximumIsDropped()
+    {
+        var engine = new SimulationEngine(createState());
+
+        assertEquals(SimulationEngine.MAXIMUM_ADVANCE_MILLISECONDS / 20, engine.advance(1000 * NANOSECONDS_PER_MILLISECOND));
+        assertEquals(1000 - SimulationEngine.MAXIMUM_ADVANCE_MILLISECONDS, engine.getDroppedMilliseconds());
+        assertEquals(0, engine.getInterpolationAlpha());
+
+        // The carry counts towards the maximum as well
+        assertEquals(0, engine.advance(10 * NANOSECONDS_PER_MILLISECOND));
+        assertEquals(5, engine.advance(200 * NANOSECONDS_PER_MILLISECOND));
+        assertEquals(900 + 110, engine.getDroppedMilliseconds());
+        assertEquals(10, engine.getStepCount());
+    }
+
+    @Test
+    void maximumIsAWholeNumberOfSteps()
+    {
+        var engine = new SimulationEngine(createState(), 15);
+
+        // 90 ms, six steps of 15 ms, fit in the maximum of 100 ms
+        assertEquals(6, engine.advance(1000 * NANOSECONDS_PER_MILLISECOND));
+        assertEquals(910, engine.getDroppedMilliseconds());
+        assertEquals(0, engine.getInterpolationAlpha());
+    }
+
+    @Test
+    void withoutCatchingUpAtMostOneStepIsPerformed()
+    {
+        var engine = new SimulationEngine(createState());
+        engine.setCatchingUp(false);
+
+        assertFalse(engine.isCatchingUp());
+        assertEquals(1, engine.advance(1000 * NANOSECONDS_PER_MILLISECOND));
+        // Less than a step is carried over
+        assertEquals(1000 - 40, engine.getDroppedMilliseconds());
+        assertTrue(engine.getInterpolationAlpha() > 0.99);
+
+        assertEquals(0, engine.advance(0));
+        assertEquals(1, engine.advance(1));
+        assertEquals(2, engine.getStepCount());
+    }
+
+    @Test
+    void withoutCatchingUpNothingIsDroppedWhileKeepingUp()
+    {
+        var engine = new SimulationEngine(createState());
+        engine.setCatchingUp(false);
+        var steps = 0;
+
+        // One second at 60 frames per second, with frames shorter than a step
+        for ( var i = 0; i != 60; ++i )
+        {
+            steps += engine.advance(1_000_000_000 / 60 + 1);
+        }
+
+        assertEquals(50, steps);
+        assertEquals(0, engine.getDroppedMilliseconds());
+    }
+
+    @Test
+    void catchingUpCanBeTurnedBackOn()
+    {
+        var engine = new SimulationEngine(createState());
+
+        assertTrue(engine.isCatchingUp());
+        engine.setCatchingUp(false);
+        engine.setCatchingUp(true);
+
+        assertEquals(5, engine.advance(100 * NANOSECONDS_PER_MILLISECOND));
+        assertEquals(0, engine.getDroppedMilliseconds());
+    }
+
+    @Test
+    void noStepsOnceTheGameIsOver()
+    {
+        var engine = new SimulationEngine(createLostState());
+
+        assertFalse(engine.step());
+        assertEquals(0, engine.advance(60 * NANOSECONDS_PER_MILLISECOND));
+        assertEquals(0, engine.getStepCount());
+        assertEquals(0, engine.getInterpolationAlpha());
+        assertEquals(0, engine.run(10));
+    }
+
+    @Test
+    void stepsUntilTheGameIsOver()
+    {
+        var state = createState();
+        var engine = new SimulationEngine(state);
+
+        assertTrue(engine.step());
+        assertEquals(1, engine.getStepCount());
+
+        while ( !state.getBalls().isEmpty() )
+        {
+            state.removeBall(state.getBalls().get(0));
+        }
+
+        assertEquals(0, engine.advance(100 * NANOSECONDS_PER_MILLISECOND));
+        assertEquals(1, engine.getStepCount());
+    }
+
+    @Test
+    void runStopsAfterTheGivenNumberOfSteps()
+    {
+        var engine = new SimulationEngine(createState());
+
+        assertEquals(3, engine.run(3));
+        assertEquals(3, engine.getStepCount());
+    }
+
+    @Test
+    void invalidArguments()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new SimulationEngine(null));
+        assertThrows(IllegalArgumentException.class, () -> new SimulationEngine(createState(), 0));
+    }
+}
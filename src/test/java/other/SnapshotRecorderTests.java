@@ -0,0 +1,120 @@
+package other;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import breakout.BreakoutState;
+import breakout.BrickGrid;
+import breakout.balls.StandardBehavior;
+import breakout.math.Circle;
+import breakout.math.CoordinateMapper;
+import breakout.math.Interval;
+import breakout.math.IntervalMapper;
+import breakout.math.Point;
+import breakout.math.Vector;
+import breakout.paddles.PaddleMotionDirection;
+import breakout.simulation.SimulationEngine;
+import breakout.ui.Canvas;
+import breakout.ui.RenderSnapshot;
+import breakout.ui.SnapshotRecorder;
+
+@Timeout(5)
+public class SnapshotRecorderTests
+{
+    private static final long NANOSECONDS_PER_MILLISECOND = 1_000_000;
+
+    private BreakoutState state;
+
+    private SimulationEngine engine;
+
+    private RenderSnapshot snapshot;
+
+    /**
+     * A field 10000 units wide with three balls of radius 100 and a paddle moving right at 10 units per millisecond,
+     * whose engine is half-way in between two steps of 20 milliseconds.
+     */
+    @BeforeEach
+    void setUp()
+    {
+        state = new BreakoutState(new BrickGrid(10, 5, 1000, 500), 1000, 10);
+        // Free to move for a whole step
+        state.addBall(new Circle(new Point(5000, 4000), 100), new Vector(3, -5), new StandardBehavior());
+        // 30 units from the east wall
+        state.addBall(new Circle(new Point(9870, 4000), 100), new Vector(5, 0), new StandardBehavior());
+        // 40 units from the north wall
+        state.addBall(new Circle(new Point(2000, 140), 100), new Vector(-1, -4), new StandardBehavior());
+        state.getPaddle().setMotionDirection(PaddleMotionDirection.RIGHT);
+
+        engine = new SimulationEngine(state);
+        engine.advance(10 * NANOSECONDS_PER_MILLISECOND);
+        snapshot = new RenderSnapshot();
+    }
+
+    @Test
+    void movingObjectsAreOffsetByTheFractionOfAStep()
+    {
+        new SnapshotRecorder().record(engine, snapshot);
+
+        assertEquals(0.5, snapshot.getInterpolationAlpha());
+        assertEquals(4, snapshot.getMovingDrawings().size());
+        assertEquals(30, snapshot.getOffsetX(0));
+        assertEquals(-50, snapshot.getOffsetY(0));
+        // The paddle
+        assertEquals(100, snapshot.getOffsetX(3));
+        assertEquals(0, snapshot.getOffsetY(3));
+    }
+
+    @Test
+    void offsetsStayWithinTheField()
+    {
+        var paddle = state.getPaddle();
+        paddle.setTopCenterX(paddle.getAllowedInterval().getUpperBound() - paddle.getHalfWidth() - 50);
+        new SnapshotRecorder().record(engine, snapshot);
+
+        // Half of the 30 units to the wall rather than half of 100
+        assertEquals(15, snapshot.getOffsetX(1));
+        assertEquals(0, snapshot.getOffsetY(1));
+        assertEquals(-10, snapshot.getOffsetX(2));
+        assertEquals(-20, snapshot.getOffsetY(2));
+        assertEquals(25, snapshot.getOffsetX(3));
+    }
+
+    @Test
+    void stateAloneIsRecordedWithoutOffsets()
+    {
+        new SnapshotRecorder().record(state, snapshot);
+
+        assertEquals(0, snapshot.getInterpolationAlpha());
+
+        for ( var i = 0; i != snapshot.getMovingDrawings().size(); ++i )
+        {
+            assertEquals(0, snapshot.getOffsetX(i));
+            assertEquals(0, snapshot.getOffsetY(i));
+        }
+    }
+
+    @Test
+    void canvasOffsetMovesWhatIsDrawn()
+    {
+        var image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+        var graphics = image.getGraphics();
+        var interval = new IntervalMapper(new Interval(0, 1000), new Interval(0, 100));
+        var canvas = new Canvas(graphics, new CoordinateMapper(interval, interval));
+        var circle = new Circle(new Point(500, 500), 100);
+
+        canvas.drawFilledCircle(java.awt.Color.WHITE, circle);
+        var bounds = canvas.takeDrawnBounds();
+        canvas.setOffset(200, -100);
+        canvas.drawFilledCircle(java.awt.Color.WHITE, circle);
+        var movedBounds = canvas.takeDrawnBounds();
+        graphics.dispose();
+
+        bounds.translate(20, -10);
+        assertEquals(bounds, movedBounds);
+    }
+}
@@ -0,0 +1,69 @@
+package other;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import breakout.BreakoutState;
+import breakout.BrickGrid;
+import breakout.balls.StandardBehavior;
+import breakout.math.Circle;
+import breakout.math.Point;
+import breakout.math.Vector;
+import breakout.paddles.PaddleMotionDirection;
+import breakout.simulation.TrackingPaddleController;
+
+@Timeout(5)
+public class TrackingPaddleControllerTests
+{
+    /**
+     * A field of 4000 by 2500 with a single brick and a paddle of the given half width, centered at the given x.
+     */
+    private static BreakoutState createState(long paddleHalfWidth, long paddleX)
+    {
+        var grid = new BrickGrid(4, 5, 1000, 500);
+        grid.addStandardBrick(new Point(0, 0));
+        var state = new BreakoutState(grid, paddleHalfWidth, 10);
+        state.getPaddle().setTopCenterX(paddleX);
+
+        return state;
+    }
+
+    @Test
+    void followsTheBallAcrossTheSideWalls()
+    {
+        var state = createState(200, 2000);
+        // Bounces off the east wall on its way down: its center would reach x = 4300, and ends up at 3900 - 400 = 3500
+        state.addBall(new Circle(new Point(3000, 1100), 100), new Vector(10, 10), new StandardBehavior());
+
+        var controller = new TrackingPaddleController(0);
+        var direction = controller.decide(state);
+
+        // Aims within 40% of the half width of the center, far to the left of 3500
+        assertEquals(PaddleMotionDirection.RIGHT, direction);
+    }
+
+    @Test
+    void ballAsWideAsTheField()
+    {
+        var state = createState(200, 500);
+        state.addBall(new Circle(new Point(2000, 1200), 2000), new Vector(3, 10), new StandardBehavior());
+
+        // Targets the middle of the field instead of dividing by zero
+        assertEquals(PaddleMotionDirection.RIGHT, new TrackingPaddleController(0).decide(state));
+
+        state.getPaddle().setTopCenterX(3500);
+
+        assertEquals(PaddleMotionDirection.LEFT, new TrackingPaddleController(0).decide(state));
+    }
+
+    @Test
+    void stationaryWithoutDescendingBalls()
+    {
+        var state = createState(200, 500);
+        state.addBall(new Circle(new Point(2000, 1200), 100), new Vector(3, -10), new StandardBehavior());
+
+        assertEquals(PaddleMotionDirection.STATIONARY, new TrackingPaddleController(0).decide(state));
+    }
+}
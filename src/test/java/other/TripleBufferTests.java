@@ -0,0 +1,147 @@
+package other;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import breakout.ui.TripleBuffer;
+
+@Timeout(5)
+public class TripleBufferTests
+{
+    /**
+     * Buffers are arrays holding a single number, written by the producer.
+     */
+    private static TripleBuffer<long[]> createBuffer()
+    {
+        return new TripleBuffer<>(() -> new long[1]);
+    }
+
+    private static void publish(TripleBuffer<long[]> buffer, long value)
+    {
+        buffer.getBackBuffer()[0] = value;
+        buffer.publish();
+    }
+
+    @Test
+    void nothingPublished()
+    {
+        var buffer = createBuffer();
+        var first = buffer.acquireLatest();
+
+        assertEquals(0, first[0]);
+        assertSame(first, buffer.acquireLatest());
+        assertNotSame(first, buffer.getBackBuffer());
+    }
+
+    @Test
+    void latestPublishedIsAcquired()
+    {
+        var buffer = createBuffer();
+        publish(buffer, 1);
+
+        assertEquals(1, buffer.acquireLatest()[0]);
+
+        publish(buffer, 2);
+
+        assertEquals(2, buffer.acquireLatest()[0]);
+    }
+
+    @Test
+    void sameBufferUntilSomethingIsPublished()
+    {
+        var buffer = createBuffer();
+        publish(buffer, 1);
+        var acquired = buffer.acquireLatest();
+
+        assertSame(acquired, buffer.acquireLatest());
+        assertSame(acquired, buffer.acquireLatest());
+
+        publish(buffer, 2);
+
+        assertNotSame(acquired, buffer.acquireLatest());
+    }
+
+    @Test
+    void intermediatePublicationsAreSkipped()
+    {
+        var buffer = createBuffer();
+
+        for ( var value = 1; value <= 10; ++value )
+        {
+            publish(buffer, value);
+        }
+
+        assertEquals(10, buffer.acquireLatest()[0]);
+        assertEquals(10, buffer.acquireLatest()[0]);
+    }
+
+    @Test
+    void producerNeverWritesTheAcquiredBuffer()
+    {
+        var buffer = createBuffer();
+        publish(buffer, 1);
+        var acquired = buffer.acquireLatest();
+
+        for ( var value = 2; value <= 10; ++value )
+        {
+            assertNotSame(acquired, buffer.getBackBuffer());
+            publish(buffer, value);
+            assertEquals(1, acquired[0]);
+        }
+    }
+
+    @Test
+    void consumerOnAnotherThreadOnlySeesNewerValues() throws InterruptedException
+    {
+        var buffer = createBuffer();
+        var publications = 200_000L;
+        var failure = new AtomicReference<String>();
+
+        var producer = new Thread(() -> {
+            for ( var value = 1L; value <= publications; ++value )
+            {
+                publish(buffer, value);
+            }
+        });
+        producer.start();
+
+        var previous = 0L;
+        var fresh = 0;
+
+        while ( previous != publications && failure.get() == null )
+        {
+            var acquired = buffer.acquireLatest();
+            var value = acquired[0];
+
+            if ( value < previous )
+            {
+                failure.set("Went back from " + previous + " to " + value);
+            }
+            else if ( value > previous )
+            {
+                fresh++;
+            }
+
+            // Held buffers are not written to
+            if ( acquired[0] != value )
+            {
+                failure.set("Acquired buffer changed from " + value + " to " + acquired[0]);
+            }
+
+            previous = value;
+        }
+
+        producer.join();
+
+        assertEquals(null, failure.get());
+        assertEquals(publications, buffer.acquireLatest()[0]);
+        assertTrue(fresh > 0);
+    }
+}